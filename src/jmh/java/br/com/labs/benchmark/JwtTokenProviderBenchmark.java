@@ -0,0 +1,65 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.domain.auth.TokenPair;
+import br.com.labs.domain.user.UserId;
+import br.com.labs.infrastructure.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho quente de tokens: emissão no login e validação em toda requisição autenticada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private UserId userId;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(
+                "benchmark-secret-key-for-jwt-token-generation-minimum-256-bits",
+                900_000,
+                604_800_000,
+                300_000
+        );
+        userId = UserId.generate();
+        accessToken = jwtTokenProvider.generateTokenPair(userId).accessToken();
+    }
+
+    @Benchmark
+    public TokenPair generateTokenPair() {
+        return jwtTokenProvider.generateTokenPair(userId);
+    }
+
+    @Benchmark
+    public UserId validateAccessToken() {
+        return jwtTokenProvider.validateAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public UserId parseOnceAndValidate() {
+        return jwtTokenProvider.validateAccessToken(jwtTokenProvider.parse(accessToken));
+    }
+
+    @Benchmark
+    public String extractJti() {
+        return jwtTokenProvider.extractJti(accessToken);
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.domain.auth.MfaCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração do código e a validação por regex feita no construtor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MfaCodeBenchmark {
+
+    private String code = "482913";
+
+    @Benchmark
+    public MfaCode generate() {
+        return MfaCode.generate();
+    }
+
+    @Benchmark
+    public MfaCode construct() {
+        return new MfaCode(code);
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.domain.user.UserId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de INSERT na tabela de usuários: UUID aleatório contra UUIDv7, com e sem os
+ * índices redundantes que a V2 remove.
+ *
+ * Precisa de um PostgreSQL acessível (o do docker-compose por padrão; ou
+ * {@code BENCHMARK_JDBC_URL}, {@code BENCHMARK_JDBC_USER}, {@code BENCHMARK_JDBC_PASSWORD}).
+ * Usa uma tabela própria, {@code bench_users}, recriada a cada trial. No fim de cada
+ * trial imprime o WAL gerado e o tamanho do índice da chave primária.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UserInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE bench_users (
+                id UUID PRIMARY KEY,
+                username VARCHAR(50) UNIQUE NOT NULL,
+                email VARCHAR(255) UNIQUE NOT NULL,
+                password_hash VARCHAR(255) NOT NULL,
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+            )
+            """;
+
+    private static final String INSERT = """
+            INSERT INTO bench_users (id, username, email, password_hash, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String PASSWORD_HASH = "$2a$12$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW";
+
+    @Param({"random", "v7"})
+    public String ids;
+
+    @Param({"redundant", "unique-only"})
+    public String indexes;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private String walStart;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                env("BENCHMARK_JDBC_URL", "jdbc:postgresql://localhost:5432/loginmfa"),
+                env("BENCHMARK_JDBC_USER", "app"),
+                env("BENCHMARK_JDBC_PASSWORD", "app")
+        );
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_users");
+            statement.execute(CREATE_TABLE);
+            if (indexes.equals("redundant")) {
+                statement.execute("CREATE INDEX idx_bench_users_username ON bench_users(username)");
+                statement.execute("CREATE INDEX idx_bench_users_email ON bench_users(email)");
+            }
+            walStart = queryString(statement, "SELECT pg_current_wal_lsn()::text");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(INSERT);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        var now = Timestamp.from(Instant.now());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long n = sequence++;
+            insert.setObject(1, nextId());
+            insert.setString(2, "user" + n);
+            insert.setString(3, "user" + n + "@example.com");
+            insert.setString(4, PASSWORD_HASH);
+            insert.setTimestamp(5, now);
+            insert.setTimestamp(6, now);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            String walBytes = queryString(statement,
+                    "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), '" + walStart + "')::bigint::text");
+            String pkSize = queryString(statement,
+                    "SELECT pg_size_pretty(pg_relation_size('bench_users_pkey'))");
+            System.out.printf("%n[ids=%s, indexes=%s] %d rows, WAL %.1f MiB (%.0f bytes/row), pk index %s%n",
+                    ids, indexes, sequence,
+                    Long.parseLong(walBytes) / 1048576.0,
+                    sequence > 0 ? Long.parseLong(walBytes) / (double) sequence : 0.0,
+                    pkSize);
+            statement.execute("DROP TABLE IF EXISTS bench_users");
+        } finally {
+            insert.close();
+            connection.close();
+        }
+    }
+
+    private UUID nextId() {
+        return ids.equals("v7") ? UserId.generate().value() : UUID.randomUUID();
+    }
+
+    private static String queryString(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        return Objects.requireNonNullElse(System.getenv(name), defaultValue);
+    }
+}
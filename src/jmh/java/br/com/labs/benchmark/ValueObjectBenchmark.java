@@ -0,0 +1,49 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.domain.user.Email;
+import br.com.labs.domain.user.Password;
+import br.com.labs.domain.user.Username;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação dos value objects executada em todo cadastro e login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueObjectBenchmark {
+
+    private String email = "john.doe+login@example.com";
+    private String username = "john.doe_2024";
+    private String rawPassword = "S3cure!Passw0rd";
+
+    @Benchmark
+    public Email email() {
+        return new Email(email);
+    }
+
+    @Benchmark
+    public Username username() {
+        return new Username(username);
+    }
+
+    @Benchmark
+    public void validateRawPassword(Blackhole blackhole) {
+        Password.validateRawPassword(rawPassword);
+        blackhole.consume(rawPassword);
+    }
+}
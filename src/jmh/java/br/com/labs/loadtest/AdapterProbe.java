@@ -0,0 +1,66 @@
+package br.com.labs.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Simula a latência de rede de cada adapter e mede o tempo gasto em cada operação.
+ */
+final class AdapterProbe {
+
+    private final Map<String, Duration> latencies;
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    AdapterProbe(Map<String, Duration> latencies) {
+        this.latencies = Map.copyOf(latencies);
+    }
+
+    <T> T call(String adapter, String operation, Supplier<T> body) {
+        long startedAt = System.nanoTime();
+        try {
+            pause(latencies.getOrDefault(adapter, Duration.ZERO));
+            return body.get();
+        } finally {
+            record(adapter + "." + operation, System.nanoTime() - startedAt);
+        }
+    }
+
+    void run(String adapter, String operation, Runnable body) {
+        call(adapter, operation, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    void record(String operation, long elapsedNanos) {
+        if (recording) {
+            histograms.computeIfAbsent(operation, key -> new ConcurrentHistogram(3)).recordValue(elapsedNanos);
+        }
+    }
+
+    void startRecording() {
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    Map<String, Histogram> histograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    static void pause(Duration latency) {
+        if (!latency.isZero()) {
+            LockSupport.parkNanos(latency.toNanos());
+        }
+    }
+}
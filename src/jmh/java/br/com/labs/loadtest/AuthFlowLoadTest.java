@@ -0,0 +1,244 @@
+package br.com.labs.loadtest;
+
+import br.com.labs.application.service.LoginRateLimiter;
+import br.com.labs.application.service.SecurityMonitoringService;
+import br.com.labs.application.usecase.AuthenticateUserUseCase;
+import br.com.labs.application.usecase.ListSessionsUseCase;
+import br.com.labs.application.usecase.LogoutUseCase;
+import br.com.labs.application.usecase.RefreshTokenUseCase;
+import br.com.labs.application.usecase.RegisterUserUseCase;
+import br.com.labs.application.usecase.RevokeSessionsUseCase;
+import br.com.labs.application.usecase.VerifyMfaCodeUseCase;
+import br.com.labs.domain.auth.RateLimitLease;
+import br.com.labs.domain.user.Email;
+import br.com.labs.infrastructure.security.BcryptPasswordEncoder;
+import br.com.labs.infrastructure.security.JwtTokenProvider;
+import br.com.labs.infrastructure.web.controller.AuthController;
+import br.com.labs.infrastructure.web.dto.LoginRequest;
+import br.com.labs.infrastructure.web.dto.LogoutRequest;
+import br.com.labs.infrastructure.web.dto.RefreshTokenRequest;
+import br.com.labs.infrastructure.web.dto.RegisterRequest;
+import br.com.labs.infrastructure.web.dto.VerifyMfaRequest;
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carga em malha aberta sobre o fluxo register → login → verify → refresh → logout,
+ * chamando o {@link AuthController} com adapters em memória no lugar de Postgres,
+ * Redis e SMTP.
+ *
+ * Cada fluxo começa no instante agendado, atrasado ou não; a latência do primeiro
+ * passo conta a partir desse instante, para não esconder filas (coordinated omission).
+ *
+ * mvn -Pbenchmark test-compile exec:exec@loadtest -Dloadtest.args="--rate=100 --duration=60s"
+ */
+public final class AuthFlowLoadTest {
+
+    private static final String PASSWORD = "S3cure!Passw0rd";
+    private static final Duration EMAIL_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] ENDPOINTS = {"register", "login", "verify", "refresh", "logout", "flow"};
+
+    private final LoadTestOptions options;
+    private final AdapterProbe probe;
+    private final CapturingEmailSender emailSender;
+    private final BcryptPasswordEncoder passwordEncoder;
+    private final AuthController authController;
+    private final Map<String, Histogram> latencies = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private AuthFlowLoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.probe = new AdapterProbe(options.adapterLatencies());
+
+        var jwtTokenProvider = new JwtTokenProvider(
+                "load-test-secret-key-for-jwt-token-generation-minimum-256-bits",
+                900_000,
+                604_800_000,
+                300_000
+        );
+        var userRepository = new InMemoryUserRepository(probe);
+        var mfaRepository = new InMemoryMfaRepository(probe, 300, 900, 60);
+        var loginFailureRepository = new InMemoryLoginFailureRepository(probe, 900, 86_400);
+        var tokenRepository = new InMemoryTokenRepository(probe, 604_800_000);
+        this.emailSender = new CapturingEmailSender(probe);
+        this.passwordEncoder = new BcryptPasswordEncoder(options.bcryptCost(), 0, 1024, 1, new SimpleMeterRegistry());
+
+        var securityMonitoringService = new SecurityMonitoringService(
+                mfaRepository, loginFailureRepository, userRepository, tokenRepository, event -> { }, 5, 3,
+                Duration.ofMinutes(15), Duration.ofHours(24)
+        );
+
+        this.authController = new AuthController(
+                new RegisterUserUseCase(userRepository, passwordEncoder),
+                new AuthenticateUserUseCase(userRepository, passwordEncoder, mfaRepository, emailSender,
+                        jwtTokenProvider, securityMonitoringService, 0),
+                new VerifyMfaCodeUseCase(mfaRepository, tokenRepository, jwtTokenProvider,
+                        securityMonitoringService, 3),
+                new RefreshTokenUseCase(tokenRepository, jwtTokenProvider),
+                new LogoutUseCase(tokenRepository, jwtTokenProvider),
+                new ListSessionsUseCase(tokenRepository),
+                new RevokeSessionsUseCase(tokenRepository),
+                new LoginRateLimiter(
+                        (key, requested, limit, window) ->
+                                probe.call("ratelimit", "lease", () -> new RateLimitLease(requested, 0)),
+                        true, 20, 200, Duration.ofMinutes(1), 5)
+        );
+
+        for (String endpoint : ENDPOINTS) {
+            latencies.put(endpoint, new ConcurrentHistogram(3));
+            errors.put(endpoint, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = LoadTestOptions.parse(args);
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        new AuthFlowLoadTest(options).run();
+    }
+
+    private void run() {
+        long periodNanos = (long) (1_000_000_000L / options.rate());
+        long warmupNanos = options.warmup().toNanos();
+        long totalNanos = warmupNanos + options.duration().toNanos();
+
+        System.out.printf("Open-loop load: %.1f flows/s, warmup %s, measured %s, bcrypt cost %d, adapters %s%n",
+                options.rate(), options.warmup(), options.duration(), options.bcryptCost(), options.adapterLatencies());
+
+        long startedAt = System.nanoTime();
+        boolean recording = false;
+        long completedBefore = 0;
+        long measuredStartedAt = startedAt;
+
+        try (var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long offset = i * periodNanos;
+                if (offset >= totalNanos) {
+                    break;
+                }
+                long intendedStart = startedAt + offset;
+                waitUntil(intendedStart);
+
+                if (!recording && offset >= warmupNanos) {
+                    recording = true;
+                    probe.startRecording();
+                    completedBefore = latencies.get("flow").getTotalCount();
+                    measuredStartedAt = System.nanoTime();
+                }
+
+                boolean measured = recording;
+                workers.execute(() -> runFlow(intendedStart, measured));
+            }
+        } finally {
+            probe.stopRecording();
+            emailSender.close();
+            passwordEncoder.shutdown();
+        }
+
+        double measuredSeconds = (System.nanoTime() - measuredStartedAt) / 1e9;
+        report((latencies.get("flow").getTotalCount() - completedBefore) / measuredSeconds);
+    }
+
+    private void runFlow(long intendedStart, boolean measured) {
+        long id = sequence.incrementAndGet();
+        String username = "load" + id + "_" + Long.toHexString(intendedStart & 0xffffff);
+        String email = username + "@loadtest.local";
+        var httpRequest = new MockHttpServletRequest();
+        httpRequest.setRemoteAddr("10.%d.%d.%d".formatted((id >> 16) & 0xff, (id >> 8) & 0xff, id & 0xff));
+
+        try {
+            step("register", intendedStart, measured,
+                    () -> authController.register(new RegisterRequest(username, email, PASSWORD)));
+
+            var mfa = step("login", System.nanoTime(), measured,
+                    () -> authController.login(new LoginRequest(username, PASSWORD), httpRequest).getBody());
+
+            String code = emailSender.awaitCode(new Email(email), EMAIL_TIMEOUT);
+
+            var tokens = step("verify", System.nanoTime(), measured,
+                    () -> authController.verify(new VerifyMfaRequest(mfa.mfaToken(), code), httpRequest).getBody());
+
+            var refreshed = step("refresh", System.nanoTime(), measured,
+                    () -> authController.refresh(new RefreshTokenRequest(tokens.refreshToken())).getBody());
+
+            step("logout", System.nanoTime(), measured,
+                    () -> authController.logout("Bearer " + refreshed.accessToken(),
+                            new LogoutRequest(refreshed.refreshToken())));
+
+            if (measured) {
+                latencies.get("flow").recordValue(System.nanoTime() - intendedStart);
+            }
+        } catch (Exception e) {
+            if (measured) {
+                errors.get("flow").incrementAndGet();
+            }
+        }
+    }
+
+    private <T> T step(String endpoint, long startedAt, boolean measured, Callable<T> call) throws Exception {
+        try {
+            T result = call.call();
+            if (measured) {
+                latencies.get(endpoint).recordValue(System.nanoTime() - startedAt);
+            }
+            return result;
+        } catch (Exception e) {
+            if (measured) {
+                errors.get(endpoint).incrementAndGet();
+            }
+            throw e;
+        }
+    }
+
+    private void report(double flowsPerSecond) {
+        System.out.println();
+        System.out.printf("Completed flows: %.1f/s (target %.1f/s)%n%n", flowsPerSecond, options.rate());
+
+        System.out.println("Endpoint latency (ms)");
+        printHeader();
+        latencies.forEach((endpoint, histogram) -> printRow(endpoint, histogram, errors.get(endpoint).get()));
+
+        System.out.println();
+        System.out.println("Adapter time per call (ms)");
+        printHeader();
+        probe.histograms().forEach((operation, histogram) -> printRow(operation, histogram, 0));
+    }
+
+    private static void printHeader() {
+        System.out.printf("%-32s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "", "count", "errors", "mean", "p50", "p90", "p99", "p99.9", "max");
+    }
+
+    private static void printRow(String name, Histogram histogram, long errorCount) {
+        System.out.printf("%-32s %9d %7d %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                name,
+                histogram.getTotalCount(),
+                errorCount,
+                histogram.getMean() / 1e6,
+                histogram.getValueAtPercentile(50) / 1e6,
+                histogram.getValueAtPercentile(90) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6,
+                histogram.getMaxValue() / 1e6);
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.labs.loadtest;
+
+import br.com.labs.domain.auth.EmailSender;
+import br.com.labs.domain.auth.MfaCode;
+import br.com.labs.domain.user.Email;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entrega assíncrona, como o outbox de emails MFA: o login não espera o
+ * envio, e o fluxo só lê o código depois da latência de entrega configurada.
+ */
+final class CapturingEmailSender implements EmailSender, AutoCloseable {
+
+    private static final String ADAPTER = "email";
+
+    private final AdapterProbe probe;
+    private final Map<Email, CompletableFuture<String>> inbox = new ConcurrentHashMap<>();
+    private final ExecutorService delivery = Executors.newVirtualThreadPerTaskExecutor();
+
+    CapturingEmailSender(AdapterProbe probe) {
+        this.probe = probe;
+    }
+
+    @Override
+    public void sendMfaCode(Email to, MfaCode code) {
+        var delivered = inbox.computeIfAbsent(to, email -> new CompletableFuture<>());
+        delivery.execute(() -> probe.run(ADAPTER, "sendMfaCode", () -> delivered.complete(code.value())));
+    }
+
+    /**
+     * Espera a entrega do código enviado para o endereço e o retira da caixa.
+     */
+    String awaitCode(Email to, Duration timeout) throws Exception {
+        var delivered = inbox.computeIfAbsent(to, email -> new CompletableFuture<>());
+        try {
+            return delivered.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            inbox.remove(to, delivered);
+        }
+    }
+
+    @Override
+    public void close() {
+        delivery.close();
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.labs.loadtest;
+
+import br.com.labs.domain.auth.LoginFailureRepository;
+import br.com.labs.domain.auth.LoginFailures;
+import br.com.labs.domain.user.UserId;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mesmo modelo das chaves {@code login:failures:} e {@code login:lockouts:}: o contador
+ * expira {@code window} após a última falha e o nível {@code decay} após o último bloqueio.
+ */
+final class InMemoryLoginFailureRepository implements LoginFailureRepository {
+
+    private static final String ADAPTER = "loginfailure";
+
+    private final AdapterProbe probe;
+    private final long windowMillis;
+    private final long decayMillis;
+    private final Map<UserId, State> states = new ConcurrentHashMap<>();
+
+    InMemoryLoginFailureRepository(AdapterProbe probe, long windowSeconds, long decaySeconds) {
+        this.probe = probe;
+        this.windowMillis = windowSeconds * 1000;
+        this.decayMillis = decaySeconds * 1000;
+    }
+
+    @Override
+    public LoginFailures recordFailure(UserId userId) {
+        return probe.call(ADAPTER, "recordFailure", () -> {
+            State state = states.compute(userId, (id, current) -> {
+                long now = now();
+                State live = live(current, now);
+                return new State(live.failures + 1, now + windowMillis, live.lockouts, live.lockoutsExpireAt);
+            });
+            return new LoginFailures(state.failures, state.lockouts);
+        });
+    }
+
+    @Override
+    public void recordLockout(UserId userId) {
+        probe.run(ADAPTER, "recordLockout", () -> states.compute(userId, (id, current) -> {
+            long now = now();
+            State live = live(current, now);
+            return new State(0, 0, live.lockouts + 1, now + decayMillis);
+        }));
+    }
+
+    @Override
+    public void recordSuccess(UserId userId) {
+        probe.run(ADAPTER, "recordSuccess", () -> states.computeIfPresent(userId, (id, current) -> {
+            State live = live(current, now());
+            return live.lockouts <= 1 ? null : new State(0, 0, live.lockouts - 1, live.lockoutsExpireAt);
+        }));
+    }
+
+    private static State live(State state, long now) {
+        if (state == null) {
+            return new State(0, 0, 0, 0);
+        }
+        boolean failuresLive = state.failuresExpireAt > now;
+        boolean lockoutsLive = state.lockoutsExpireAt > now;
+        return new State(
+                failuresLive ? state.failures : 0, failuresLive ? state.failuresExpireAt : 0,
+                lockoutsLive ? state.lockouts : 0, lockoutsLive ? state.lockoutsExpireAt : 0);
+    }
+
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+
+    private record State(int failures, long failuresExpireAt, int lockouts, long lockoutsExpireAt) {}
+}
@@ -0,0 +1,160 @@
+package br.com.labs.loadtest;
+
+import br.com.labs.domain.auth.MfaCode;
+import br.com.labs.domain.auth.MfaCodeIssue;
+import br.com.labs.domain.auth.MfaRepository;
+import br.com.labs.domain.auth.MfaVerification;
+import br.com.labs.domain.auth.MfaVerification.Status;
+import br.com.labs.domain.user.UserId;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mesmo modelo do hash {@code mfa:state:{userId}}: as operações compostas rodam
+ * dentro de {@code compute}, atômicas como os scripts Lua.
+ */
+final class InMemoryMfaRepository implements MfaRepository {
+
+    private static final String ADAPTER = "mfa";
+
+    private final AdapterProbe probe;
+    private final long codeTtlMillis;
+    private final long blockTtlMillis;
+    private final long reuseWindowMillis;
+    private final Map<UserId, State> states = new ConcurrentHashMap<>();
+
+    InMemoryMfaRepository(AdapterProbe probe, long codeTtlSeconds, long blockTtlSeconds, long reuseWindowSeconds) {
+        this.probe = probe;
+        this.codeTtlMillis = codeTtlSeconds * 1000;
+        this.blockTtlMillis = blockTtlSeconds * 1000;
+        this.reuseWindowMillis = reuseWindowSeconds * 1000;
+    }
+
+    @Override
+    public void saveCode(UserId userId, MfaCode code) {
+        probe.run(ADAPTER, "saveCode", () -> states.compute(userId, (id, state) -> {
+            long now = now();
+            return new State(code.value(), now + codeTtlMillis, now, 0, state != null ? state.blockedUntil : 0);
+        }));
+    }
+
+    @Override
+    public MfaCodeIssue issueCode(UserId userId, MfaCode candidate) {
+        return probe.call(ADAPTER, "issueCode", () -> {
+            var result = new MfaCodeIssue[1];
+            states.compute(userId, (id, state) -> {
+                long now = now();
+                if (state != null && state.code != null && state.codeExpiresAt > now
+                        && state.codeSentAt + reuseWindowMillis > now) {
+                    result[0] = new MfaCodeIssue(new MfaCode(state.code), true);
+                    return state;
+                }
+                result[0] = new MfaCodeIssue(candidate, false);
+                return state == null
+                        ? new State(candidate.value(), now + codeTtlMillis, now, 0, 0)
+                        : new State(candidate.value(), now + codeTtlMillis, now, state.attempts, state.blockedUntil);
+            });
+            return result[0];
+        });
+    }
+
+    @Override
+    public void markCodeUnsent(UserId userId) {
+        probe.run(ADAPTER, "markCodeUnsent", () -> states.computeIfPresent(userId, (id, state) ->
+                new State(state.code, state.codeExpiresAt, 0, state.attempts, state.blockedUntil)));
+    }
+
+    @Override
+    public Optional<MfaCode> findCode(UserId userId) {
+        return probe.call(ADAPTER, "findCode", () -> {
+            State state = states.get(userId);
+            if (state == null || state.code == null || state.codeExpiresAt <= now()) {
+                return Optional.empty();
+            }
+            return Optional.of(new MfaCode(state.code));
+        });
+    }
+
+    @Override
+    public void deleteCode(UserId userId) {
+        probe.run(ADAPTER, "deleteCode", () -> states.computeIfPresent(userId, (id, state) ->
+                new State(null, 0, 0, 0, state.blockedUntil)));
+    }
+
+    @Override
+    public int incrementAttempts(UserId userId) {
+        return probe.call(ADAPTER, "incrementAttempts", () -> states.compute(userId, (id, state) -> state == null
+                ? new State(null, 0, 0, 1, 0)
+                : new State(state.code, state.codeExpiresAt, state.codeSentAt, state.attempts + 1,
+                        state.blockedUntil)).attempts);
+    }
+
+    @Override
+    public int getAttempts(UserId userId) {
+        return probe.call(ADAPTER, "getAttempts", () -> {
+            State state = states.get(userId);
+            return state != null ? state.attempts : 0;
+        });
+    }
+
+    @Override
+    public void block(UserId userId) {
+        block(userId, blockTtlMillis / 1000);
+    }
+
+    @Override
+    public void block(UserId userId, long ttlSeconds) {
+        probe.run(ADAPTER, "block", () -> states.put(userId, new State(null, 0, 0, 0, now() + ttlSeconds * 1000)));
+    }
+
+    @Override
+    public boolean isBlocked(UserId userId) {
+        return getBlockTtl(userId) > 0;
+    }
+
+    @Override
+    public long getBlockTtl(UserId userId) {
+        return probe.call(ADAPTER, "getBlockTtl", () -> {
+            State state = states.get(userId);
+            return state != null ? Math.max(0, (state.blockedUntil - now()) / 1000) : 0L;
+        });
+    }
+
+    @Override
+    public MfaVerification verifyCode(UserId userId, String code, int maxAttempts) {
+        return probe.call(ADAPTER, "verifyCode", () -> {
+            var result = new MfaVerification[1];
+            states.compute(userId, (id, state) -> {
+                long now = now();
+                if (state != null && state.blockedUntil > now) {
+                    result[0] = new MfaVerification(Status.BLOCKED, 0, (state.blockedUntil - now) / 1000);
+                    return state;
+                }
+                if (state == null || state.code == null || state.codeExpiresAt <= now) {
+                    result[0] = new MfaVerification(Status.EXPIRED, 0, 0);
+                    return state;
+                }
+                if (state.code.equals(code)) {
+                    result[0] = new MfaVerification(Status.VALID, 0, 0);
+                    return new State(null, 0, 0, 0, state.blockedUntil);
+                }
+                int attempts = state.attempts + 1;
+                if (attempts >= maxAttempts) {
+                    result[0] = new MfaVerification(Status.ATTEMPTS_EXHAUSTED, attempts, blockTtlMillis / 1000);
+                    return new State(null, 0, 0, 0, now + blockTtlMillis);
+                }
+                result[0] = new MfaVerification(Status.INVALID, attempts, 0);
+                return new State(state.code, state.codeExpiresAt, state.codeSentAt, attempts, state.blockedUntil);
+            });
+            return result[0];
+        });
+    }
+
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+
+    private record State(String code, long codeExpiresAt, long codeSentAt, int attempts, long blockedUntil) {}
+}
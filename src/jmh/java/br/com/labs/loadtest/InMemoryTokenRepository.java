@@ -0,0 +1,163 @@
+package br.com.labs.loadtest;
+
+import br.com.labs.domain.auth.RefreshSession;
+import br.com.labs.domain.auth.RefreshTokenRotation;
+import br.com.labs.domain.auth.TokenRepository;
+import br.com.labs.domain.user.UserId;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Refresh tokens com famílias e índice por usuário, como no {@code TokenRedisRepository}.
+ * As operações sobre refresh tokens são serializadas, o equivalente aos scripts Lua.
+ */
+final class InMemoryTokenRepository implements TokenRepository {
+
+    private static final String ADAPTER = "token";
+
+    private final AdapterProbe probe;
+    private final long refreshTtlMillis;
+    private final Map<String, Refresh> refreshTokens = new HashMap<>();
+    private final Map<String, String> activeByFamily = new HashMap<>();
+    private final Map<String, String> rotated = new HashMap<>();
+    private final Map<String, Long> blacklist = new ConcurrentHashMap<>();
+    private final Map<UserId, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    InMemoryTokenRepository(AdapterProbe probe, long refreshTtlMillis) {
+        this.probe = probe;
+        this.refreshTtlMillis = refreshTtlMillis;
+    }
+
+    @Override
+    public void saveRefreshToken(String tokenId, UserId userId) {
+        probe.run(ADAPTER, "saveRefreshToken", () -> {
+            synchronized (this) {
+                refreshTokens.put(tokenId, new Refresh(userId, tokenId, now() + refreshTtlMillis));
+                activeByFamily.put(tokenId, tokenId);
+            }
+        });
+    }
+
+    @Override
+    public boolean existsRefreshToken(String tokenId, UserId userId) {
+        return probe.call(ADAPTER, "existsRefreshToken", () -> {
+            synchronized (this) {
+                Refresh refresh = refreshTokens.get(tokenId);
+                return refresh != null && refresh.expiresAt > now();
+            }
+        });
+    }
+
+    @Override
+    public void deleteRefreshToken(String tokenId, UserId userId) {
+        probe.run(ADAPTER, "deleteRefreshToken", () -> {
+            synchronized (this) {
+                remove(tokenId);
+            }
+        });
+    }
+
+    @Override
+    public RefreshTokenRotation rotateRefreshToken(String currentTokenId, String newTokenId, UserId userId) {
+        return probe.call(ADAPTER, "rotateRefreshToken", () -> {
+            synchronized (this) {
+                Refresh current = refreshTokens.remove(currentTokenId);
+                if (current != null && current.expiresAt > now()) {
+                    refreshTokens.put(newTokenId, new Refresh(userId, current.family, now() + refreshTtlMillis));
+                    rotated.put(currentTokenId, current.family);
+                    activeByFamily.put(current.family, newTokenId);
+                    return RefreshTokenRotation.ROTATED;
+                }
+
+                String family = rotated.get(currentTokenId);
+                if (family != null) {
+                    String active = activeByFamily.remove(family);
+                    if (active != null) {
+                        refreshTokens.remove(active);
+                        rotated.put(active, family);
+                    }
+                    return RefreshTokenRotation.REUSED;
+                }
+                return RefreshTokenRotation.NOT_FOUND;
+            }
+        });
+    }
+
+    @Override
+    public List<RefreshSession> findSessions(UserId userId) {
+        return probe.call(ADAPTER, "findSessions", () -> {
+            synchronized (this) {
+                long now = now();
+                var sessions = new ArrayList<RefreshSession>();
+                refreshTokens.forEach((tokenId, refresh) -> {
+                    if (refresh.userId.equals(userId) && refresh.expiresAt > now) {
+                        sessions.add(new RefreshSession(tokenId, Instant.ofEpochMilli(refresh.expiresAt)));
+                    }
+                });
+                return sessions;
+            }
+        });
+    }
+
+    @Override
+    public int revokeSessions(UserId userId, Collection<String> tokenIds) {
+        return probe.call(ADAPTER, "revokeSessions", () -> {
+            synchronized (this) {
+                Collection<String> candidates = tokenIds.isEmpty() ? List.copyOf(refreshTokens.keySet()) : tokenIds;
+                int revoked = 0;
+                for (String tokenId : candidates) {
+                    Refresh refresh = refreshTokens.get(tokenId);
+                    if (refresh != null && refresh.userId.equals(userId)) {
+                        remove(tokenId);
+                        revoked++;
+                    }
+                }
+                return revoked;
+            }
+        });
+    }
+
+    @Override
+    public void addToBlacklist(String jti, long ttlSeconds) {
+        probe.run(ADAPTER, "addToBlacklist", () -> blacklist.put(jti, now() + ttlSeconds * 1000));
+    }
+
+    @Override
+    public boolean isBlacklisted(String jti) {
+        return probe.call(ADAPTER, "isBlacklisted", () -> {
+            Long expiresAt = blacklist.get(jti);
+            return expiresAt != null && expiresAt > now();
+        });
+    }
+
+    @Override
+    public void revokeAllForUser(UserId userId, Instant revokedAt) {
+        probe.run(ADAPTER, "revokeAllForUser",
+                () -> revokedBefore.merge(userId, revokedAt.toEpochMilli(), Math::max));
+    }
+
+    @Override
+    public boolean isRevokedForUser(UserId userId, Instant issuedAt) {
+        return probe.call(ADAPTER, "isRevokedForUser",
+                () -> issuedAt.toEpochMilli() <= revokedBefore.getOrDefault(userId, 0L));
+    }
+
+    private void remove(String tokenId) {
+        Refresh refresh = refreshTokens.remove(tokenId);
+        if (refresh != null) {
+            activeByFamily.remove(refresh.family, tokenId);
+        }
+    }
+
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+
+    private record Refresh(UserId userId, String family, long expiresAt) {}
+}
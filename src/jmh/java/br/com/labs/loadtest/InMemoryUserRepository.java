@@ -0,0 +1,70 @@
+package br.com.labs.loadtest;
+
+import br.com.labs.domain.exception.UserAlreadyExistsException;
+import br.com.labs.domain.user.Email;
+import br.com.labs.domain.user.User;
+import br.com.labs.domain.user.UserId;
+import br.com.labs.domain.user.UserRepository;
+import br.com.labs.domain.user.Username;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class InMemoryUserRepository implements UserRepository {
+
+    private static final String ADAPTER = "user";
+
+    private final AdapterProbe probe;
+    private final Map<UserId, User> byId = new ConcurrentHashMap<>();
+    private final Map<Username, UserId> byUsername = new ConcurrentHashMap<>();
+    private final Map<Email, UserId> byEmail = new ConcurrentHashMap<>();
+
+    InMemoryUserRepository(AdapterProbe probe) {
+        this.probe = probe;
+    }
+
+    @Override
+    public User save(User user) {
+        return probe.call(ADAPTER, "save", () -> {
+            UserId previous = byUsername.putIfAbsent(user.getUsername(), user.getId());
+            if (previous != null && !previous.equals(user.getId())) {
+                throw new UserAlreadyExistsException("username");
+            }
+            previous = byEmail.putIfAbsent(user.getEmail(), user.getId());
+            if (previous != null && !previous.equals(user.getId())) {
+                byUsername.remove(user.getUsername(), user.getId());
+                throw new UserAlreadyExistsException("email");
+            }
+            byId.put(user.getId(), user);
+            return user;
+        });
+    }
+
+    @Override
+    public Optional<User> findById(UserId id) {
+        return probe.call(ADAPTER, "findById", () -> Optional.ofNullable(byId.get(id)));
+    }
+
+    @Override
+    public Optional<User> findByUsername(Username username) {
+        return probe.call(ADAPTER, "findByUsername",
+                () -> Optional.ofNullable(byUsername.get(username)).map(byId::get));
+    }
+
+    @Override
+    public Optional<User> findByEmail(Email email) {
+        return probe.call(ADAPTER, "findByEmail",
+                () -> Optional.ofNullable(byEmail.get(email)).map(byId::get));
+    }
+
+    @Override
+    public boolean existsByUsername(Username username) {
+        return probe.call(ADAPTER, "existsByUsername", () -> byUsername.containsKey(username));
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        return probe.call(ADAPTER, "existsByEmail", () -> byEmail.containsKey(email));
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.labs.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opções no formato {@code --nome=valor}. Durações aceitam sufixo s, ms ou us.
+ */
+record LoadTestOptions(
+        double rate,
+        Duration duration,
+        Duration warmup,
+        int bcryptCost,
+        Map<String, Duration> adapterLatencies
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return new LoadTestOptions(
+                Double.parseDouble(values.getOrDefault("rate", "50")),
+                duration(values.getOrDefault("duration", "30s")),
+                duration(values.getOrDefault("warmup", "10s")),
+                Integer.parseInt(values.getOrDefault("bcrypt-cost", "10")),
+                Map.of(
+                        "user", duration(values.getOrDefault("user-latency", "1ms")),
+                        "mfa", duration(values.getOrDefault("mfa-latency", "300us")),
+                        "loginfailure", duration(values.getOrDefault("login-failure-latency", "300us")),
+                        "token", duration(values.getOrDefault("token-latency", "300us")),
+                        "ratelimit", duration(values.getOrDefault("ratelimit-latency", "300us")),
+                        "email", duration(values.getOrDefault("email-latency", "20ms"))
+                )
+        );
+    }
+
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("us")) {
+            return Duration.ofNanos(Long.parseLong(value.substring(0, value.length() - 2)) * 1000);
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofMillis(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.labs.application.service;
+
+import br.com.labs.domain.auth.RateLimitLease;
+import br.com.labs.domain.auth.RateLimitRepository;
+import br.com.labs.domain.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Limite de tentativas de login por IP e por rede (/24 ou /64), aplicado antes de
+ * qualquer consulta ao banco ou bcrypt.
+ *
+ * Cada nó mantém um saldo local por chave e só vai ao Redis para reservar um lote
+ * quando o saldo acaba, então a maioria das requisições não faz round trip. Uma
+ * negativa também fica em cache por um instante, para que um IP barrado não gere
+ * uma chamada ao Redis por requisição.
+ *
+ * O IP recebido precisa ser o endereço da conexão (ou o resolvido a partir de proxies
+ * confiáveis, ver {@code server.forward-headers-strategy}); um valor escolhido pelo
+ * cliente anularia o limite.
+ */
+@Service
+public class LoginRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginRateLimiter.class);
+    private static final long MAX_LOCAL_DENIAL_MS = 1000;
+
+    private final RateLimitRepository rateLimitRepository;
+    private final boolean enabled;
+    private final long ipLimit;
+    private final long networkLimit;
+    private final Duration window;
+    private final int leaseSize;
+    private final Cache<String, LocalBudget> budgets;
+
+    public LoginRateLimiter(
+            RateLimitRepository rateLimitRepository,
+            @Value("${security.rate-limit.login.enabled:true}") boolean enabled,
+            @Value("${security.rate-limit.login.ip-limit:20}") long ipLimit,
+            @Value("${security.rate-limit.login.network-limit:200}") long networkLimit,
+            @Value("${security.rate-limit.login.window:60s}") Duration window,
+            @Value("${security.rate-limit.login.lease-size:5}") int leaseSize
+    ) {
+        this.rateLimitRepository = rateLimitRepository;
+        this.enabled = enabled;
+        this.ipLimit = ipLimit;
+        this.networkLimit = networkLimit;
+        this.window = window;
+        this.leaseSize = leaseSize;
+        this.budgets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(window)
+                .build();
+    }
+
+    /**
+     * Consome uma tentativa do IP e da rede dele.
+     *
+     * @throws RateLimitExceededException se qualquer um dos dois estourou o limite
+     */
+    public void acquire(String ipAddress) {
+        if (!enabled) {
+            return;
+        }
+
+        LocalBudget ipBudget = acquire("login:ip:" + ipAddress, ipLimit);
+        try {
+            acquire("login:net:" + NetworkPrefix.of(ipAddress), networkLimit);
+        } catch (RateLimitExceededException e) {
+            // Negada pela rede: a tentativa não conta contra o IP
+            synchronized (ipBudget) {
+                ipBudget.giveBack(System.currentTimeMillis());
+            }
+            throw e;
+        }
+    }
+
+    private LocalBudget acquire(String key, long limit) {
+        LocalBudget budget = budgets.get(key, k -> new LocalBudget());
+        long now = System.currentTimeMillis();
+
+        synchronized (budget) {
+            if (budget.tryTake(now)) {
+                return budget;
+            }
+            if (budget.deniedUntil > now) {
+                throw new RateLimitExceededException(budget.retryAfterSeconds);
+            }
+
+            RateLimitLease lease = lease(key, limit);
+            if (lease.isDenied()) {
+                budget.deny(now + Math.min(MAX_LOCAL_DENIAL_MS, lease.retryAfterSeconds() * 1000),
+                        lease.retryAfterSeconds());
+                throw new RateLimitExceededException(lease.retryAfterSeconds());
+            }
+
+            budget.grant(lease.granted() - 1, now + window.toMillis());
+            return budget;
+        }
+    }
+
+    private RateLimitLease lease(String key, long limit) {
+        try {
+            return rateLimitRepository.lease(key, leaseSize, limit, window);
+        } catch (RuntimeException e) {
+            // Sem Redis não há como coordenar os nós; melhor deixar o login seguir
+            log.warn("Rate limit lease failed for {}, allowing request: {}", key, e.getMessage());
+            return new RateLimitLease(1, 0);
+        }
+    }
+
+    private static final class LocalBudget {
+
+        private int remaining;
+        private long expiresAt;
+        private long deniedUntil;
+        private long retryAfterSeconds;
+
+        private boolean tryTake(long now) {
+            if (remaining > 0 && expiresAt > now) {
+                remaining--;
+                return true;
+            }
+            return false;
+        }
+
+        private void giveBack(long now) {
+            if (expiresAt > now) {
+                remaining++;
+            }
+        }
+
+        private void grant(int tokens, long expiresAt) {
+            this.remaining = tokens;
+            this.expiresAt = expiresAt;
+            this.deniedUntil = 0;
+        }
+
+        private void deny(long until, long retryAfterSeconds) {
+            this.remaining = 0;
+            this.deniedUntil = until;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.labs.application.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Rede de um endereço IP: /24 para IPv4 e /64 para IPv6.
+ *
+ * Só aceita literais; um valor inesperado nunca pode disparar uma consulta DNS.
+ */
+public final class NetworkPrefix {
+
+    private static final String UNKNOWN = "unknown";
+
+    private NetworkPrefix() {
+    }
+
+    public static String of(String ipAddress) {
+        if (ipAddress == null || ipAddress.isBlank()) {
+            return UNKNOWN;
+        }
+        if (isIpv4Literal(ipAddress)) {
+            return ipAddress.substring(0, ipAddress.lastIndexOf('.')) + ".0/24";
+        }
+        if (isIpv6Literal(ipAddress)) {
+            return ipv6Prefix(ipAddress);
+        }
+        return UNKNOWN;
+    }
+
+    private static boolean isIpv4Literal(String value) {
+        int dots = 0;
+        int digits = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (digits == 0) {
+                    return false;
+                }
+                dots++;
+                digits = 0;
+            } else if (c >= '0' && c <= '9' && digits < 3) {
+                digits++;
+            } else {
+                return false;
+            }
+        }
+        return dots == 3 && digits > 0;
+    }
+
+    private static boolean isIpv6Literal(String value) {
+        if (value.indexOf(':') < 0) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != ':' && c != '.' && Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String ipv6Prefix(String value) {
+        byte[] address;
+        try {
+            // Com ':' o valor é tratado como literal IPv6, sem resolução de nome
+            address = InetAddress.getByName(value).getAddress();
+        } catch (UnknownHostException | SecurityException e) {
+            return UNKNOWN;
+        }
+        if (address.length != 16) {
+            return UNKNOWN;
+        }
+
+        var prefix = new StringBuilder(24);
+        for (int i = 0; i < 8; i += 2) {
+            prefix.append(Integer.toHexString(((address[i] & 0xff) << 8) | (address[i + 1] & 0xff))).append(':');
+        }
+        return prefix.append(":/64").toString();
+    }
+}
@@ -1,9 +1,11 @@
 package br.com.labs.application.service;
 
+import br.com.labs.domain.auth.LoginFailureRepository;
 import br.com.labs.domain.auth.MfaRepository;
 import br.com.labs.domain.auth.SecurityEvent;
 import br.com.labs.domain.auth.SecurityEvent.SeverityLevel;
 import br.com.labs.domain.auth.SecurityEventPublisher;
+import br.com.labs.domain.auth.TokenRepository;
 import br.com.labs.domain.user.UserId;
 import br.com.labs.domain.user.UserRepository;
 import org.slf4j.Logger;
@@ -11,7 +13,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 
 @Service
 public class SecurityMonitoringService {
@@ -19,44 +23,69 @@ public class SecurityMonitoringService {
     private static final Logger log = LoggerFactory.getLogger(SecurityMonitoringService.class);
 
     private final MfaRepository mfaRepository;
+    private final LoginFailureRepository loginFailureRepository;
     private final UserRepository userRepository;
+    private final TokenRepository tokenRepository;
     private final SecurityEventPublisher eventPublisher;
     private final int maxLoginFailures;
     private final int suspiciousThreshold;
+    private final long lockoutBaseSeconds;
+    private final long lockoutMaxSeconds;
 
     public SecurityMonitoringService(
             MfaRepository mfaRepository,
+            LoginFailureRepository loginFailureRepository,
             UserRepository userRepository,
+            TokenRepository tokenRepository,
             SecurityEventPublisher eventPublisher,
             @Value("${security.max-login-failures:5}") int maxLoginFailures,
-            @Value("${security.suspicious-threshold:3}") int suspiciousThreshold
+            @Value("${security.suspicious-threshold:3}") int suspiciousThreshold,
+            @Value("${security.lockout.base:15m}") Duration lockoutBase,
+            @Value("${security.lockout.max:24h}") Duration lockoutMax
     ) {
         this.mfaRepository = mfaRepository;
+        this.loginFailureRepository = loginFailureRepository;
         this.userRepository = userRepository;
+        this.tokenRepository = tokenRepository;
         this.eventPublisher = eventPublisher;
         this.maxLoginFailures = maxLoginFailures;
         this.suspiciousThreshold = suspiciousThreshold;
+        this.lockoutBaseSeconds = lockoutBase.toSeconds();
+        this.lockoutMaxSeconds = lockoutMax.toSeconds();
     }
 
     /**
      * Registra falha de login e toma ações se necessário.
-     * Chamado pelo AuthenticateUserUseCase quando credenciais são inválidas.
+     * Chamado pelo AuthenticateUserUseCase quando credenciais são inválidas. As falhas
+     * têm contador próprio: uma senha correta no meio delas não o zera, só um login
+     * completo (com MFA).
      */
     public void recordLoginFailure(UserId userId, String ipAddress, String reason) {
         var event = new SecurityEvent.LoginFailure(userId, Instant.now(), ipAddress, reason);
         eventPublisher.publish(event);
 
-        int failures = mfaRepository.incrementAttempts(userId);
+        var loginFailures = loginFailureRepository.recordFailure(userId);
+        int failures = loginFailures.count();
         log.warn("Login failure #{} for user {} from IP {}", failures, userId, ipAddress);
 
         if (failures >= maxLoginFailures) {
-            blockAccount(userId, ipAddress, "Too many failed login attempts");
+            lockOut(userId, ipAddress, loginFailures.lockouts());
         } else if (failures >= suspiciousThreshold) {
             reportSuspiciousActivity(userId, ipAddress,
                     "Multiple login failures: " + failures, SeverityLevel.MEDIUM);
         }
     }
 
+    /**
+     * Registra falha de login com um username inexistente. Sem usuário não há contador
+     * nem bloqueio; o evento alimenta a detecção de ataques por IP e por rede, onde
+     * credential stuffing aparece como usernames que não existem.
+     */
+    public void recordUnknownUserLoginFailure(String username, String ipAddress) {
+        eventPublisher.publish(new SecurityEvent.UnknownUserLoginFailure(Instant.now(), ipAddress, username));
+        log.debug("Login failure for unknown username from IP {}", ipAddress);
+    }
+
     /**
      * Registra falha de MFA e verifica padrões suspeitos.
      * Chamado pelo VerifyMfaCodeUseCase quando código é inválido.
@@ -82,6 +111,33 @@ public class SecurityMonitoringService {
         mfaRepository.block(userId);
         long blockTtl = mfaRepository.getBlockTtl(userId);
 
+        recordAccountBlocked(userId, ipAddress, reason, blockTtl);
+    }
+
+    /**
+     * Bloqueio exponencial: {@code lockout.base} dobrado a cada bloqueio recente, até
+     * {@code lockout.max}.
+     */
+    private void lockOut(UserId userId, String ipAddress, int previousLockouts) {
+        long blockTtl = lockoutSeconds(previousLockouts);
+        loginFailureRepository.recordLockout(userId);
+        mfaRepository.block(userId, blockTtl);
+
+        recordAccountBlocked(userId, ipAddress, "Too many failed login attempts", blockTtl);
+    }
+
+    long lockoutSeconds(int previousLockouts) {
+        long seconds = lockoutBaseSeconds;
+        for (int i = 0; i < previousLockouts && seconds < lockoutMaxSeconds; i++) {
+            seconds *= 2;
+        }
+        return Math.min(seconds, lockoutMaxSeconds);
+    }
+
+    /**
+     * Registra um bloqueio já aplicado pelo repositório (ex.: verificação atômica de MFA).
+     */
+    public void recordAccountBlocked(UserId userId, String ipAddress, String reason, long blockTtl) {
         var event = new SecurityEvent.AccountBlocked(
                 userId, Instant.now(), ipAddress, reason, blockTtl
         );
@@ -94,11 +150,15 @@ public class SecurityMonitoringService {
 
     /**
      * Invalida todas as sessões do usuário.
-     * Útil quando detectamos comprometimento de conta.
+     * Útil quando detectamos comprometimento de conta. Custa uma escrita no Redis,
+     * independente de quantos tokens o usuário tenha emitidos.
      */
     public void invalidateAllSessions(UserId userId, String reason) {
         log.warn("Invalidating all sessions for user {}. Reason: {}", userId, reason);
 
+        tokenRepository.revokeAllForUser(userId, Instant.now());
+        tokenRepository.revokeSessions(userId, List.of());
+
         reportSuspiciousActivity(userId, "system",
                 "All sessions invalidated: " + reason, SeverityLevel.CRITICAL);
     }
@@ -126,11 +186,25 @@ public class SecurityMonitoringService {
     }
 
     /**
-     * Reseta contadores de falha após login bem-sucedido.
-     * Chamado pelo VerifyMfaCodeUseCase após verificação bem-sucedida.
+     * Reporta atividade suspeita de uma origem (IP ou rede) sem usuário associado.
+     * Não notifica ninguém: os usuários atingidos por essa origem não estão envolvidos.
+     */
+    public void reportSuspiciousSource(String ipAddress, String description, SeverityLevel severity) {
+        eventPublisher.publish(new SecurityEvent.SuspiciousActivity(
+                null, Instant.now(), ipAddress, description, severity
+        ));
+
+        log.warn("Suspicious activity [{}] from IP {}: {}", severity, ipAddress, description);
+    }
+
+    /**
+     * Registra login bem-sucedido.
+     * Chamado pelo VerifyMfaCodeUseCase após verificação bem-sucedida, que já
+     * consumiu o código e zerou as tentativas no repositório. Zera as falhas de login
+     * e reduz o nível de bloqueio exponencial.
      */
     public void recordSuccessfulLogin(UserId userId, String ipAddress) {
-        mfaRepository.deleteCode(userId);
+        loginFailureRepository.recordSuccess(userId);
         log.info("Successful login for user {} from IP {}", userId, ipAddress);
     }
 
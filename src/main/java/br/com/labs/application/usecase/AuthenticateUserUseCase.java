@@ -3,17 +3,21 @@ package br.com.labs.application.usecase;
 import br.com.labs.application.service.SecurityMonitoringService;
 import br.com.labs.domain.auth.EmailSender;
 import br.com.labs.domain.auth.MfaCode;
+import br.com.labs.domain.auth.MfaCodeIssue;
 import br.com.labs.domain.auth.MfaRepository;
 import br.com.labs.domain.auth.MfaToken;
 import br.com.labs.domain.auth.PasswordEncoder;
 import br.com.labs.domain.exception.InvalidCredentialsException;
-import br.com.labs.domain.exception.MfaBlockedException;
 import br.com.labs.domain.user.User;
 import br.com.labs.domain.user.UserRepository;
 import br.com.labs.domain.user.Username;
 import br.com.labs.infrastructure.security.JwtTokenProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.UUID;
+
 @Service
 public class AuthenticateUserUseCase {
 
@@ -23,6 +27,8 @@ public class AuthenticateUserUseCase {
     private final EmailSender emailSender;
     private final JwtTokenProvider jwtTokenProvider;
     private final SecurityMonitoringService securityMonitoringService;
+    private final Duration blockedResponseLatency;
+    private volatile String dummyHash;
 
     public AuthenticateUserUseCase(
             UserRepository userRepository,
@@ -30,7 +36,8 @@ public class AuthenticateUserUseCase {
             MfaRepository mfaRepository,
             EmailSender emailSender,
             JwtTokenProvider jwtTokenProvider,
-            SecurityMonitoringService securityMonitoringService
+            SecurityMonitoringService securityMonitoringService,
+            @Value("${security.blocked-login-latency-ms:250}") long blockedResponseLatencyMs
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
@@ -38,16 +45,17 @@ public class AuthenticateUserUseCase {
         this.emailSender = emailSender;
         this.jwtTokenProvider = jwtTokenProvider;
         this.securityMonitoringService = securityMonitoringService;
+        this.blockedResponseLatency = Duration.ofMillis(blockedResponseLatencyMs);
     }
 
     public Output execute(Input input) {
+        long startedAt = System.nanoTime();
         var username = new Username(input.username());
 
         User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    // Não temos userId, mas registramos a tentativa com username
-                    return new InvalidCredentialsException();
-                });
+                .orElseThrow(() -> unknownUser(input));
+
+        rejectIfBlocked(user, startedAt);
 
         if (!passwordEncoder.matches(input.password(), user.getPassword().hashedValue())) {
             securityMonitoringService.recordLoginFailure(
@@ -58,22 +66,73 @@ public class AuthenticateUserUseCase {
             throw new InvalidCredentialsException();
         }
 
-        checkIfBlocked(user);
-
-        var mfaCode = MfaCode.generate();
-        mfaRepository.saveCode(user.getId(), mfaCode);
-
-        emailSender.sendMfaCode(user.getEmail(), mfaCode);
+        sendMfaCode(user);
 
         MfaToken mfaToken = jwtTokenProvider.generateMfaToken(user.getId());
 
         return new Output(mfaToken.value(), mfaToken.expiresIn());
     }
 
-    private void checkIfBlocked(User user) {
+    /**
+     * Logins repetidos dentro da janela de reaproveitamento recebem o mesmo código e
+     * não disparam outro email; as tentativas erradas continuam contando. Se o email
+     * não entra no outbox, a marca de envio é desfeita para o retry mandar de novo.
+     */
+    private void sendMfaCode(User user) {
+        MfaCodeIssue issue = mfaRepository.issueCode(user.getId(), MfaCode.generate());
+        if (issue.reused()) {
+            return;
+        }
+        try {
+            emailSender.sendMfaCode(user.getEmail(), issue.code());
+        } catch (RuntimeException e) {
+            mfaRepository.markCodeUnsent(user.getId());
+            throw e;
+        }
+    }
+
+    /**
+     * Conta bloqueada é rejeitada antes do bcrypt: custa um lookup no Redis em vez
+     * de ~250ms de CPU. A resposta é a mesma de senha errada e só sai após uma
+     * latência fixa, para não revelar que a conta existe e está bloqueada.
+     */
+    private void rejectIfBlocked(User user, long startedAt) {
         if (mfaRepository.isBlocked(user.getId())) {
-            long ttl = mfaRepository.getBlockTtl(user.getId());
-            throw new MfaBlockedException(ttl);
+            awaitFixedLatency(startedAt);
+            throw new InvalidCredentialsException();
+        }
+    }
+
+    /**
+     * Usuário inexistente paga o mesmo bcrypt de uma senha errada, contra um hash
+     * descartável com o custo configurado. Sem isso a resposta rápida (o lookup nem
+     * chega ao banco quando o filtro de usuários dá miss) revelaria quem existe.
+     * A falha é registrada para a detecção de ataques contar o IP de origem.
+     */
+    private InvalidCredentialsException unknownUser(Input input) {
+        passwordEncoder.matches(input.password(), dummyHash());
+        securityMonitoringService.recordUnknownUserLoginFailure(input.username(), input.ipAddress());
+        return new InvalidCredentialsException();
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    private void awaitFixedLatency(long startedAt) {
+        long remainingNanos = blockedResponseLatency.toNanos() - (System.nanoTime() - startedAt);
+        if (remainingNanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(remainingNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
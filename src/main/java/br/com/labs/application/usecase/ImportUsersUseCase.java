@@ -0,0 +1,140 @@
+package br.com.labs.application.usecase;
+
+import br.com.labs.domain.auth.PasswordEncoder;
+import br.com.labs.domain.user.Email;
+import br.com.labs.domain.user.Password;
+import br.com.labs.domain.user.User;
+import br.com.labs.domain.user.UserId;
+import br.com.labs.domain.user.UserImportOutcome;
+import br.com.labs.domain.user.UserImportRepository;
+import br.com.labs.domain.user.Username;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Importação de contas em lotes.
+ *
+ * As linhas de cada lote são validadas e têm a senha hasheada em paralelo num
+ * {@link ForkJoinPool} próprio, fora da fila de bcrypt do login. Hashes bcrypt já
+ * prontos entram como vieram. Cada linha rejeitada é reportada assim que o lote
+ * termina, sem esperar o fim da importação.
+ */
+@Service
+public class ImportUsersUseCase {
+
+    private final UserImportRepository userImportRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ForkJoinPool hashingPool;
+    private final int batchSize;
+
+    public ImportUsersUseCase(
+            UserImportRepository userImportRepository,
+            PasswordEncoder passwordEncoder,
+            @Value("${users.import.batch-size:1000}") int batchSize,
+            @Value("${users.import.hashing-parallelism:0}") int hashingParallelism
+    ) {
+        this.userImportRepository = userImportRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.batchSize = batchSize;
+        this.hashingPool = new ForkJoinPool(
+                hashingParallelism > 0 ? hashingParallelism : Runtime.getRuntime().availableProcessors()
+        );
+    }
+
+    public Output execute(Input input) {
+        long imported = 0;
+        long rejected = 0;
+        var batch = new ArrayList<Row>(batchSize);
+
+        Iterator<Row> rows = input.rows();
+        while (rows.hasNext()) {
+            batch.add(rows.next());
+            if (batch.size() == batchSize || !rows.hasNext()) {
+                long importedInBatch = importBatch(batch, input.rejections());
+                imported += importedInBatch;
+                rejected += batch.size() - importedInBatch;
+                batch.clear();
+            }
+        }
+
+        return new Output(imported, rejected);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    private long importBatch(List<Row> batch, Consumer<Rejection> rejections) {
+        List<Prepared> prepared = hashingPool.submit(() -> batch.parallelStream().map(this::prepare).toList()).join();
+
+        var users = new ArrayList<User>(prepared.size());
+        for (Prepared row : prepared) {
+            if (row.user() != null) {
+                users.add(row.user());
+            } else {
+                rejections.accept(new Rejection(row.line(), row.error()));
+            }
+        }
+
+        Map<UserId, UserImportOutcome> outcomes = userImportRepository.importBatch(users);
+
+        long imported = 0;
+        for (Prepared row : prepared) {
+            if (row.user() == null) {
+                continue;
+            }
+            UserImportOutcome outcome = outcomes.get(row.user().getId());
+            if (outcome == UserImportOutcome.IMPORTED) {
+                imported++;
+            } else if (outcome == UserImportOutcome.USERNAME_TAKEN) {
+                rejections.accept(new Rejection(row.line(), "User with this username already exists"));
+            } else {
+                rejections.accept(new Rejection(row.line(), "User with this email already exists"));
+            }
+        }
+        return imported;
+    }
+
+    private Prepared prepare(Row row) {
+        try {
+            var username = new Username(row.username());
+            var email = new Email(row.email());
+            return new Prepared(row.line(), User.create(username, email, passwordFor(row)), null);
+        } catch (IllegalArgumentException e) {
+            return new Prepared(row.line(), null, e.getMessage());
+        }
+    }
+
+    private Password passwordFor(Row row) {
+        if (row.passwordHash() != null) {
+            if (!passwordEncoder.isEncoded(row.passwordHash())) {
+                throw new IllegalArgumentException("Password hash is not a supported bcrypt hash or its cost is too high");
+            }
+            return new Password(row.passwordHash());
+        }
+        Password.validateRawPassword(row.password());
+        return new Password(passwordEncoder.encodeInCallerThread(row.password()));
+    }
+
+    private record Prepared(long line, User user, String error) {}
+
+    /**
+     * Uma conta a importar. Informe {@code password} ou {@code passwordHash}.
+     */
+    public record Row(long line, String username, String email, String password, String passwordHash) {}
+
+    public record Rejection(long line, String error) {}
+
+    public record Input(Iterator<Row> rows, Consumer<Rejection> rejections) {}
+
+    public record Output(long imported, long rejected) {}
+}
@@ -0,0 +1,27 @@
+package br.com.labs.application.usecase;
+
+import br.com.labs.domain.auth.RefreshSession;
+import br.com.labs.domain.auth.TokenRepository;
+import br.com.labs.domain.user.UserId;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class ListSessionsUseCase {
+
+    private final TokenRepository tokenRepository;
+
+    public ListSessionsUseCase(TokenRepository tokenRepository) {
+        this.tokenRepository = tokenRepository;
+    }
+
+    public Output execute(Input input) {
+        List<RefreshSession> sessions = tokenRepository.findSessions(input.userId());
+        return new Output(sessions);
+    }
+
+    public record Input(UserId userId) {}
+
+    public record Output(List<RefreshSession> sessions) {}
+}
@@ -1,6 +1,7 @@
 package br.com.labs.application.usecase;
 
 import br.com.labs.domain.auth.TokenRepository;
+import br.com.labs.domain.user.UserId;
 import br.com.labs.infrastructure.security.JwtTokenProvider;
 import org.springframework.stereotype.Service;
 
@@ -16,16 +17,18 @@ public class LogoutUseCase {
     }
 
     public void execute(Input input) {
-        String accessJti = jwtTokenProvider.extractJti(input.accessToken());
-        long accessTtl = jwtTokenProvider.getRemainingTtlSeconds(input.accessToken());
+        var accessClaims = jwtTokenProvider.parse(input.accessToken());
+        long accessTtl = jwtTokenProvider.getRemainingTtlSeconds(accessClaims);
 
         if (accessTtl > 0) {
-            tokenRepository.addToBlacklist(accessJti, accessTtl);
+            tokenRepository.addToBlacklist(accessClaims.jti(), accessTtl);
         }
 
         if (input.refreshToken() != null && !input.refreshToken().isBlank()) {
-            String refreshTokenId = jwtTokenProvider.extractRefreshTokenId(input.refreshToken());
-            tokenRepository.deleteRefreshToken(refreshTokenId);
+            var refreshClaims = jwtTokenProvider.parse(input.refreshToken());
+            UserId userId = jwtTokenProvider.validateRefreshToken(refreshClaims);
+            String refreshTokenId = jwtTokenProvider.extractRefreshTokenId(refreshClaims);
+            tokenRepository.deleteRefreshToken(refreshTokenId, userId);
         }
     }
 
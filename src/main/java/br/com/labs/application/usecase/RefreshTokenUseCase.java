@@ -1,5 +1,6 @@
 package br.com.labs.application.usecase;
 
+import br.com.labs.domain.auth.RefreshTokenRotation;
 import br.com.labs.domain.auth.TokenPair;
 import br.com.labs.domain.auth.TokenRepository;
 import br.com.labs.domain.exception.InvalidTokenException;
@@ -19,20 +20,22 @@ public class RefreshTokenUseCase {
     }
 
     public Output execute(Input input) {
-        UserId userId = jwtTokenProvider.validateRefreshToken(input.refreshToken());
+        var claims = jwtTokenProvider.parse(input.refreshToken());
+        UserId userId = jwtTokenProvider.validateRefreshToken(claims);
 
-        String oldTokenId = jwtTokenProvider.extractRefreshTokenId(input.refreshToken());
-
-        if (!tokenRepository.existsRefreshToken(oldTokenId)) {
-            throw new InvalidTokenException("Refresh token not found or revoked");
+        if (tokenRepository.isRevokedForUser(userId, claims.issuedAt())) {
+            throw new InvalidTokenException("Refresh token revoked");
         }
 
-        tokenRepository.deleteRefreshToken(oldTokenId);
-
-        TokenPair newTokenPair = jwtTokenProvider.generateTokenPair(userId);
+        TokenPair newTokenPair = jwtTokenProvider.rotateTokenPair(userId, claims.jti());
+        RefreshTokenRotation rotation =
+                tokenRepository.rotateRefreshToken(claims.jti(), newTokenPair.refreshTokenId(), userId);
 
-        String newRefreshTokenId = jwtTokenProvider.extractRefreshTokenId(newTokenPair.refreshToken());
-        tokenRepository.saveRefreshToken(newRefreshTokenId, userId);
+        switch (rotation) {
+            case ROTATED -> { }
+            case REUSED -> throw new InvalidTokenException("Refresh token reuse detected, session revoked");
+            case NOT_FOUND -> throw new InvalidTokenException("Refresh token not found or revoked");
+        }
 
         return new Output(
                 newTokenPair.accessToken(),
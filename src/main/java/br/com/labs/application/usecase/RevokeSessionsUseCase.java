@@ -0,0 +1,48 @@
+package br.com.labs.application.usecase;
+
+import br.com.labs.domain.auth.TokenRepository;
+import br.com.labs.domain.user.UserId;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class RevokeSessionsUseCase {
+
+    private final TokenRepository tokenRepository;
+
+    public RevokeSessionsUseCase(TokenRepository tokenRepository) {
+        this.tokenRepository = tokenRepository;
+    }
+
+    /**
+     * Sem ids revoga todas as sessões e também os access tokens já emitidos;
+     * com ids revoga só os refresh tokens escolhidos.
+     */
+    public Output execute(Input input) {
+        int revoked = tokenRepository.revokeSessions(input.userId(), input.sessionIds());
+
+        if (input.revokeAll()) {
+            tokenRepository.revokeAllForUser(input.userId(), Instant.now());
+        }
+
+        return new Output(revoked);
+    }
+
+    public record Input(UserId userId, List<String> sessionIds) {
+        public Input {
+            sessionIds = sessionIds != null ? List.copyOf(sessionIds) : List.of();
+        }
+
+        public Input(UserId userId) {
+            this(userId, List.of());
+        }
+
+        public boolean revokeAll() {
+            return sessionIds.isEmpty();
+        }
+    }
+
+    public record Output(int revoked) {}
+}
@@ -0,0 +1,80 @@
+package br.com.labs.application.usecase;
+
+import br.com.labs.domain.auth.SecurityEventHistory;
+import br.com.labs.domain.auth.SecurityEventHistory.Cursor;
+import br.com.labs.domain.auth.SecurityEventHistory.Entry;
+import br.com.labs.domain.user.UserId;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Consulta paginada da auditoria. O cursor é opaco para o cliente: codifica a posição
+ * (occurredAt, id) do último evento da página.
+ */
+@Service
+public class SearchSecurityEventsUseCase {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    private final SecurityEventHistory securityEventHistory;
+
+    public SearchSecurityEventsUseCase(SecurityEventHistory securityEventHistory) {
+        this.securityEventHistory = securityEventHistory;
+    }
+
+    public Output execute(Input input) {
+        int limit = input.limit() != null ? input.limit() : DEFAULT_LIMIT;
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (input.from() != null && input.to() != null && !input.from().isBefore(input.to())) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        var query = new SecurityEventHistory.Query(
+                input.userId(),
+                input.ipAddress(),
+                input.from(),
+                input.to(),
+                input.cursor() != null ? decode(input.cursor()) : null,
+                limit + 1
+        );
+        List<Entry> entries = securityEventHistory.search(query);
+
+        if (entries.size() <= limit) {
+            return new Output(entries, null);
+        }
+        List<Entry> page = entries.subList(0, limit);
+        return new Output(page, encode(page.getLast().cursor()));
+    }
+
+    static String encode(Cursor cursor) {
+        String raw = cursor.occurredAt().getEpochSecond() + ":" + cursor.occurredAt().getNano() + ":" + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static Cursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(
+                    Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    Long.parseLong(parts[2])
+            );
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public record Input(UserId userId, String ipAddress, Instant from, Instant to, String cursor, Integer limit) {}
+
+    public record Output(List<Entry> events, String nextCursor) {}
+}
@@ -2,6 +2,7 @@ package br.com.labs.application.usecase;
 
 import br.com.labs.application.service.SecurityMonitoringService;
 import br.com.labs.domain.auth.MfaRepository;
+import br.com.labs.domain.auth.MfaVerification;
 import br.com.labs.domain.auth.TokenPair;
 import br.com.labs.domain.auth.TokenRepository;
 import br.com.labs.domain.exception.MfaBlockedException;
@@ -38,21 +39,18 @@ public class VerifyMfaCodeUseCase {
     public Output execute(Input input) {
         UserId userId = jwtTokenProvider.validateMfaToken(input.mfaToken());
 
-        checkIfBlocked(userId);
+        var verification = mfaRepository.verifyCode(userId, input.code(), maxAttempts);
 
-        var storedCode = mfaRepository.findCode(userId)
-                .orElseThrow(MfaCodeExpiredException::new);
-
-        if (!storedCode.matches(input.code())) {
-            handleFailedAttempt(userId, input.ipAddress());
+        switch (verification.status()) {
+            case VALID -> { }
+            case EXPIRED -> throw new MfaCodeExpiredException();
+            case BLOCKED -> throw new MfaBlockedException(verification.blockTtlSeconds());
+            case INVALID, ATTEMPTS_EXHAUSTED -> handleFailedAttempt(userId, input.ipAddress(), verification);
         }
 
-        mfaRepository.deleteCode(userId);
-
         TokenPair tokenPair = jwtTokenProvider.generateTokenPair(userId);
 
-        String refreshTokenId = jwtTokenProvider.extractRefreshTokenId(tokenPair.refreshToken());
-        tokenRepository.saveRefreshToken(refreshTokenId, userId);
+        tokenRepository.saveRefreshToken(tokenPair.refreshTokenId(), userId);
 
         securityMonitoringService.recordSuccessfulLogin(userId, input.ipAddress());
 
@@ -64,24 +62,16 @@ public class VerifyMfaCodeUseCase {
         );
     }
 
-    private void checkIfBlocked(UserId userId) {
-        if (mfaRepository.isBlocked(userId)) {
-            long ttl = mfaRepository.getBlockTtl(userId);
-            throw new MfaBlockedException(ttl);
-        }
-    }
-
-    private void handleFailedAttempt(UserId userId, String ipAddress) {
-        int attempts = mfaRepository.incrementAttempts(userId);
+    private void handleFailedAttempt(UserId userId, String ipAddress, MfaVerification verification) {
+        int attempts = verification.attempts();
 
         securityMonitoringService.recordMfaFailure(userId, ipAddress, attempts);
 
-        if (attempts >= maxAttempts) {
-            mfaRepository.block(userId);
-            mfaRepository.deleteCode(userId);
-            securityMonitoringService.blockAccount(userId, ipAddress, "Too many MFA attempts");
-            long ttl = mfaRepository.getBlockTtl(userId);
-            throw new MfaBlockedException(ttl);
+        if (verification.status() == MfaVerification.Status.ATTEMPTS_EXHAUSTED) {
+            securityMonitoringService.recordAccountBlocked(
+                    userId, ipAddress, "Too many MFA attempts", verification.blockTtlSeconds()
+            );
+            throw new MfaBlockedException(verification.blockTtlSeconds());
         }
 
         int remaining = maxAttempts - attempts;
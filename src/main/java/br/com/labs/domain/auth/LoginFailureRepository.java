@@ -0,0 +1,25 @@
+package br.com.labs.domain.auth;
+
+import br.com.labs.domain.user.UserId;
+
+/**
+ * Contadores de falhas de login, separados das tentativas de MFA: gerar ou validar
+ * um código não mexe neles.
+ */
+public interface LoginFailureRepository {
+
+    /**
+     * Conta uma falha e devolve o total da janela junto com o nível de bloqueio atual.
+     */
+    LoginFailures recordFailure(UserId userId);
+
+    /**
+     * Registra um bloqueio: sobe o nível usado no próximo e zera as falhas da janela.
+     */
+    void recordLockout(UserId userId);
+
+    /**
+     * Login completo: zera as falhas da janela e reduz o nível de bloqueio em um.
+     */
+    void recordSuccess(UserId userId);
+}
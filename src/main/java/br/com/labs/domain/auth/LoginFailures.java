@@ -0,0 +1,8 @@
+package br.com.labs.domain.auth;
+
+/**
+ * Falhas de login do usuário na janela atual e quantos bloqueios ele já sofreu
+ * recentemente (base do bloqueio exponencial).
+ */
+public record LoginFailures(int count, int lockouts) {
+}
@@ -0,0 +1,9 @@
+package br.com.labs.domain.auth;
+
+/**
+ * Código MFA em vigor após um login.
+ *
+ * @param reused {@code true} quando o código já tinha sido enviado dentro da janela de
+ *               reaproveitamento e não precisa sair de novo por email
+ */
+public record MfaCodeIssue(MfaCode code, boolean reused) {}
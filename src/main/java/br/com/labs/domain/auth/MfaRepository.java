@@ -8,6 +8,19 @@ public interface MfaRepository {
 
     void saveCode(UserId userId, MfaCode code);
 
+    /**
+     * Reaproveita o código atual se ele ainda vale e foi emitido há menos que a janela
+     * de reaproveitamento; senão grava {@code candidate}. Em nenhum dos casos zera as
+     * tentativas erradas já acumuladas.
+     */
+    MfaCodeIssue issueCode(UserId userId, MfaCode candidate);
+
+    /**
+     * Desfaz a marca de envio do código atual quando o email não pôde ser enfileirado,
+     * para que o próximo login emita e envie um código novo em vez de reaproveitar.
+     */
+    void markCodeUnsent(UserId userId);
+
     Optional<MfaCode> findCode(UserId userId);
 
     void deleteCode(UserId userId);
@@ -18,7 +31,18 @@ public interface MfaRepository {
 
     void block(UserId userId);
 
+    /**
+     * Bloqueia por {@code ttlSeconds} em vez do TTL padrão (ex.: bloqueio exponencial de login).
+     */
+    void block(UserId userId, long ttlSeconds);
+
     boolean isBlocked(UserId userId);
 
     long getBlockTtl(UserId userId);
+
+    /**
+     * Confere o código, incrementa as tentativas e bloqueia ao atingir o limite,
+     * tudo como uma única operação. Um código válido é consumido.
+     */
+    MfaVerification verifyCode(UserId userId, String code, int maxAttempts);
 }
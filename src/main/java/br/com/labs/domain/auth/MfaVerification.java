@@ -0,0 +1,18 @@
+package br.com.labs.domain.auth;
+
+/**
+ * Resultado de uma verificação de código MFA feita de forma atômica pelo repositório.
+ *
+ * @param attempts        tentativas erradas acumuladas após esta verificação
+ * @param blockTtlSeconds tempo restante de bloqueio (só em BLOCKED e ATTEMPTS_EXHAUSTED)
+ */
+public record MfaVerification(Status status, int attempts, long blockTtlSeconds) {
+
+    public enum Status {
+        VALID,
+        INVALID,
+        EXPIRED,
+        BLOCKED,
+        ATTEMPTS_EXHAUSTED
+    }
+}
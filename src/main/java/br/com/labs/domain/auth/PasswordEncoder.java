@@ -5,4 +5,15 @@ public interface PasswordEncoder {
     String encode(String rawPassword);
 
     boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * Mesmo hash de {@link #encode}, mas no thread de quem chama. Para processamentos
+     * em lote que já limitam o próprio paralelismo e não devem disputar a fila do login.
+     */
+    String encodeInCallerThread(String rawPassword);
+
+    /**
+     * Se o valor já é um hash que {@link #matches} sabe verificar.
+     */
+    boolean isEncoded(String value);
 }
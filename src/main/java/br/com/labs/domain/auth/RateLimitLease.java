@@ -0,0 +1,14 @@
+package br.com.labs.domain.auth;
+
+/**
+ * Parte do limite compartilhado concedida a este nó.
+ *
+ * @param granted           quantas requisições podem ser atendidas localmente
+ * @param retryAfterSeconds quando vale tentar de novo se nada foi concedido
+ */
+public record RateLimitLease(int granted, long retryAfterSeconds) {
+
+    public boolean isDenied() {
+        return granted <= 0;
+    }
+}
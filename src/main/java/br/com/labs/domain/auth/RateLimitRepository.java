@@ -0,0 +1,12 @@
+package br.com.labs.domain.auth;
+
+import java.time.Duration;
+
+public interface RateLimitRepository {
+
+    /**
+     * Reserva até {@code requested} unidades do limite de {@code key} na janela
+     * deslizante, concedendo menos (ou nada) se o limite estiver perto de estourar.
+     */
+    RateLimitLease lease(String key, int requested, long limit, Duration window);
+}
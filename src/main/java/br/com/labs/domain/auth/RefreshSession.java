@@ -0,0 +1,8 @@
+package br.com.labs.domain.auth;
+
+import java.time.Instant;
+
+/**
+ * Sessão ativa de um usuário, identificada pelo refresh token que a mantém.
+ */
+public record RefreshSession(String tokenId, Instant expiresAt) {}
@@ -0,0 +1,55 @@
+package br.com.labs.domain.auth;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JTI de um refresh token no formato "{família}.{token}".
+ *
+ * A família viaja no próprio JTI para que o repositório derive todas as chaves de uma
+ * troca sem consultar o Redis antes. JTIs emitidos antes das famílias não têm o
+ * separador e não são reconhecidos por {@link #parse(String)}.
+ */
+public record RefreshTokenId(String family, String token) {
+
+    private static final char SEPARATOR = '.';
+
+    public RefreshTokenId {
+        if (family == null || family.isBlank() || family.indexOf(SEPARATOR) >= 0) {
+            throw new IllegalArgumentException("Refresh token family must be a non-blank id without '.'");
+        }
+        if (token == null || token.isBlank() || token.indexOf(SEPARATOR) >= 0) {
+            throw new IllegalArgumentException("Refresh token id must be non-blank without '.'");
+        }
+    }
+
+    /**
+     * Primeiro token de uma nova família, emitido no login.
+     */
+    public static RefreshTokenId newFamily() {
+        return new RefreshTokenId(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Próximo token da mesma família, emitido na troca.
+     */
+    public RefreshTokenId next() {
+        return new RefreshTokenId(family, UUID.randomUUID().toString());
+    }
+
+    public static Optional<RefreshTokenId> parse(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        int separator = value.indexOf(SEPARATOR);
+        if (separator <= 0 || separator == value.length() - 1 || value.indexOf(SEPARATOR, separator + 1) >= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new RefreshTokenId(value.substring(0, separator), value.substring(separator + 1)));
+    }
+
+    @Override
+    public String toString() {
+        return family + SEPARATOR + token;
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.labs.domain.auth;
+
+/**
+ * Resultado da troca atômica de um refresh token por um novo.
+ */
+public enum RefreshTokenRotation {
+
+    /** Token consumido e substituído pelo novo, na mesma família. */
+    ROTATED,
+
+    /** Token já havia sido trocado antes: a família inteira foi revogada. */
+    REUSED,
+
+    /** Token desconhecido, expirado ou revogado. */
+    NOT_FOUND
+}
@@ -17,6 +17,22 @@ public sealed interface SecurityEvent {
             String reason
     ) implements SecurityEvent {}
 
+    /**
+     * Falha de login com um username que não existe. Não há usuário: {@code userId} é
+     * nulo e o evento carrega o username enviado, para contar a origem do ataque.
+     */
+    record UnknownUserLoginFailure(
+            Instant occurredAt,
+            String ipAddress,
+            String username
+    ) implements SecurityEvent {
+
+        @Override
+        public UserId userId() {
+            return null;
+        }
+    }
+
     record MfaFailure(
             UserId userId,
             Instant occurredAt,
@@ -32,6 +48,9 @@ public sealed interface SecurityEvent {
             long blockedForSeconds
     ) implements SecurityEvent {}
 
+    /**
+     * {@code userId} é nulo quando o alerta é sobre a origem (IP ou rede) e não sobre um usuário.
+     */
     record SuspiciousActivity(
             UserId userId,
             Instant occurredAt,
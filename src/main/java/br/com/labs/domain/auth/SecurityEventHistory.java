@@ -0,0 +1,35 @@
+package br.com.labs.domain.auth;
+
+import br.com.labs.domain.user.UserId;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Histórico auditado dos eventos de segurança, do mais recente para o mais antigo.
+ */
+public interface SecurityEventHistory {
+
+    /**
+     * Até {@code query.limit()} eventos que atendem aos filtros, começando logo depois
+     * de {@code query.after()} quando informado.
+     */
+    List<Entry> search(Query query);
+
+    /**
+     * Filtros nulos são ignorados. {@code from} é inclusivo e {@code to}, exclusivo.
+     */
+    record Query(UserId userId, String ipAddress, Instant from, Instant to, Cursor after, int limit) {}
+
+    /**
+     * Posição de um evento na ordenação (occurredAt, id), usada para paginar sem OFFSET.
+     */
+    record Cursor(Instant occurredAt, long id) {}
+
+    record Entry(long id, SecurityEvent event) {
+
+        public Cursor cursor() {
+            return new Cursor(event.occurredAt(), id);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package br.com.labs.domain.auth;
 
+/**
+ * @param refreshTokenId JTI do refresh token, para registrá-lo sem decodificar o token de novo
+ */
 public record TokenPair(
         String accessToken,
         String refreshToken,
+        String refreshTokenId,
         long accessTokenExpiresIn,
         long refreshTokenExpiresIn
 ) {
@@ -14,6 +18,9 @@ public record TokenPair(
         if (refreshToken == null || refreshToken.isBlank()) {
             throw new IllegalArgumentException("Refresh token cannot be null or blank");
         }
+        if (refreshTokenId == null || refreshTokenId.isBlank()) {
+            throw new IllegalArgumentException("Refresh token ID cannot be null or blank");
+        }
         if (accessTokenExpiresIn <= 0) {
             throw new IllegalArgumentException("Access token expiration must be positive");
         }
@@ -2,15 +2,44 @@ package br.com.labs.domain.auth;
 
 import br.com.labs.domain.user.UserId;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
 public interface TokenRepository {
 
     void saveRefreshToken(String tokenId, UserId userId);
 
-    boolean existsRefreshToken(String tokenId);
+    boolean existsRefreshToken(String tokenId, UserId userId);
+
+    void deleteRefreshToken(String tokenId, UserId userId);
+
+    /**
+     * Consome o refresh token atual e registra o novo em uma única operação.
+     * Reapresentar um token já trocado revoga toda a família de tokens.
+     */
+    RefreshTokenRotation rotateRefreshToken(String currentTokenId, String newTokenId, UserId userId);
 
-    void deleteRefreshToken(String tokenId);
+    /**
+     * Refresh tokens ainda válidos do usuário, em ordem de expiração.
+     */
+    List<RefreshSession> findSessions(UserId userId);
+
+    /**
+     * Revoga os refresh tokens informados que pertençam ao usuário; com a coleção
+     * vazia revoga todos. Retorna quantos foram revogados.
+     */
+    int revokeSessions(UserId userId, Collection<String> tokenIds);
 
     void addToBlacklist(String jti, long ttlSeconds);
 
     boolean isBlacklisted(String jti);
+
+    /**
+     * Invalida todos os tokens do usuário emitidos até {@code revokedAt}, sem
+     * precisar conhecer cada JTI.
+     */
+    void revokeAllForUser(UserId userId, Instant revokedAt);
+
+    boolean isRevokedForUser(UserId userId, Instant issuedAt);
 }
@@ -1,5 +1,12 @@
 package br.com.labs.domain.exception;
 
+/**
+ * Falhas de negócio esperadas (credencial errada, token inválido, código MFA errado).
+ *
+ * Por padrão não capturam stack trace: em ataques de credential stuffing elas são a
+ * maioria das respostas e o stack não ajuda a diagnosticar nada. Para depurar, use
+ * {@code -Ddomain.exceptions.capture-stack-trace=true}.
+ */
 public sealed class DomainException extends RuntimeException
         permits InvalidCredentialsException,
                 UserAlreadyExistsException,
@@ -7,12 +14,17 @@ public sealed class DomainException extends RuntimeException
                 MfaCodeExpiredException,
                 MfaCodeInvalidException,
                 MfaBlockedException,
-                InvalidTokenException {
+                InvalidTokenException,
+                ServiceOverloadedException,
+                RateLimitExceededException {
+
+    private static final boolean CAPTURE_STACK_TRACE =
+            Boolean.getBoolean("domain.exceptions.capture-stack-trace");
 
     private final String code;
 
     protected DomainException(String code, String message) {
-        super(message);
+        super(message, null, false, CAPTURE_STACK_TRACE);
         this.code = code;
     }
 
@@ -2,7 +2,9 @@ package br.com.labs.domain.exception;
 
 public final class InvalidCredentialsException extends DomainException {
 
+    public static final String CODE = "AUTH_001";
+
     public InvalidCredentialsException() {
-        super("AUTH_001", "Invalid username or password");
+        super(CODE, "Invalid username or password");
     }
 }
@@ -2,11 +2,13 @@ package br.com.labs.domain.exception;
 
 public final class InvalidTokenException extends DomainException {
 
+    public static final String CODE = "TOKEN_001";
+
     public InvalidTokenException(String reason) {
-        super("TOKEN_001", "Invalid token: %s".formatted(reason));
+        super(CODE, "Invalid token: " + reason);
     }
 
     public InvalidTokenException() {
-        super("TOKEN_001", "Invalid or expired token");
+        super(CODE, "Invalid or expired token");
     }
 }
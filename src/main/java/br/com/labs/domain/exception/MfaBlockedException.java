@@ -2,10 +2,12 @@ package br.com.labs.domain.exception;
 
 public final class MfaBlockedException extends DomainException {
 
+    public static final String CODE = "MFA_003";
+
     private final long blockedUntilSeconds;
 
     public MfaBlockedException(long blockedUntilSeconds) {
-        super("MFA_003", "Too many failed attempts. Try again in %d seconds".formatted(blockedUntilSeconds));
+        super(CODE, "Too many failed attempts. Try again in " + blockedUntilSeconds + " seconds");
         this.blockedUntilSeconds = blockedUntilSeconds;
     }
 
@@ -2,7 +2,9 @@ package br.com.labs.domain.exception;
 
 public final class MfaCodeExpiredException extends DomainException {
 
+    public static final String CODE = "MFA_001";
+
     public MfaCodeExpiredException() {
-        super("MFA_001", "MFA code has expired");
+        super(CODE, "MFA code has expired");
     }
 }
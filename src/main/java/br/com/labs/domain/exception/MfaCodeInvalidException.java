@@ -2,10 +2,12 @@ package br.com.labs.domain.exception;
 
 public final class MfaCodeInvalidException extends DomainException {
 
+    public static final String CODE = "MFA_002";
+
     private final int remainingAttempts;
 
     public MfaCodeInvalidException(int remainingAttempts) {
-        super("MFA_002", "Invalid MFA code. %d attempts remaining".formatted(remainingAttempts));
+        super(CODE, "Invalid MFA code. " + remainingAttempts + " attempts remaining");
         this.remainingAttempts = remainingAttempts;
     }
 
@@ -0,0 +1,17 @@
+package br.com.labs.domain.exception;
+
+public final class RateLimitExceededException extends DomainException {
+
+    public static final String CODE = "RATE_001";
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super(CODE, "Too many login attempts from this network. Try again in " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.labs.domain.exception;
+
+public final class ServiceOverloadedException extends DomainException {
+
+    public static final String CODE = "SERVICE_001";
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(long retryAfterSeconds) {
+        super(CODE, "Service is temporarily overloaded. Try again in " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -2,7 +2,9 @@ package br.com.labs.domain.exception;
 
 public final class UserAlreadyExistsException extends DomainException {
 
+    public static final String CODE = "USER_001";
+
     public UserAlreadyExistsException(String field) {
-        super("USER_001", "User with this %s already exists".formatted(field));
+        super(CODE, "User with this %s already exists".formatted(field));
     }
 }
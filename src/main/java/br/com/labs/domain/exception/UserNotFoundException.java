@@ -2,7 +2,9 @@ package br.com.labs.domain.exception;
 
 public final class UserNotFoundException extends DomainException {
 
+    public static final String CODE = "USER_002";
+
     public UserNotFoundException() {
-        super("USER_002", "User not found");
+        super(CODE, "User not found");
     }
 }
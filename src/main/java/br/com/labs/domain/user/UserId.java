@@ -1,23 +1,46 @@
 package br.com.labs.domain.user;
 
+import java.security.SecureRandom;
 import java.util.UUID;
 
 public record UserId(UUID value) {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     public UserId {
         if (value == null) {
             throw new IllegalArgumentException("UserId cannot be null");
         }
     }
 
+    /**
+     * UUIDv7 (RFC 9562): 48 bits de timestamp em milissegundos seguidos de 74 bits
+     * aleatórios. Ids gerados em sequência caem no fim do índice da chave primária
+     * em vez de espalhados pela árvore.
+     */
     public static UserId generate() {
-        return new UserId(UUID.randomUUID());
+        return new UserId(timeOrdered(System.currentTimeMillis()));
     }
 
     public static UserId from(String value) {
         return new UserId(UUID.fromString(value));
     }
 
+    static UUID timeOrdered(long epochMillis) {
+        byte[] random = new byte[10];
+        RANDOM.nextBytes(random);
+
+        long randA = ((random[0] & 0x0fL) << 8) | (random[1] & 0xffL);
+        long randB = 0;
+        for (int i = 2; i < 10; i++) {
+            randB = (randB << 8) | (random[i] & 0xffL);
+        }
+
+        long mostSigBits = (epochMillis << 16) | 0x7000L | randA;
+        long leastSigBits = (randB & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
     @Override
     public String toString() {
         return value.toString();
@@ -0,0 +1,7 @@
+package br.com.labs.domain.user;
+
+public enum UserImportOutcome {
+    IMPORTED,
+    USERNAME_TAKEN,
+    EMAIL_TAKEN
+}
@@ -0,0 +1,15 @@
+package br.com.labs.domain.user;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gravação em lote para importação de contas.
+ *
+ * Um lote é gravado de uma vez; usuários cujo username ou email já existam, no
+ * banco ou no próprio lote, são pulados sem abortar os demais.
+ */
+public interface UserImportRepository {
+
+    Map<UserId, UserImportOutcome> importBatch(List<User> users);
+}
@@ -4,6 +4,12 @@ import java.util.Optional;
 
 public interface UserRepository {
 
+    /**
+     * Grava o usuário num único comando.
+     *
+     * @throws br.com.labs.domain.exception.UserAlreadyExistsException se o username
+     *         ou o email já pertencer a outro usuário
+     */
     User save(User user);
 
     Optional<User> findById(UserId id);
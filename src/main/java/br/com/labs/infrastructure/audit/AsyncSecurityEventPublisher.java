@@ -0,0 +1,210 @@
+package br.com.labs.infrastructure.audit;
+
+import br.com.labs.domain.auth.SecurityEvent;
+import br.com.labs.domain.auth.SecurityEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publica eventos de segurança sem I/O no request: o evento entra num
+ * {@link SecurityEventRing} pré-alocado e uma thread consumidora entrega os lotes a
+ * cada {@link SecurityEventSink}.
+ *
+ * Com o buffer cheio vale {@code overflow-policy}: {@code DROP_OLDEST} descarta o
+ * evento mais antigo, {@code SAMPLE} passa a aceitar só um a cada {@code sample-rate}
+ * falhas de login/MFA a partir de 3/4 da capacidade, e {@code BLOCK} espera vaga até
+ * {@code block-timeout}. Bloqueios e atividades suspeitas nunca são amostrados.
+ * Desativado com {@code security.events.async=false}.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "security.events.async", havingValue = "true", matchIfMissing = true)
+public class AsyncSecurityEventPublisher implements SecurityEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncSecurityEventPublisher.class);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final int DROP_OLDEST_RETRIES = 3;
+
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        SAMPLE,
+        BLOCK
+    }
+
+    private final SecurityEventRing ring;
+    private final List<SecurityEventSink> sinks;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final int sampleRate;
+    private final long sampleThreshold;
+    private final long blockTimeoutNanos;
+    private final long idleParkNanos;
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    private final Counter publishedCounter;
+    private final Counter overflowCounter;
+    private final Counter sampledCounter;
+    private final Counter timeoutCounter;
+    private final Counter sinkFailureCounter;
+
+    private volatile boolean running;
+    private Thread consumer;
+
+    public AsyncSecurityEventPublisher(
+            List<SecurityEventSink> sinks,
+            MeterRegistry meterRegistry,
+            @Value("${security.events.buffer-size:8192}") int bufferSize,
+            @Value("${security.events.batch-size:256}") int batchSize,
+            @Value("${security.events.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+            @Value("${security.events.sample-rate:10}") int sampleRate,
+            @Value("${security.events.block-timeout:100ms}") Duration blockTimeout,
+            @Value("${security.events.idle-wait:5ms}") Duration idleWait
+    ) {
+        this.ring = new SecurityEventRing(bufferSize);
+        this.sinks = List.copyOf(sinks);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.sampleThreshold = bufferSize - bufferSize / 4;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.idleParkNanos = idleWait.toNanos();
+
+        Gauge.builder("security.events.lag", ring, SecurityEventRing::size)
+                .description("Security events waiting in the buffer for the sinks")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("security.events.published")
+                .description("Security events accepted into the buffer")
+                .register(meterRegistry);
+        this.overflowCounter = droppedCounter(meterRegistry, "overflow");
+        this.sampledCounter = droppedCounter(meterRegistry, "sampled");
+        this.timeoutCounter = droppedCounter(meterRegistry, "timeout");
+        this.sinkFailureCounter = Counter.builder("security.events.sink.failures")
+                .description("Batches a sink failed to accept")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(SecurityEvent event) {
+        if (overflowPolicy == OverflowPolicy.SAMPLE && shouldSampleOut(event)) {
+            sampledCounter.increment();
+            return;
+        }
+        if (ring.offer(event)) {
+            publishedCounter.increment();
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> replaceOldest(event);
+            case BLOCK -> awaitSpace(event);
+            case SAMPLE -> overflowCounter.increment();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        running = true;
+        consumer = Thread.ofVirtual().name("security-events").start(this::drain);
+        log.info("Async security event publisher started with {} sinks, buffer {} ({})",
+                sinks.size(), ring.capacity(), overflowPolicy);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            consumer.join(Duration.ofSeconds(5));
+        }
+    }
+
+    private boolean shouldSampleOut(SecurityEvent event) {
+        if (event instanceof SecurityEvent.AccountBlocked || event instanceof SecurityEvent.SuspiciousActivity) {
+            return false;
+        }
+        return ring.size() >= sampleThreshold && sampleSequence.getAndIncrement() % sampleRate != 0;
+    }
+
+    private void replaceOldest(SecurityEvent event) {
+        for (int i = 0; i < DROP_OLDEST_RETRIES; i++) {
+            if (ring.poll() != null) {
+                overflowCounter.increment();
+            }
+            if (ring.offer(event)) {
+                publishedCounter.increment();
+                return;
+            }
+        }
+        overflowCounter.increment();
+    }
+
+    private void awaitSpace(SecurityEvent event) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (ring.offer(event)) {
+                publishedCounter.increment();
+                return;
+            }
+        }
+        timeoutCounter.increment();
+    }
+
+    /**
+     * Drena até {@code batch-size} eventos por vez. Com o buffer vazio, dorme
+     * {@code idle-wait}; ao parar, entrega o que restou antes de sair.
+     */
+    private void drain() {
+        var batch = new ArrayList<SecurityEvent>(batchSize);
+        var view = Collections.unmodifiableList(batch);
+        while (true) {
+            boolean stopping = !running;
+            if (ring.drainTo(batch, batchSize) > 0) {
+                deliver(view);
+                batch.clear();
+                continue;
+            }
+            if (stopping) {
+                return;
+            }
+            LockSupport.parkNanos(idleParkNanos);
+        }
+    }
+
+    private void deliver(List<SecurityEvent> events) {
+        for (SecurityEventSink sink : sinks) {
+            try {
+                sink.accept(events);
+            } catch (RuntimeException e) {
+                sinkFailureCounter.increment();
+                log.warn("Security event sink {} failed for {} events: {}",
+                        sink.getClass().getSimpleName(), events.size(), e.getMessage());
+            }
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("security.events.dropped")
+                .tag("reason", reason)
+                .description("Security events dropped before reaching the sinks")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.labs.infrastructure.audit;
+
+import br.com.labs.domain.auth.SecurityEvent;
+import br.com.labs.domain.auth.SecurityEvent.SeverityLevel;
+import br.com.labs.domain.auth.SecurityEventHistory;
+import br.com.labs.domain.user.UserId;
+import br.com.labs.infrastructure.persistence.jdbc.CopyText;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Auditoria em {@code security_events}, particionada por dia.
+ *
+ * Como sink, grava cada lote do {@link AsyncSecurityEventPublisher} num único
+ * {@code COPY}, fora do request. Como {@link SecurityEventHistory}, pagina por keyset
+ * em (occurred_at, id), apoiado nos índices por usuário e por IP.
+ */
+@Repository
+public class PostgresSecurityEventStore implements SecurityEventSink, SecurityEventHistory {
+
+    private static final String COPY_EVENTS = """
+            COPY security_events (occurred_at, event_type, user_id, ip_address, detail, severity,
+                                  attempt_number, blocked_for_seconds) FROM STDIN
+            """;
+
+    private static final String SELECT_EVENTS = """
+            SELECT id, occurred_at, event_type, user_id, ip_address, detail, severity,
+                   attempt_number, blocked_for_seconds
+              FROM security_events
+            """;
+
+    private static final String LOGIN_FAILURE = "LOGIN_FAILURE";
+    private static final String UNKNOWN_USER_LOGIN_FAILURE = "UNKNOWN_USER_LOGIN_FAILURE";
+    private static final String MFA_FAILURE = "MFA_FAILURE";
+    private static final String ACCOUNT_BLOCKED = "ACCOUNT_BLOCKED";
+    private static final String SUSPICIOUS_ACTIVITY = "SUSPICIOUS_ACTIVITY";
+
+    private static final RowMapper<Entry> ENTRY_MAPPER = (rs, rowNum) -> {
+        UUID userUuid = rs.getObject("user_id", UUID.class);
+        var userId = userUuid != null ? new UserId(userUuid) : null;
+        Instant occurredAt = rs.getObject("occurred_at", OffsetDateTime.class).toInstant();
+        String ipAddress = rs.getString("ip_address");
+        String detail = rs.getString("detail");
+
+        SecurityEvent event = switch (rs.getString("event_type")) {
+            case LOGIN_FAILURE -> new SecurityEvent.LoginFailure(userId, occurredAt, ipAddress, detail);
+            case UNKNOWN_USER_LOGIN_FAILURE -> new SecurityEvent.UnknownUserLoginFailure(occurredAt, ipAddress, detail);
+            case MFA_FAILURE -> new SecurityEvent.MfaFailure(
+                    userId, occurredAt, ipAddress, rs.getInt("attempt_number"));
+            case ACCOUNT_BLOCKED -> new SecurityEvent.AccountBlocked(
+                    userId, occurredAt, ipAddress, detail, rs.getLong("blocked_for_seconds"));
+            case SUSPICIOUS_ACTIVITY -> new SecurityEvent.SuspiciousActivity(
+                    userId, occurredAt, ipAddress, detail, SeverityLevel.valueOf(rs.getString("severity")));
+            default -> throw new IllegalStateException("Unknown security event type: " + rs.getString("event_type"));
+        };
+        return new Entry(rs.getLong("id"), event);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcClient jdbcClient;
+
+    public PostgresSecurityEventStore(DataSource dataSource, JdbcClient jdbcClient) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public void accept(List<SecurityEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        String rows = copyRows(events);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(COPY_EVENTS, new StringReader(rows));
+            } catch (IOException e) {
+                throw new SQLException("COPY into security_events failed", e);
+            }
+        });
+    }
+
+    @Override
+    public List<Entry> search(Query query) {
+        var sql = new StringBuilder(SELECT_EVENTS).append(" WHERE TRUE");
+        Map<String, Object> params = new HashMap<>();
+        if (query.userId() != null) {
+            sql.append(" AND user_id = :userId");
+            params.put("userId", query.userId().value());
+        }
+        if (query.ipAddress() != null) {
+            sql.append(" AND ip_address = :ipAddress");
+            params.put("ipAddress", query.ipAddress());
+        }
+        if (query.from() != null) {
+            sql.append(" AND occurred_at >= :from");
+            params.put("from", toTimestamp(query.from()));
+        }
+        if (query.to() != null) {
+            sql.append(" AND occurred_at < :to");
+            params.put("to", toTimestamp(query.to()));
+        }
+        if (query.after() != null) {
+            sql.append(" AND (occurred_at, id) < (:afterOccurredAt, :afterId)");
+            params.put("afterOccurredAt", toTimestamp(query.after().occurredAt()));
+            params.put("afterId", query.after().id());
+        }
+        sql.append(" ORDER BY occurred_at DESC, id DESC LIMIT :limit");
+        params.put("limit", query.limit());
+
+        return jdbcClient.sql(sql.toString())
+                .params(params)
+                .query(ENTRY_MAPPER)
+                .list();
+    }
+
+    /**
+     * Linhas no formato texto do COPY, com colunas separadas por tab.
+     */
+    private static String copyRows(List<SecurityEvent> events) {
+        var rows = new StringBuilder(events.size() * 128);
+        for (SecurityEvent event : events) {
+            rows.append(event.occurredAt()).append('\t');
+            switch (event) {
+                case SecurityEvent.LoginFailure e -> columns(rows, LOGIN_FAILURE, e, e.reason(), null, null, null);
+                case SecurityEvent.UnknownUserLoginFailure e ->
+                        columns(rows, UNKNOWN_USER_LOGIN_FAILURE, e, e.username(), null, null, null);
+                case SecurityEvent.MfaFailure e -> columns(rows, MFA_FAILURE, e, null, null, e.attemptNumber(), null);
+                case SecurityEvent.AccountBlocked e ->
+                        columns(rows, ACCOUNT_BLOCKED, e, e.reason(), null, null, e.blockedForSeconds());
+                case SecurityEvent.SuspiciousActivity e ->
+                        columns(rows, SUSPICIOUS_ACTIVITY, e, e.description(), e.severity().name(), null, null);
+            }
+        }
+        return rows.toString();
+    }
+
+    private static void columns(
+            StringBuilder rows,
+            String type,
+            SecurityEvent event,
+            String detail,
+            String severity,
+            Integer attemptNumber,
+            Long blockedForSeconds
+    ) {
+        rows.append(type).append('\t');
+        CopyText.appendField(rows, event.userId() != null ? event.userId().toString() : null).append('\t');
+        CopyText.appendField(rows, Objects.requireNonNullElse(event.ipAddress(), "unknown")).append('\t');
+        CopyText.appendField(rows, detail).append('\t');
+        CopyText.appendField(rows, severity).append('\t');
+        CopyText.appendField(rows, attemptNumber != null ? attemptNumber.toString() : null).append('\t');
+        CopyText.appendField(rows, blockedForSeconds != null ? blockedForSeconds.toString() : null).append('\n');
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
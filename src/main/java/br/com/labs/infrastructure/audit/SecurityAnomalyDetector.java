@@ -0,0 +1,174 @@
+package br.com.labs.infrastructure.audit;
+
+import br.com.labs.application.service.NetworkPrefix;
+import br.com.labs.application.service.SecurityMonitoringService;
+import br.com.labs.domain.auth.SecurityEvent;
+import br.com.labs.domain.auth.SecurityEvent.SeverityLevel;
+import br.com.labs.infrastructure.bloom.SlidingCountMinSketch;
+import br.com.labs.infrastructure.bloom.SlidingHyperLogLog;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Detector de ataques distribuídos alimentado pelo fluxo de eventos de segurança.
+ *
+ * Sobre uma janela deslizante de {@code window}, conta falhas de login e MFA por IP,
+ * por usuário e por rede (/24 ou /64, aproximando o ASN) em Count-Min sketches. IPs e
+ * usuários que passam de {@code tracking-threshold} falhas ganham um HyperLogLog
+ * próprio, num cache limitado a {@code tracked-keys}, para estimar quantos usuários
+ * distintos cada IP atacou e de quantos IPs distintos cada usuário foi atacado. A
+ * memória não cresce com o volume do ataque. Falhas com usernames inexistentes contam
+ * para o IP, a rede e os usuários distintos por IP, mas não têm contagem por usuário.
+ *
+ * Cada alerta vira um {@code SuspiciousActivity} pelo {@link SecurityMonitoringService}
+ * e é emitido uma vez por janela para cada chave e severidade. Alertas de IP e de rede
+ * saem sem usuário: o da falha que cruzou o limite é só mais uma vítima. Roda só na thread
+ * consumidora do {@link AsyncSecurityEventPublisher}.
+ */
+@Component
+@ConditionalOnProperty(name = "security.anomaly.enabled", havingValue = "true", matchIfMissing = true)
+public class SecurityAnomalyDetector implements SecurityEventSink {
+
+    private static final int HLL_PRECISION = 6;
+    private static final int CRITICAL_MULTIPLIER = 5;
+    private static final String UNKNOWN = "unknown";
+    private static final String UNKNOWN_USERNAME = "username:";
+
+    private final ObjectProvider<SecurityMonitoringService> securityMonitoringService;
+    private final Duration window;
+    private final int slices;
+    private final int trackingThreshold;
+    private final int ipFailureThreshold;
+    private final int networkFailureThreshold;
+    private final int usersPerIpThreshold;
+    private final int ipsPerUserThreshold;
+
+    private final SlidingCountMinSketch failuresByIp;
+    private final SlidingCountMinSketch failuresByUser;
+    private final SlidingCountMinSketch failuresByNetwork;
+    private final Cache<String, SlidingHyperLogLog> usersByIp;
+    private final Cache<String, SlidingHyperLogLog> ipsByUser;
+    private final Cache<String, Boolean> raised;
+
+    public SecurityAnomalyDetector(
+            ObjectProvider<SecurityMonitoringService> securityMonitoringService,
+            @Value("${security.anomaly.window:10m}") Duration window,
+            @Value("${security.anomaly.slices:10}") int slices,
+            @Value("${security.anomaly.sketch-width:4096}") int sketchWidth,
+            @Value("${security.anomaly.sketch-depth:4}") int sketchDepth,
+            @Value("${security.anomaly.tracked-keys:2048}") int trackedKeys,
+            @Value("${security.anomaly.tracking-threshold:5}") int trackingThreshold,
+            @Value("${security.anomaly.ip-failure-threshold:100}") int ipFailureThreshold,
+            @Value("${security.anomaly.network-failure-threshold:500}") int networkFailureThreshold,
+            @Value("${security.anomaly.users-per-ip-threshold:20}") int usersPerIpThreshold,
+            @Value("${security.anomaly.ips-per-user-threshold:10}") int ipsPerUserThreshold
+    ) {
+        this.securityMonitoringService = securityMonitoringService;
+        this.window = window;
+        this.slices = slices;
+        this.trackingThreshold = trackingThreshold;
+        this.ipFailureThreshold = ipFailureThreshold;
+        this.networkFailureThreshold = networkFailureThreshold;
+        this.usersPerIpThreshold = usersPerIpThreshold;
+        this.ipsPerUserThreshold = ipsPerUserThreshold;
+
+        this.failuresByIp = new SlidingCountMinSketch(window, slices, sketchWidth, sketchDepth);
+        this.failuresByUser = new SlidingCountMinSketch(window, slices, sketchWidth, sketchDepth);
+        this.failuresByNetwork = new SlidingCountMinSketch(window, slices, sketchWidth, sketchDepth);
+        this.usersByIp = Caffeine.newBuilder().maximumSize(trackedKeys).expireAfterAccess(window).build();
+        this.ipsByUser = Caffeine.newBuilder().maximumSize(trackedKeys).expireAfterAccess(window).build();
+        this.raised = Caffeine.newBuilder().maximumSize(trackedKeys * 4L).expireAfterWrite(window).build();
+    }
+
+    @Override
+    public void accept(List<SecurityEvent> events) {
+        for (SecurityEvent event : events) {
+            switch (event) {
+                case SecurityEvent.LoginFailure e -> recordFailure(e, e.userId().toString());
+                case SecurityEvent.MfaFailure e -> recordFailure(e, e.userId().toString());
+                case SecurityEvent.UnknownUserLoginFailure e -> recordFailure(e, UNKNOWN_USERNAME + e.username());
+                default -> { }
+            }
+        }
+    }
+
+    /**
+     * {@code user} identifica o alvo: o id do usuário ou, para usernames inexistentes,
+     * o username enviado com um prefixo que não colide com ids.
+     */
+    private void recordFailure(SecurityEvent event, String user) {
+        String ip = event.ipAddress();
+        if (ip == null || ip.isBlank() || ip.equals(UNKNOWN)) {
+            return;
+        }
+        long at = event.occurredAt().toEpochMilli();
+
+        int ipFailures = failuresByIp.add(ip, at);
+        if (ipFailures >= ipFailureThreshold) {
+            raiseForSource(ip, "ip:" + ip, SeverityLevel.HIGH,
+                    "High login failure rate from IP: ~" + ipFailures + " failures in " + window);
+        }
+
+        String network = NetworkPrefix.of(ip);
+        if (!network.equals(UNKNOWN)) {
+            int networkFailures = failuresByNetwork.add(network, at);
+            if (networkFailures >= networkFailureThreshold) {
+                raiseForSource(ip, "net:" + network, SeverityLevel.MEDIUM,
+                        "High login failure rate from network " + network + ": ~" + networkFailures
+                                + " failures in " + window);
+            }
+        }
+
+        if (ipFailures >= trackingThreshold) {
+            long users = distinct(usersByIp, ip, user, at);
+            if (users >= usersPerIpThreshold) {
+                raiseForSource(ip, "ip-users:" + ip, severity(users, usersPerIpThreshold),
+                        "Credential stuffing suspected: IP failed against ~" + users + " users in " + window);
+            }
+        }
+
+        if (event.userId() == null) {
+            return;
+        }
+        int userFailures = failuresByUser.add(user, at);
+        if (userFailures >= trackingThreshold) {
+            long ips = distinct(ipsByUser, user, ip, at);
+            if (ips >= ipsPerUserThreshold) {
+                raise(event, "user-ips:" + user, severity(ips, ipsPerUserThreshold),
+                        "Distributed attack suspected: ~" + ips + " IPs failed against this user in " + window);
+            }
+        }
+    }
+
+    private long distinct(Cache<String, SlidingHyperLogLog> sketches, String key, String member, long at) {
+        return sketches.get(key, k -> new SlidingHyperLogLog(window, slices, HLL_PRECISION)).add(member, at);
+    }
+
+    private static SeverityLevel severity(long value, int threshold) {
+        return value >= (long) threshold * CRITICAL_MULTIPLIER ? SeverityLevel.CRITICAL : SeverityLevel.HIGH;
+    }
+
+    private void raise(SecurityEvent event, String key, SeverityLevel severity, String description) {
+        if (firstInWindow(key, severity)) {
+            securityMonitoringService.getObject()
+                    .reportSuspiciousActivity(event.userId(), event.ipAddress(), description, severity);
+        }
+    }
+
+    private void raiseForSource(String ip, String key, SeverityLevel severity, String description) {
+        if (firstInWindow(key, severity)) {
+            securityMonitoringService.getObject().reportSuspiciousSource(ip, description, severity);
+        }
+    }
+
+    private boolean firstInWindow(String key, SeverityLevel severity) {
+        return raised.asMap().putIfAbsent(key + "|" + severity, Boolean.TRUE) == null;
+    }
+}
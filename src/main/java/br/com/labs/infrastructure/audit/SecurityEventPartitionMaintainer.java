@@ -0,0 +1,127 @@
+package br.com.labs.infrastructure.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Mantém as partições diárias de {@code security_events}: cria as dos próximos
+ * {@code days-ahead} dias e remove as que saíram de {@code retention}.
+ *
+ * Roda na subida e a cada {@code check-interval}, numa thread separada. Um advisory
+ * lock da transação evita que dois nós criem ou removam a mesma partição ao mesmo tempo.
+ */
+@Component
+public class SecurityEventPartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(SecurityEventPartitionMaintainer.class);
+    private static final String PARTITION_PREFIX = "security_events_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtext('security_events_partitions'))";
+
+    private static final String LIST_PARTITIONS = """
+            SELECT c.relname
+              FROM pg_inherits i
+              JOIN pg_class c ON c.oid = i.inhrelid
+              JOIN pg_class p ON p.oid = i.inhparent
+             WHERE p.relname = 'security_events'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int daysAhead;
+    private final Duration retention;
+    private final Duration checkInterval;
+
+    public SecurityEventPartitionMaintainer(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${security.audit.partitions.days-ahead:3}") int daysAhead,
+            @Value("${security.audit.retention:90d}") Duration retention,
+            @Value("${security.audit.partitions.check-interval:1h}") Duration checkInterval
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.daysAhead = daysAhead;
+        this.retention = retention;
+        this.checkInterval = checkInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        Thread.ofVirtual().name("security-event-partitions").start(this::maintainPeriodically);
+    }
+
+    private void maintainPeriodically() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                maintain(LocalDate.now(ZoneOffset.UTC));
+            } catch (RuntimeException e) {
+                // Qualquer falha (ex.: sem conexão para abrir a transação) só adia para a próxima volta
+                log.warn("Could not maintain security_events partitions: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(checkInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    void maintain(LocalDate today) {
+        LocalDate oldestKept = today.minusDays(retention.toDays());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query(LOCK, rs -> {});
+
+            for (int i = 0; i <= daysAhead; i++) {
+                LocalDate day = today.plusDays(i);
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day)
+                        + " PARTITION OF security_events FOR VALUES FROM ('" + startOf(day)
+                        + "') TO ('" + startOf(day.plusDays(1)) + "')");
+            }
+
+            List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS, String.class);
+            for (String partition : partitions) {
+                LocalDate day = dayOf(partition);
+                if (day != null && day.isBefore(oldestKept)) {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                    log.info("Dropped security event partition {}", partition);
+                }
+            }
+        });
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + SUFFIX.format(day);
+    }
+
+    private static String startOf(LocalDate day) {
+        return day.atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+    }
+
+    private static LocalDate dayOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
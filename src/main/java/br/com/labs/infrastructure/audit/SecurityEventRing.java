@@ -0,0 +1,98 @@
+package br.com.labs.infrastructure.audit;
+
+import br.com.labs.domain.auth.SecurityEvent;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada, sem locks, para vários produtores e consumidores.
+ *
+ * Cada slot tem um número de sequência que diz se ele está livre para a volta atual
+ * do produtor ou pronto para o consumidor; as posições são reservadas por CAS. Os
+ * arrays são alocados uma vez, na criação.
+ */
+final class SecurityEventRing {
+
+    private final int mask;
+    private final AtomicReferenceArray<SecurityEvent> events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    SecurityEventRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two, got " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.events = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(SecurityEvent event) {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long distance = sequences.get(index) - position;
+            if (distance == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    events.set(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = head.get();
+            } else if (distance < 0) {
+                return false;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    SecurityEvent poll() {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long distance = sequences.get(index) - (position + 1);
+            if (distance == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    SecurityEvent event = events.get(index);
+                    events.set(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return event;
+                }
+                position = tail.get();
+            } else if (distance < 0) {
+                return null;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    int drainTo(List<SecurityEvent> target, int maxEvents) {
+        int drained = 0;
+        while (drained < maxEvents) {
+            SecurityEvent event = poll();
+            if (event == null) {
+                break;
+            }
+            target.add(event);
+            drained++;
+        }
+        return drained;
+    }
+
+    long size() {
+        return Math.max(0, head.get() - tail.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
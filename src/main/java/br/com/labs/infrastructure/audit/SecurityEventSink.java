@@ -0,0 +1,16 @@
+package br.com.labs.infrastructure.audit;
+
+import br.com.labs.domain.auth.SecurityEvent;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos drenados pelo {@link AsyncSecurityEventPublisher}.
+ *
+ * Roda sempre na thread consumidora, nunca no request. A lista é reaproveitada entre
+ * lotes e só vale durante a chamada; quem precisar guardar os eventos deve copiá-los.
+ */
+public interface SecurityEventSink {
+
+    void accept(List<SecurityEvent> events);
+}
@@ -0,0 +1,47 @@
+package br.com.labs.infrastructure.bloom;
+
+/**
+ * Hash e dimensionamento compartilhados pelos Bloom filters.
+ *
+ * Um único hash de 64 bits é dividido em duas metades e as k posições saem de
+ * {@code h1 + i * h2} (Kirsch–Mitzenmacher).
+ */
+final class BloomHashing {
+
+    private BloomHashing() {
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido do finalizador do MurmurHash3.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    static int index(int h1, int h2, int i, int bitCount) {
+        int combined = h1 + i * h2;
+        if (combined < 0) {
+            combined = ~combined;
+        }
+        return combined % bitCount;
+    }
+
+    static int optimalBitCount(long expectedInsertions, double falsePositiveRate) {
+        double bits = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        return (int) Math.min(Integer.MAX_VALUE - 64, Math.max(64, Math.ceil(bits)));
+    }
+
+    static int optimalHashCount(long expectedInsertions, int bitCount) {
+        return Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+}
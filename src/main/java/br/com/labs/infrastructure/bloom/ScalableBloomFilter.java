@@ -0,0 +1,126 @@
+package br.com.labs.infrastructure.bloom;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter que cresce em estágios conforme recebe inserções (Almeida et al.).
+ *
+ * Quando o estágio atual atinge a capacidade, um novo estágio com o dobro da
+ * capacidade e metade da taxa de falso positivo passa a receber as inserções. A
+ * consulta olha todos os estágios, e a taxa total fica limitada a
+ * {@code falsePositiveRate} não importa quantos elementos entrem. Nunca dá falso
+ * negativo.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private volatile Stage[] stages;
+
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+
+        // p0 + p0·r + p0·r² + ... = p0 / (1 - r)
+        this.stages = new Stage[] {
+                new Stage(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO))
+        };
+    }
+
+    public void put(String value) {
+        long hash = BloomHashing.hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        writableStage().set(h1, h2);
+    }
+
+    public boolean mightContain(String value) {
+        long hash = BloomHashing.hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        Stage[] current = stages;
+        for (int i = current.length - 1; i >= 0; i--) {
+            if (current[i].containsAll(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int stageCount() {
+        return stages.length;
+    }
+
+    private Stage writableStage() {
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (last.insertions.incrementAndGet() <= last.capacity) {
+            return last;
+        }
+
+        synchronized (this) {
+            current = stages;
+            Stage newest = current[current.length - 1];
+            if (newest == last) {
+                long capacity = Math.min((long) last.capacity * GROWTH_FACTOR, Integer.MAX_VALUE);
+                newest = new Stage((int) capacity, last.falsePositiveRate * TIGHTENING_RATIO);
+                Stage[] grown = Arrays.copyOf(current, current.length + 1);
+                grown[current.length] = newest;
+                stages = grown;
+            }
+            newest.insertions.incrementAndGet();
+            return newest;
+        }
+    }
+
+    private static final class Stage {
+
+        private final int capacity;
+        private final double falsePositiveRate;
+        private final int bitCount;
+        private final int hashCount;
+        private final AtomicLongArray words;
+        private final AtomicLong insertions = new AtomicLong();
+
+        private Stage(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            this.bitCount = BloomHashing.optimalBitCount(capacity, falsePositiveRate);
+            this.hashCount = BloomHashing.optimalHashCount(capacity, bitCount);
+            this.words = new AtomicLongArray((bitCount + 63) >>> 6);
+        }
+
+        private void set(int h1, int h2) {
+            for (int i = 1; i <= hashCount; i++) {
+                int bit = BloomHashing.index(h1, h2, i, bitCount);
+                int word = bit >>> 6;
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        private boolean containsAll(int h1, int h2) {
+            for (int i = 1; i <= hashCount; i++) {
+                int bit = BloomHashing.index(h1, h2, i, bitCount);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
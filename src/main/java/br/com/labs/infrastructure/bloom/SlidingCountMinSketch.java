@@ -0,0 +1,100 @@
+package br.com.labs.infrastructure.bloom;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Count-Min sketch sobre uma janela deslizante, dividida em fatias de tempo.
+ *
+ * Cada incremento vai para a fatia do instante informado; a estimativa soma, linha a
+ * linha, as fatias ainda vivas e fica com a menor soma. Nunca subestima; superestima
+ * no máximo ~{@code e/width} do total da janela com probabilidade {@code 1 - e^-depth}.
+ * A memória é fixa ({@code slices × depth × width} contadores). Não é thread-safe.
+ */
+public class SlidingCountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long sliceMillis;
+    private final int[][] counters;
+    private final long[] epochs;
+    private long latestEpoch = Long.MIN_VALUE;
+
+    public SlidingCountMinSketch(Duration window, int slices, int width, int depth) {
+        if (slices < 2) {
+            throw new IllegalArgumentException("At least two slices are required");
+        }
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Width and depth must be positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.sliceMillis = Math.max(1, window.toMillis() / slices);
+        this.counters = new int[slices][width * depth];
+        this.epochs = new long[slices];
+        Arrays.fill(epochs, Long.MIN_VALUE);
+    }
+
+    /**
+     * Conta uma ocorrência de {@code key} em {@code timestampMillis} e devolve a
+     * estimativa da janela já com ela. Ocorrências mais antigas que a janela só são
+     * estimadas, não contadas.
+     */
+    public int add(String key, long timestampMillis) {
+        long epoch = Math.floorDiv(timestampMillis, sliceMillis);
+        latestEpoch = Math.max(latestEpoch, epoch);
+        long hash = BloomHashing.hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        int slot = slotFor(epoch);
+        if (slot >= 0) {
+            int[] slice = counters[slot];
+            for (int row = 0; row < depth; row++) {
+                slice[row * width + column(h1, h2, row)]++;
+            }
+        }
+        return estimate(h1, h2);
+    }
+
+    public int estimate(String key) {
+        long hash = BloomHashing.hash(key);
+        return estimate((int) hash, (int) (hash >>> 32));
+    }
+
+    private int estimate(int h1, int h2) {
+        long oldestLiveEpoch = latestEpoch - epochs.length + 1;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + column(h1, h2, row);
+            long sum = 0;
+            for (int s = 0; s < epochs.length; s++) {
+                if (epochs[s] >= oldestLiveEpoch && epochs[s] <= latestEpoch) {
+                    sum += counters[s][index];
+                }
+            }
+            min = Math.min(min, sum);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, min);
+    }
+
+    /**
+     * Fatia da época, zerada se ainda guardava uma época anterior; -1 se a época já
+     * saiu da janela.
+     */
+    private int slotFor(long epoch) {
+        if (epoch <= latestEpoch - epochs.length) {
+            return -1;
+        }
+        int slot = (int) Math.floorMod(epoch, (long) epochs.length);
+        if (epochs[slot] < epoch) {
+            Arrays.fill(counters[slot], 0);
+            epochs[slot] = epoch;
+        }
+        return slot;
+    }
+
+    private int column(int h1, int h2, int row) {
+        return BloomHashing.index(h1, h2, row + 1, width);
+    }
+}
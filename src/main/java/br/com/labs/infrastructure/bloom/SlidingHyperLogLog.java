@@ -0,0 +1,90 @@
+package br.com.labs.infrastructure.bloom;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sobre uma janela deslizante: um conjunto de registradores por fatia de
+ * tempo, unidos (máximo por registrador) na hora de estimar.
+ *
+ * Com {@code precision} p são 2^p registradores de um byte por fatia e erro padrão de
+ * ~{@code 1.04 / sqrt(2^p)}. Não é thread-safe.
+ */
+public class SlidingHyperLogLog {
+
+    private final int precision;
+    private final int registerCount;
+    private final long sliceMillis;
+    private final byte[][] registers;
+    private final long[] epochs;
+    private long latestEpoch = Long.MIN_VALUE;
+
+    public SlidingHyperLogLog(Duration window, int slices, int precision) {
+        if (slices < 2) {
+            throw new IllegalArgumentException("At least two slices are required");
+        }
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("Precision must be between 4 and 16");
+        }
+        this.precision = precision;
+        this.registerCount = 1 << precision;
+        this.sliceMillis = Math.max(1, window.toMillis() / slices);
+        this.registers = new byte[slices][registerCount];
+        this.epochs = new long[slices];
+        Arrays.fill(epochs, Long.MIN_VALUE);
+    }
+
+    /**
+     * Registra {@code member} em {@code timestampMillis} e devolve a estimativa de
+     * distintos na janela.
+     */
+    public long add(String member, long timestampMillis) {
+        long epoch = Math.floorDiv(timestampMillis, sliceMillis);
+        latestEpoch = Math.max(latestEpoch, epoch);
+
+        if (epoch > latestEpoch - epochs.length) {
+            int slot = (int) Math.floorMod(epoch, (long) epochs.length);
+            if (epochs[slot] < epoch) {
+                Arrays.fill(registers[slot], (byte) 0);
+                epochs[slot] = epoch;
+            }
+            long hash = BloomHashing.hash(member);
+            int register = (int) (hash >>> (64 - precision));
+            byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+            if (registers[slot][register] < rank) {
+                registers[slot][register] = rank;
+            }
+        }
+        return estimate();
+    }
+
+    public long estimate() {
+        long oldestLiveEpoch = latestEpoch - epochs.length + 1;
+        double sum = 0;
+        int zeros = 0;
+        for (int r = 0; r < registerCount; r++) {
+            int max = 0;
+            for (int s = 0; s < epochs.length; s++) {
+                if (epochs[s] >= oldestLiveEpoch && epochs[s] <= latestEpoch) {
+                    max = Math.max(max, registers[s][r]);
+                }
+            }
+            sum += 1.0 / (1L << max);
+            if (max == 0) {
+                zeros++;
+            }
+        }
+
+        double alpha = switch (registerCount) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / registerCount);
+        };
+        double raw = alpha * registerCount * registerCount / sum;
+        if (raw <= 2.5 * registerCount && zeros > 0) {
+            return Math.round(registerCount * Math.log((double) registerCount / zeros));
+        }
+        return Math.round(raw);
+    }
+}
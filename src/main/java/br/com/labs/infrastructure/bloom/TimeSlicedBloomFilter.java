@@ -0,0 +1,146 @@
+package br.com.labs.infrastructure.bloom;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter dividido em fatias de tempo que expiram em rodízio.
+ *
+ * Cada inserção vai para a fatia do período atual; a consulta olha todas as fatias
+ * ainda vivas. Uma entrada permanece visível por pelo menos {@code retention}, e a
+ * fatia mais antiga é zerada quando o período dela volta a ser usado. Pode dar falso
+ * positivo, nunca falso negativo dentro da retenção.
+ */
+public class TimeSlicedBloomFilter {
+
+    private final Slice[] slices;
+    private final long sliceDurationMillis;
+    private final int bitCount;
+    private final int hashCount;
+    private final Clock clock;
+
+    public TimeSlicedBloomFilter(
+            Duration retention,
+            int slices,
+            int expectedInsertionsPerSlice,
+            double falsePositiveRate,
+            Clock clock
+    ) {
+        if (slices < 2) {
+            throw new IllegalArgumentException("At least two slices are required");
+        }
+        if (expectedInsertionsPerSlice <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+
+        this.sliceDurationMillis = Math.max(1, ceilDiv(retention.toMillis(), slices - 1));
+        this.bitCount = BloomHashing.optimalBitCount(expectedInsertionsPerSlice, falsePositiveRate);
+        this.hashCount = BloomHashing.optimalHashCount(expectedInsertionsPerSlice, bitCount);
+        this.clock = clock;
+        this.slices = new Slice[slices];
+        for (int i = 0; i < slices; i++) {
+            this.slices[i] = new Slice(bitCount);
+        }
+    }
+
+    public void put(String value) {
+        long epoch = currentEpoch();
+        Slice slice = sliceFor(epoch);
+        long hash = BloomHashing.hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            slice.set(index(h1, h2, i));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long epoch = currentEpoch();
+        long oldestLiveEpoch = epoch - slices.length + 1;
+        long hash = BloomHashing.hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (Slice slice : slices) {
+            long sliceEpoch = slice.epoch;
+            if (sliceEpoch < oldestLiveEpoch || sliceEpoch > epoch) {
+                continue;
+            }
+            if (slice.containsAll(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Slice sliceFor(long epoch) {
+        Slice slice = slices[(int) Math.floorMod(epoch, (long) slices.length)];
+        if (slice.epoch != epoch) {
+            synchronized (slice) {
+                if (slice.epoch < epoch) {
+                    slice.reset(epoch);
+                }
+            }
+        }
+        return slice;
+    }
+
+    private long currentEpoch() {
+        return clock.millis() / sliceDurationMillis;
+    }
+
+    private int index(int h1, int h2, int i) {
+        return BloomHashing.index(h1, h2, i, bitCount);
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    private final class Slice {
+
+        private final AtomicLongArray words;
+        private volatile long epoch = Long.MIN_VALUE;
+
+        private Slice(int bits) {
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+        }
+
+        private void set(int bit) {
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    return;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+
+        private boolean containsAll(int h1, int h2) {
+            for (int i = 1; i <= hashCount; i++) {
+                int bit = index(h1, h2, i);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Zera os bits antes de publicar a nova época, para que nenhuma inserção
+         * do período novo seja apagada.
+         */
+        private void reset(long newEpoch) {
+            for (int i = 0; i < words.length(); i++) {
+                words.set(i, 0L);
+            }
+            epoch = newEpoch;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package br.com.labs.infrastructure.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consome o outbox de emails MFA e entrega pelo {@link SmtpEmailSender}.
+ *
+ * Cada worker lê lotes do stream pelo grupo {@value #GROUP} e envia o lote inteiro
+ * numa conexão SMTP. Entregues são confirmadas e removidas do stream; as que falham
+ * vão para {@code mail:outbox:retry} com backoff exponencial e voltam ao stream quando
+ * vencem. Mensagens mais velhas que o TTL do código, ou que esgotaram as tentativas,
+ * são descartadas. Entradas presas com um consumidor que caiu são reivindicadas
+ * depois de {@code claim-idle}.
+ */
+@Component
+public class MfaEmailDispatcher {
+
+    static final String GROUP = "mailers";
+
+    private static final Logger log = LoggerFactory.getLogger(MfaEmailDispatcher.class);
+    private static final Duration READ_BLOCK = Duration.ofSeconds(1);
+    private static final int RETRY_PROMOTION_LIMIT = 100;
+
+    /**
+     * KEYS: stream, retentativas. ARGV: id, vence em (ms), membro.
+     */
+    private static final RedisScript<Long> SCHEDULE_RETRY = RedisScript.of("""
+            redis.call('XACK', KEYS[1], 'mailers', ARGV[1])
+            redis.call('XDEL', KEYS[1], ARGV[1])
+            redis.call('ZADD', KEYS[2], ARGV[2], ARGV[3])
+            return 1
+            """, Long.class);
+
+    /**
+     * Devolve ao stream as retentativas vencidas. Membro: "tentativas|enfileiradoEm|código|destinatário".
+     * KEYS: stream, retentativas. ARGV: agora (ms), limite.
+     */
+    private static final RedisScript<Long> PROMOTE_RETRIES = RedisScript.of("""
+            local due = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+            for _, member in ipairs(due) do
+                redis.call('ZREM', KEYS[2], member)
+                local attempts, enqueuedAt, code, to = string.match(member, '^(%d+)|(%d+)|([^|]*)|(.*)$')
+                if attempts then
+                    redis.call('XADD', KEYS[1], '*', 'to', to, 'code', code, 'enqueuedAt', enqueuedAt, 'attempts', attempts)
+                end
+            end
+            return #due
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final SmtpEmailSender smtpSender;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimIdle;
+    private final long codeTtlMillis;
+    private final String consumerPrefix = "mailer-" + UUID.randomUUID();
+
+    private final AtomicLong depth = new AtomicLong();
+    private final Timer deliveryLatency;
+    private final Timer batchDuration;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter expiredCounter;
+    private final Counter exhaustedCounter;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public MfaEmailDispatcher(
+            StringRedisTemplate redisTemplate,
+            SmtpEmailSender smtpSender,
+            MeterRegistry meterRegistry,
+            @Value("${mail.outbox.workers:2}") int workers,
+            @Value("${mail.outbox.batch-size:50}") int batchSize,
+            @Value("${mail.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${mail.outbox.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${mail.outbox.max-backoff:60s}") Duration maxBackoff,
+            @Value("${mail.outbox.claim-idle:60s}") Duration claimIdle,
+            @Value("${mfa.code.ttl:300}") long codeTtlSeconds
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.smtpSender = smtpSender;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimIdle = claimIdle;
+        this.codeTtlMillis = TimeUnit.SECONDS.toMillis(codeTtlSeconds);
+
+        Gauge.builder("mail.outbox.depth", depth, AtomicLong::get)
+                .description("MFA emails waiting in the outbox, including scheduled retries")
+                .register(meterRegistry);
+        this.deliveryLatency = Timer.builder("mail.delivery.latency")
+                .description("Time from enqueue to SMTP acceptance of an MFA email")
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("mail.send.batch")
+                .description("Time to send one batch of MFA emails over a single SMTP connection")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("mail.sent")
+                .description("MFA emails accepted by the SMTP relay")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("mail.retried")
+                .description("MFA email sends that failed and were scheduled again")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("mail.dropped")
+                .tag("reason", "expired")
+                .description("MFA emails dropped before delivery")
+                .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("mail.dropped")
+                .tag("reason", "attempts")
+                .description("MFA emails dropped before delivery")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        createGroup();
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            String consumer = consumerPrefix + "-" + i;
+            boolean housekeeper = i == 0;
+            threads.add(Thread.ofVirtual()
+                    .name("mfa-mailer-" + i)
+                    .start(() -> work(consumer, housekeeper)));
+        }
+        log.info("MFA email dispatcher started with {} workers", workers);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+    }
+
+    private void work(String consumerName, boolean housekeeper) {
+        var consumer = Consumer.from(GROUP, consumerName);
+        var readOptions = StreamReadOptions.empty().count(batchSize).block(READ_BLOCK);
+        var offset = StreamOffset.create(MfaEmailOutbox.STREAM_KEY, ReadOffset.lastConsumed());
+
+        while (running) {
+            try {
+                if (housekeeper) {
+                    housekeeping(consumer);
+                }
+                List<MapRecord<String, Object, Object>> records =
+                        redisTemplate.opsForStream().read(consumer, readOptions, offset);
+                if (records != null && !records.isEmpty()) {
+                    deliver(records);
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("MFA email worker {} failed, retrying: {}", consumerName, e.getMessage());
+                pause();
+            }
+        }
+    }
+
+    /**
+     * Feita só pelo primeiro worker de cada nó: promove retentativas vencidas,
+     * reivindica entradas presas e atualiza a métrica de profundidade.
+     */
+    void housekeeping(Consumer consumer) {
+        redisTemplate.execute(
+                PROMOTE_RETRIES,
+                List.of(MfaEmailOutbox.STREAM_KEY, MfaEmailOutbox.RETRY_KEY),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(RETRY_PROMOTION_LIMIT)
+        );
+
+        var pending = redisTemplate.opsForStream()
+                .pending(MfaEmailOutbox.STREAM_KEY, GROUP, Range.unbounded(), batchSize);
+        List<RecordId> stuck = new ArrayList<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) >= 0) {
+                stuck.add(message.getId());
+            }
+        }
+        if (!stuck.isEmpty()) {
+            List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                    MfaEmailOutbox.STREAM_KEY, GROUP, consumer.getName(), claimIdle, stuck.toArray(RecordId[]::new));
+            if (!claimed.isEmpty()) {
+                log.info("Claimed {} stuck MFA emails", claimed.size());
+                deliver(claimed);
+            }
+        }
+
+        Long streamLength = redisTemplate.opsForStream().size(MfaEmailOutbox.STREAM_KEY);
+        Long retries = redisTemplate.opsForZSet().zCard(MfaEmailOutbox.RETRY_KEY);
+        depth.set((streamLength != null ? streamLength : 0) + (retries != null ? retries : 0));
+    }
+
+    void deliver(List<MapRecord<String, Object, Object>> records) {
+        long now = System.currentTimeMillis();
+        List<OutboundMfaEmail> sendable = new ArrayList<>(records.size());
+        List<String> expired = new ArrayList<>();
+
+        for (MapRecord<String, Object, Object> record : records) {
+            OutboundMfaEmail email = toEmail(record);
+            if (email == null || now - email.enqueuedAtMillis() >= codeTtlMillis) {
+                expired.add(record.getId().getValue());
+            } else {
+                sendable.add(email);
+            }
+        }
+
+        Set<String> failed = sendable.isEmpty()
+                ? Set.of()
+                : batchDuration.record(() -> smtpSender.send(sendable));
+
+        List<String> done = new ArrayList<>(expired);
+        long sentAt = System.currentTimeMillis();
+        for (OutboundMfaEmail email : sendable) {
+            if (!failed.contains(email.id())) {
+                done.add(email.id());
+                sentCounter.increment();
+                deliveryLatency.record(sentAt - email.enqueuedAtMillis(), TimeUnit.MILLISECONDS);
+            } else if (email.attempts() + 1 >= maxAttempts) {
+                done.add(email.id());
+                exhaustedCounter.increment();
+                log.error("Dropping MFA email {} after {} attempts", email.id(), maxAttempts);
+            } else {
+                scheduleRetry(email, sentAt);
+            }
+        }
+        expiredCounter.increment(expired.size());
+
+        if (!done.isEmpty()) {
+            String[] ids = done.toArray(String[]::new);
+            redisTemplate.opsForStream().acknowledge(MfaEmailOutbox.STREAM_KEY, GROUP, ids);
+            redisTemplate.opsForStream().delete(MfaEmailOutbox.STREAM_KEY, ids);
+        }
+    }
+
+    private void scheduleRetry(OutboundMfaEmail email, long now) {
+        int attempts = email.attempts() + 1;
+        long backoff = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempts - 1, 20));
+        String member = attempts + "|" + email.enqueuedAtMillis() + "|" + email.code() + "|" + email.to();
+        redisTemplate.execute(
+                SCHEDULE_RETRY,
+                List.of(MfaEmailOutbox.STREAM_KEY, MfaEmailOutbox.RETRY_KEY),
+                email.id(),
+                String.valueOf(now + backoff),
+                member
+        );
+        retriedCounter.increment();
+    }
+
+    private static OutboundMfaEmail toEmail(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = record.getValue();
+        Object to = fields.get("to");
+        Object code = fields.get("code");
+        Object enqueuedAt = fields.get("enqueuedAt");
+        Object attempts = fields.get("attempts");
+        if (to == null || code == null || enqueuedAt == null) {
+            return null;
+        }
+        return new OutboundMfaEmail(
+                record.getId().getValue(),
+                to.toString(),
+                code.toString(),
+                Long.parseLong(enqueuedAt.toString()),
+                attempts != null ? Integer.parseInt(attempts.toString()) : 0
+        );
+    }
+
+    private void createGroup() {
+        try {
+            redisTemplate.execute((RedisCallback<Object>) connection -> {
+                connection.streamCommands().xGroupCreate(
+                        MfaEmailOutbox.STREAM_KEY.getBytes(StandardCharsets.UTF_8),
+                        GROUP,
+                        ReadOffset.from("0"),
+                        true
+                );
+                return null;
+            });
+        } catch (RedisSystemException e) {
+            String message = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (!message.contains("BUSYGROUP")) {
+                log.warn("Could not create MFA email consumer group: {}", message);
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(READ_BLOCK);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
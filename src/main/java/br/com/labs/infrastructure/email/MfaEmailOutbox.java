@@ -0,0 +1,75 @@
+package br.com.labs.infrastructure.email;
+
+import br.com.labs.domain.auth.EmailSender;
+import br.com.labs.domain.auth.MfaCode;
+import br.com.labs.domain.exception.ServiceOverloadedException;
+import br.com.labs.domain.user.Email;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Enfileira os emails de código MFA num Redis Stream em vez de enviá-los no request.
+ *
+ * O outbox é limitado: com {@code mail.outbox.max-length} mensagens esperando (no
+ * stream ou aguardando nova tentativa), o login falha com
+ * {@link ServiceOverloadedException} em vez de acumular trabalho. Quem envia é o
+ * {@link MfaEmailDispatcher}.
+ */
+@Component
+public class MfaEmailOutbox implements EmailSender {
+
+    static final String STREAM_KEY = "mail:outbox";
+    static final String RETRY_KEY = "mail:outbox:retry";
+
+    /**
+     * KEYS: stream, retentativas. ARGV: limite, destinatário, código, enfileirado em (ms).
+     */
+    private static final RedisScript<Long> ENQUEUE = RedisScript.of("""
+            if redis.call('XLEN', KEYS[1]) + redis.call('ZCARD', KEYS[2]) >= tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('XADD', KEYS[1], '*', 'to', ARGV[2], 'code', ARGV[3], 'enqueuedAt', ARGV[4], 'attempts', '0')
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long maxLength;
+    private final long retryAfterSeconds;
+    private final Counter rejectedCounter;
+
+    public MfaEmailOutbox(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${mail.outbox.max-length:10000}") long maxLength,
+            @Value("${mail.outbox.retry-after:5}") long retryAfterSeconds
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.maxLength = maxLength;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejectedCounter = Counter.builder("mail.outbox.rejected")
+                .description("MFA emails refused because the outbox was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void sendMfaCode(Email to, MfaCode code) {
+        Long accepted = redisTemplate.execute(
+                ENQUEUE,
+                List.of(STREAM_KEY, RETRY_KEY),
+                String.valueOf(maxLength),
+                to.value(),
+                code.value(),
+                String.valueOf(System.currentTimeMillis())
+        );
+        if (accepted == null || accepted == 0) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException(retryAfterSeconds);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.labs.infrastructure.email;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Corpo {@code multipart/alternative} (texto e HTML) do email de código MFA, montado
+ * uma única vez.
+ *
+ * As duas partes já saem em quoted-printable e o código ocupa sempre os mesmos seis
+ * bytes, que nunca são quebrados por uma soft line break. Renderizar é copiar o array
+ * e escrever os dígitos nesses offsets; o corpo é ASCII puro, então a mensagem inteira
+ * vai como {@code 7bit} sem nenhuma recodificação pelo Jakarta Mail.
+ */
+final class MfaEmailTemplate {
+
+    static final String CODE_SLOT = "{{code}}";
+
+    /** "=_" nunca aparece em quoted-printable, então o boundary não colide com o conteúdo. */
+    private static final String BOUNDARY = "=_mfa-code_=";
+    static final String CONTENT_TYPE = "multipart/alternative; boundary=\"" + BOUNDARY + "\"";
+
+    private static final Pattern SLOT = Pattern.compile(Pattern.quote(CODE_SLOT));
+    private static final int CODE_LENGTH = 6;
+    private static final int MAX_LINE_LENGTH = 76;
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] body;
+    private final int[] codeOffsets;
+
+    MfaEmailTemplate(String text, String html) {
+        var writer = new Writer();
+        writer.ascii("--" + BOUNDARY + "\r\n");
+        writer.part("text/plain", text);
+        writer.ascii("\r\n--" + BOUNDARY + "\r\n");
+        writer.part("text/html", html);
+        writer.ascii("\r\n--" + BOUNDARY + "--\r\n");
+
+        this.body = writer.out.toByteArray();
+        this.codeOffsets = writer.codeOffsets.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    byte[] render(String code) {
+        if (code == null || code.length() != CODE_LENGTH || !code.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            throw new IllegalArgumentException("MFA code must be exactly %d digits".formatted(CODE_LENGTH));
+        }
+        byte[] rendered = body.clone();
+        for (int offset : codeOffsets) {
+            for (int i = 0; i < CODE_LENGTH; i++) {
+                rendered[offset + i] = (byte) code.charAt(i);
+            }
+        }
+        return rendered;
+    }
+
+    private static final class Writer {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        private final List<Integer> codeOffsets = new ArrayList<>();
+        private int lineLength;
+
+        void part(String mimeType, String content) {
+            ascii("Content-Type: " + mimeType + "; charset=UTF-8\r\n");
+            ascii("Content-Transfer-Encoding: quoted-printable\r\n\r\n");
+            lineLength = 0;
+
+            String[] pieces = SLOT.split(content.stripTrailing(), -1);
+            for (int i = 0; i < pieces.length; i++) {
+                quotedPrintable(pieces[i].getBytes(StandardCharsets.UTF_8), i == pieces.length - 1);
+                if (i < pieces.length - 1) {
+                    codeSlot();
+                }
+            }
+        }
+
+        void ascii(String value) {
+            out.writeBytes(value.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private void quotedPrintable(byte[] bytes, boolean last) {
+            for (int i = 0; i < bytes.length; i++) {
+                int b = bytes[i] & 0xFF;
+                if (b == '\r') {
+                    continue;
+                }
+                if (b == '\n') {
+                    out.writeBytes(new byte[]{'\r', '\n'});
+                    lineLength = 0;
+                    continue;
+                }
+                boolean endOfLine = i + 1 < bytes.length ? bytes[i + 1] == '\n' || bytes[i + 1] == '\r' : last;
+                boolean literal = (b >= 33 && b <= 126 && b != '=') || ((b == ' ' || b == '\t') && !endOfLine);
+                if (literal) {
+                    reserve(1);
+                    out.write(b);
+                } else {
+                    reserve(3);
+                    out.write('=');
+                    out.write(HEX[b >> 4]);
+                    out.write(HEX[b & 0x0F]);
+                }
+            }
+        }
+
+        private void codeSlot() {
+            reserve(CODE_LENGTH);
+            codeOffsets.add(out.size());
+            for (int i = 0; i < CODE_LENGTH; i++) {
+                out.write('0');
+            }
+        }
+
+        /** Quebra a linha antes de um token que não cabe, deixando espaço para o '=' final. */
+        private void reserve(int length) {
+            if (lineLength + length > MAX_LINE_LENGTH - 1) {
+                out.writeBytes(new byte[]{'=', '\r', '\n'});
+                lineLength = 0;
+            }
+            lineLength += length;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.labs.infrastructure.email;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Mensagem cujo corpo já vem pronto do {@link MfaEmailTemplate}.
+ *
+ * O {@code updateHeaders} padrão reinterpretaria o multipart para recalcular
+ * cabeçalhos que aqui são fixos; esta versão só grava esses cabeçalhos e o Message-ID,
+ * e o {@code writeTo} escreve os bytes do corpo como estão.
+ */
+final class MfaMimeMessage extends MimeMessage {
+
+    MfaMimeMessage(Session session, byte[] body) {
+        super(session);
+        this.content = body;
+    }
+
+    @Override
+    protected void updateHeaders() throws MessagingException {
+        setHeader("MIME-Version", "1.0");
+        setHeader("Content-Type", MfaEmailTemplate.CONTENT_TYPE);
+        setHeader("Content-Transfer-Encoding", "7bit");
+        updateMessageID();
+    }
+}
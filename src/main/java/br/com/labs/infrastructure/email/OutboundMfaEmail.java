@@ -0,0 +1,9 @@
+package br.com.labs.infrastructure.email;
+
+/**
+ * Um email de código MFA lido do outbox.
+ *
+ * @param id id da entrada no stream
+ */
+record OutboundMfaEmail(String id, String to, String code, long enqueuedAtMillis, int attempts) {
+}
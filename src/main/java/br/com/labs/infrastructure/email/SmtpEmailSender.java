@@ -1,22 +1,80 @@
 package br.com.labs.infrastructure.email;
 
-import br.com.labs.domain.auth.EmailSender;
-import br.com.labs.domain.auth.MfaCode;
-import br.com.labs.domain.user.Email;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeUtility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.stereotype.Component;
 
+import java.io.UnsupportedEncodingException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estágio SMTP do outbox de emails MFA.
+ *
+ * Cada lote sai numa única conexão SMTP ({@link JavaMailSender#send(MimeMessage...)}
+ * envia todas as mensagens pelo mesmo transporte). Retorna os ids que falharam para
+ * o {@link MfaEmailDispatcher} decidir entre nova tentativa e descarte. O corpo vem
+ * pré-montado do {@link MfaEmailTemplate}; por mensagem só variam destinatário e código.
+ */
 @Component
-public class SmtpEmailSender implements EmailSender {
+public class SmtpEmailSender {
 
     private static final Logger log = LoggerFactory.getLogger(SmtpEmailSender.class);
 
     private static final String FROM_ADDRESS = "noreply@loginmfa.com";
-    private static final String SUBJECT = "Seu código de verificação";
+    private static final String ENCODED_SUBJECT = encodeSubject("Seu código de verificação");
+
+    private static final MfaEmailTemplate TEMPLATE = new MfaEmailTemplate("""
+            Código de Verificação
+
+            Use o código abaixo para completar seu login:
+
+                {{code}}
+
+            Este código expira em 5 minutos.
+
+            Se você não solicitou este código, ignore este email.
+            """, """
+            <!DOCTYPE html>
+            <html lang="pt-BR">
+            <head>
+                <meta charset="UTF-8">
+                <meta name="viewport" content="width=device-width, initial-scale=1.0">
+            </head>
+            <body style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
+                <div style="background-color: #f8f9fa; border-radius: 8px; padding: 30px; text-align: center;">
+                    <h1 style="color: #333; margin-bottom: 10px;">Código de Verificação</h1>
+                    <p style="color: #666; margin-bottom: 30px;">
+                        Use o código abaixo para completar seu login:
+                    </p>
+                    <div style="background-color: #fff; border: 2px dashed #007bff; border-radius: 8px; padding: 20px; margin-bottom: 30px;">
+                        <span style="font-size: 32px; font-weight: bold; letter-spacing: 8px; color: #007bff;">
+                            {{code}}
+                        </span>
+                    </div>
+                    <p style="color: #999; font-size: 14px;">
+                        Este código expira em <strong>5 minutos</strong>.
+                    </p>
+                    <p style="color: #999; font-size: 14px;">
+                        Se você não solicitou este código, ignore este email.
+                    </p>
+                </div>
+            </body>
+            </html>
+            """);
 
     private final JavaMailSender mailSender;
 
@@ -24,54 +82,66 @@ public class SmtpEmailSender implements EmailSender {
         this.mailSender = mailSender;
     }
 
-    @Async
-    @Override
-    public void sendMfaCode(Email to, MfaCode code) {
-        try {
-            var message = mailSender.createMimeMessage();
-            var helper = new MimeMessageHelper(message, true, "UTF-8");
+    Set<String> send(List<OutboundMfaEmail> emails) {
+        Map<MimeMessage, String> ids = new LinkedHashMap<>();
+        Set<String> failed = new HashSet<>();
+        Session session = session();
+        for (OutboundMfaEmail email : emails) {
+            try {
+                ids.put(buildMessage(session, email), email.id());
+            } catch (MessagingException e) {
+                log.error("Failed to build MFA email {}: {}", email.id(), e.getMessage());
+                failed.add(email.id());
+            }
+        }
+        if (ids.isEmpty()) {
+            return failed;
+        }
 
-            helper.setFrom(FROM_ADDRESS);
-            helper.setTo(to.value());
-            helper.setSubject(SUBJECT);
-            helper.setText(buildHtmlContent(code), true);
+        try {
+            mailSender.send(ids.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            log.warn("Failed to send {} of {} MFA emails: {}", e.getFailedMessages().size(), ids.size(), e.getMessage());
+            e.getFailedMessages().keySet().forEach(message -> {
+                String id = ids.get(message);
+                if (id != null) {
+                    failed.add(id);
+                }
+            });
+            if (e.getFailedMessages().isEmpty()) {
+                failed.addAll(ids.values());
+            }
+        } catch (MailException e) {
+            log.warn("Failed to send {} MFA emails: {}", ids.size(), e.getMessage());
+            failed.addAll(ids.values());
+        }
+        return failed;
+    }
 
-            mailSender.send(message);
-            log.info("MFA code sent to {}", to.value());
+    private MimeMessage buildMessage(Session session, OutboundMfaEmail email) throws MessagingException {
+        var message = new MfaMimeMessage(session, TEMPLATE.render(email.code()));
+        message.setHeader("From", FROM_ADDRESS);
+        message.setHeader("Subject", ENCODED_SUBJECT);
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(email.to(), true));
+        return message;
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to send MFA code to {}: {}", to.value(), e.getMessage());
+    /**
+     * A sessão do {@link JavaMailSenderImpl} é criada uma vez; outras implementações
+     * só expõem a sessão através de uma mensagem.
+     */
+    private Session session() {
+        if (mailSender instanceof JavaMailSenderImpl impl) {
+            return impl.getSession();
         }
+        return mailSender.createMimeMessage().getSession();
     }
 
-    private String buildHtmlContent(MfaCode code) {
-        return """
-                <!DOCTYPE html>
-                <html lang="pt-BR">
-                <head>
-                    <meta charset="UTF-8">
-                    <meta name="viewport" content="width=device-width, initial-scale=1.0">
-                </head>
-                <body style="font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px;">
-                    <div style="background-color: #f8f9fa; border-radius: 8px; padding: 30px; text-align: center;">
-                        <h1 style="color: #333; margin-bottom: 10px;">Código de Verificação</h1>
-                        <p style="color: #666; margin-bottom: 30px;">
-                            Use o código abaixo para completar seu login:
-                        </p>
-                        <div style="background-color: #fff; border: 2px dashed #007bff; border-radius: 8px; padding: 20px; margin-bottom: 30px;">
-                            <span style="font-size: 32px; font-weight: bold; letter-spacing: 8px; color: #007bff;">
-                                %s
-                            </span>
-                        </div>
-                        <p style="color: #999; font-size: 14px;">
-                            Este código expira em <strong>5 minutos</strong>.
-                        </p>
-                        <p style="color: #999; font-size: 14px;">
-                            Se você não solicitou este código, ignore este email.
-                        </p>
-                    </div>
-                </body>
-                </html>
-                """.formatted(code.value());
+    private static String encodeSubject(String subject) {
+        try {
+            return MimeUtility.encodeText(subject, "UTF-8", "Q");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,28 @@
+package br.com.labs.infrastructure.persistence.jdbc;
+
+/**
+ * Campos no formato texto do {@code COPY} do PostgreSQL: barra invertida, tab e
+ * quebras de linha escapadas; {@code null} vira {@code \N}.
+ */
+public final class CopyText {
+
+    private CopyText() {
+    }
+
+    public static StringBuilder appendField(StringBuilder rows, String value) {
+        if (value == null) {
+            return rows.append("\\N");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> rows.append("\\\\");
+                case '\t' -> rows.append("\\t");
+                case '\n' -> rows.append("\\n");
+                case '\r' -> rows.append("\\r");
+                default -> rows.append(c);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.labs.infrastructure.persistence.jdbc;
+
+import br.com.labs.domain.user.*;
+import br.com.labs.infrastructure.persistence.user.KnownUserFilter;
+import br.com.labs.infrastructure.persistence.user.UserCache;
+import br.com.labs.infrastructure.persistence.user.UserUniqueConstraints;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * {@link UserRepository} em SQL escrito à mão sobre {@link JdbcClient}, sem contexto
+ * de persistência nem callbacks do Hibernate. Ativado com
+ * {@code persistence.user-store=jdbc}.
+ *
+ * Usa o mesmo {@link KnownUserFilter} e o mesmo {@link UserCache} do adapter JPA. O
+ * {@code save} é um upsert pelo id, então também grava troca de senha.
+ */
+@Repository
+@ConditionalOnProperty(name = "persistence.user-store", havingValue = "jdbc")
+public class JdbcUserRepository implements UserRepository {
+
+    private static final String USER_COLUMNS =
+            "SELECT id, username, email, password_hash, created_at, updated_at FROM users ";
+
+    private static final String UPSERT = """
+            INSERT INTO users (id, username, email, password_hash, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO UPDATE
+               SET email = EXCLUDED.email,
+                   password_hash = EXCLUDED.password_hash,
+                   updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final RowMapper<User> USER_MAPPER = (rs, rowNum) -> User.reconstitute(
+            new UserId(rs.getObject(1, UUID.class)),
+            new Username(rs.getString(2)),
+            new Email(rs.getString(3)),
+            new Password(rs.getString(4)),
+            rs.getObject(5, OffsetDateTime.class).toInstant(),
+            rs.getObject(6, OffsetDateTime.class).toInstant()
+    );
+
+    private final JdbcClient jdbcClient;
+    private final KnownUserFilter knownUsers;
+    private final UserCache userCache;
+
+    public JdbcUserRepository(JdbcClient jdbcClient, KnownUserFilter knownUsers, UserCache userCache) {
+        this.jdbcClient = jdbcClient;
+        this.knownUsers = knownUsers;
+        this.userCache = userCache;
+    }
+
+    @Override
+    public User save(User user) {
+        try {
+            jdbcClient.sql(UPSERT)
+                    .params(
+                            user.getId().value(),
+                            user.getUsername().value(),
+                            user.getEmail().value(),
+                            user.getPassword().hashedValue(),
+                            toTimestamp(user.getCreatedAt()),
+                            toTimestamp(user.getUpdatedAt())
+                    )
+                    .update();
+        } catch (DataIntegrityViolationException e) {
+            throw UserUniqueConstraints.translate(e);
+        }
+        knownUsers.add(user.getUsername().value(), user.getEmail().value());
+        userCache.invalidate(user.getId());
+        return user;
+    }
+
+    @Override
+    public Optional<User> findById(UserId id) {
+        return userCache.findById(id, () -> jdbcClient.sql(USER_COLUMNS + "WHERE id = ?")
+                .param(id.value())
+                .query(USER_MAPPER)
+                .optional());
+    }
+
+    @Override
+    public Optional<User> findByUsername(Username username) {
+        if (!knownUsers.mightContainUsername(username.value())) {
+            return Optional.empty();
+        }
+        return userCache.findByUsername(username, () -> jdbcClient.sql(USER_COLUMNS + "WHERE username = ?")
+                .param(username.value())
+                .query(USER_MAPPER)
+                .optional());
+    }
+
+    @Override
+    public Optional<User> findByEmail(Email email) {
+        if (!knownUsers.mightContainEmail(email.value())) {
+            return Optional.empty();
+        }
+        return jdbcClient.sql(USER_COLUMNS + "WHERE email = ?")
+                .param(email.value())
+                .query(USER_MAPPER)
+                .optional();
+    }
+
+    @Override
+    public boolean existsByUsername(Username username) {
+        return knownUsers.mightContainUsername(username.value())
+                && exists("SELECT EXISTS (SELECT 1 FROM users WHERE username = ?)", username.value());
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        return knownUsers.mightContainEmail(email.value())
+                && exists("SELECT EXISTS (SELECT 1 FROM users WHERE email = ?)", email.value());
+    }
+
+    private boolean exists(String sql, String value) {
+        return Boolean.TRUE.equals(jdbcClient.sql(sql).param(value).query(Boolean.class).single());
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
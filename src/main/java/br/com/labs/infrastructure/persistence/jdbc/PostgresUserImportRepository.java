@@ -0,0 +1,152 @@
+package br.com.labs.infrastructure.persistence.jdbc;
+
+import br.com.labs.domain.user.User;
+import br.com.labs.domain.user.UserId;
+import br.com.labs.domain.user.UserImportOutcome;
+import br.com.labs.domain.user.UserImportRepository;
+import br.com.labs.infrastructure.persistence.user.KnownUserFilter;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Importação em lote com {@code COPY}.
+ *
+ * Cada lote vai por {@code COPY} para uma tabela temporária da transação e entra em
+ * {@code users} com um único {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING}. As
+ * linhas que ficaram de fora são classificadas numa consulta só, depois do INSERT,
+ * quando os usuários do próprio lote já estão visíveis.
+ */
+@Repository
+public class PostgresUserImportRepository implements UserImportRepository {
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE user_import (
+                id UUID NOT NULL,
+                username VARCHAR(50) NOT NULL,
+                email VARCHAR(255) NOT NULL,
+                password_hash VARCHAR(255) NOT NULL,
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING =
+            "COPY user_import (id, username, email, password_hash, created_at, updated_at) FROM STDIN";
+
+    private static final String INSERT_FROM_STAGING = """
+            INSERT INTO users (id, username, email, password_hash, created_at, updated_at)
+            SELECT id, username, email, password_hash, created_at, updated_at FROM user_import
+            ON CONFLICT DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String CLASSIFY_SKIPPED = """
+            SELECT s.id,
+                   EXISTS (SELECT 1 FROM users u WHERE u.username = s.username AND u.id <> s.id)
+              FROM user_import s
+             WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.id = s.id)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KnownUserFilter knownUsers;
+
+    public PostgresUserImportRepository(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            KnownUserFilter knownUsers
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.knownUsers = knownUsers;
+    }
+
+    @Override
+    public Map<UserId, UserImportOutcome> importBatch(List<User> users) {
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UserId, UserImportOutcome> outcomes = transactionTemplate.execute(status ->
+                jdbcTemplate.execute((ConnectionCallback<Map<UserId, UserImportOutcome>>) connection ->
+                        importInto(connection, users))
+        );
+
+        Map<String, String> imported = new HashMap<>();
+        for (User user : users) {
+            if (outcomes.get(user.getId()) == UserImportOutcome.IMPORTED) {
+                imported.put(user.getUsername().value(), user.getEmail().value());
+            }
+        }
+        if (!imported.isEmpty()) {
+            knownUsers.addAll(imported);
+        }
+        return outcomes;
+    }
+
+    private Map<UserId, UserImportOutcome> importInto(Connection connection, List<User> users) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING);
+        }
+
+        try {
+            connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_STAGING, new StringReader(copyRows(users)));
+        } catch (IOException e) {
+            throw new SQLException("COPY into user_import failed", e);
+        }
+
+        Map<UserId, UserImportOutcome> outcomes = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            try (var rs = statement.executeQuery(INSERT_FROM_STAGING)) {
+                while (rs.next()) {
+                    outcomes.put(new UserId(rs.getObject(1, UUID.class)), UserImportOutcome.IMPORTED);
+                }
+            }
+            if (outcomes.size() < users.size()) {
+                try (var rs = statement.executeQuery(CLASSIFY_SKIPPED)) {
+                    while (rs.next()) {
+                        outcomes.put(
+                                new UserId(rs.getObject(1, UUID.class)),
+                                rs.getBoolean(2) ? UserImportOutcome.USERNAME_TAKEN : UserImportOutcome.EMAIL_TAKEN
+                        );
+                    }
+                }
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Linhas no formato texto do COPY, com colunas separadas por tab.
+     */
+    private static String copyRows(List<User> users) {
+        var rows = new StringBuilder(users.size() * 160);
+        for (User user : users) {
+            rows.append(user.getId()).append('\t');
+            CopyText.appendField(rows, user.getUsername().value()).append('\t');
+            CopyText.appendField(rows, user.getEmail().value()).append('\t');
+            CopyText.appendField(rows, user.getPassword().hashedValue()).append('\t');
+            rows.append(user.getCreatedAt()).append('\t');
+            rows.append(user.getUpdatedAt()).append('\n');
+        }
+        return rows.toString();
+    }
+}
@@ -1,51 +1,85 @@
 package br.com.labs.infrastructure.persistence.jpa;
 
 import br.com.labs.domain.user.*;
+import br.com.labs.infrastructure.persistence.user.KnownUserFilter;
+import br.com.labs.infrastructure.persistence.user.UserCache;
+import br.com.labs.infrastructure.persistence.user.UserUniqueConstraints;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
+/**
+ * Lookups por username e email passam antes pelo {@link KnownUserFilter}: um miss
+ * definitivo responde sem ir ao banco. Buscas por id e username ainda passam pelo
+ * {@link UserCache} antes do Hibernate.
+ */
 @Repository
+@ConditionalOnProperty(name = "persistence.user-store", havingValue = "jpa", matchIfMissing = true)
 public class UserRepositoryAdapter implements UserRepository {
 
     private final UserJpaRepository jpaRepository;
+    private final KnownUserFilter knownUsers;
+    private final UserCache userCache;
 
-    public UserRepositoryAdapter(UserJpaRepository jpaRepository) {
+    public UserRepositoryAdapter(
+            UserJpaRepository jpaRepository,
+            KnownUserFilter knownUsers,
+            UserCache userCache
+    ) {
         this.jpaRepository = jpaRepository;
+        this.knownUsers = knownUsers;
+        this.userCache = userCache;
     }
 
     @Override
     public User save(User user) {
         var entity = UserJpaEntity.fromDomain(user);
-        var savedEntity = jpaRepository.save(entity);
+        UserJpaEntity savedEntity;
+        try {
+            savedEntity = jpaRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw UserUniqueConstraints.translate(e);
+        }
+        knownUsers.add(user.getUsername().value(), user.getEmail().value());
+        userCache.invalidate(user.getId());
         return savedEntity.toDomain();
     }
 
     @Override
     public Optional<User> findById(UserId id) {
-        return jpaRepository.findById(id.value())
-                .map(UserJpaEntity::toDomain);
+        return userCache.findById(id, () -> jpaRepository.findById(id.value())
+                .map(UserJpaEntity::toDomain));
     }
 
     @Override
     public Optional<User> findByUsername(Username username) {
-        return jpaRepository.findByUsername(username.value())
-                .map(UserJpaEntity::toDomain);
+        if (!knownUsers.mightContainUsername(username.value())) {
+            return Optional.empty();
+        }
+        return userCache.findByUsername(username, () -> jpaRepository.findByUsername(username.value())
+                .map(UserJpaEntity::toDomain));
     }
 
     @Override
     public Optional<User> findByEmail(Email email) {
+        if (!knownUsers.mightContainEmail(email.value())) {
+            return Optional.empty();
+        }
         return jpaRepository.findByEmail(email.value())
                 .map(UserJpaEntity::toDomain);
     }
 
     @Override
     public boolean existsByUsername(Username username) {
-        return jpaRepository.existsByUsername(username.value());
+        return knownUsers.mightContainUsername(username.value())
+                && jpaRepository.existsByUsername(username.value());
     }
 
     @Override
     public boolean existsByEmail(Email email) {
-        return jpaRepository.existsByEmail(email.value());
+        return knownUsers.mightContainEmail(email.value())
+                && jpaRepository.existsByEmail(email.value());
     }
 }
@@ -0,0 +1,91 @@
+package br.com.labs.infrastructure.persistence.redis;
+
+import br.com.labs.domain.auth.LoginFailureRepository;
+import br.com.labs.domain.auth.LoginFailures;
+import br.com.labs.domain.user.UserId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Falhas de login em {@code login:failures:{userId}}, que expira {@code window} após a
+ * última falha, e nível de bloqueio em {@code login:lockouts:{userId}}, que expira
+ * {@code decay} após o último bloqueio. Cada operação é um único round trip.
+ */
+@Repository
+public class LoginFailureRedisRepository implements LoginFailureRepository {
+
+    private static final String FAILURES_PREFIX = "login:failures:";
+    private static final String LOCKOUTS_PREFIX = "login:lockouts:";
+
+    /**
+     * KEYS: falhas, nível de bloqueio. Nunca deixa o nível negativo.
+     */
+    private static final RedisScript<Long> DECAY = RedisScript.of("""
+            redis.call('DEL', KEYS[1])
+            local lockouts = tonumber(redis.call('GET', KEYS[2]) or '0')
+            if lockouts <= 1 then
+                redis.call('DEL', KEYS[2])
+                return 0
+            end
+            return redis.call('DECR', KEYS[2])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long windowSeconds;
+    private final long decaySeconds;
+
+    public LoginFailureRedisRepository(
+            StringRedisTemplate redisTemplate,
+            @Value("${security.login-failures.window:15m}") Duration window,
+            @Value("${security.lockout.decay:24h}") Duration decay
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.windowSeconds = window.toSeconds();
+        this.decaySeconds = decay.toSeconds();
+    }
+
+    @Override
+    public LoginFailures recordFailure(UserId userId) {
+        String failuresKey = FAILURES_PREFIX + userId.value();
+        String lockoutsKey = LOCKOUTS_PREFIX + userId.value();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            var commands = (StringRedisConnection) connection;
+            commands.incr(failuresKey);
+            commands.expire(failuresKey, windowSeconds);
+            commands.get(lockoutsKey);
+            return null;
+        });
+
+        Long count = (Long) results.get(0);
+        Object lockouts = results.get(2);
+        return new LoginFailures(
+                count != null ? count.intValue() : 0,
+                lockouts != null ? Integer.parseInt(lockouts.toString()) : 0
+        );
+    }
+
+    @Override
+    public void recordLockout(UserId userId) {
+        String failuresKey = FAILURES_PREFIX + userId.value();
+        String lockoutsKey = LOCKOUTS_PREFIX + userId.value();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            var commands = (StringRedisConnection) connection;
+            commands.incr(lockoutsKey);
+            commands.expire(lockoutsKey, decaySeconds);
+            commands.del(failuresKey);
+            return null;
+        });
+    }
+
+    @Override
+    public void recordSuccess(UserId userId) {
+        redisTemplate.execute(DECAY, List.of(FAILURES_PREFIX + userId.value(), LOCKOUTS_PREFIX + userId.value()));
+    }
+}
@@ -0,0 +1,241 @@
+package br.com.labs.infrastructure.persistence.redis;
+
+import br.com.labs.domain.auth.MfaCode;
+import br.com.labs.domain.auth.MfaCodeIssue;
+import br.com.labs.domain.auth.MfaRepository;
+import br.com.labs.domain.auth.MfaVerification;
+import br.com.labs.domain.auth.MfaVerification.Status;
+import br.com.labs.domain.user.UserId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Estado de MFA de cada usuário em um único hash {@code mfa:state:{userId}}.
+ *
+ * Campos: {@code code}, {@code code_exp}, {@code code_sent}, {@code attempts} e
+ * {@code blocked_until} (epoch em segundos, sempre pelo relógio do Redis). Cada
+ * operação é um único round trip e as que leem e escrevem rodam em Lua, então
+ * tentativas concorrentes nunca leem um contador desatualizado.
+ */
+@Repository
+@ConditionalOnProperty(name = "mfa.storage", havingValue = "hash", matchIfMissing = true)
+public class MfaRedisHashRepository implements MfaRepository {
+
+    private static final String MFA_STATE_PREFIX = "mfa:state:";
+
+    private static final RedisScript<Long> SAVE_CODE = RedisScript.of("""
+            local now = tonumber(redis.call('TIME')[1])
+            local ttl = tonumber(ARGV[2])
+            redis.call('HSET', KEYS[1], 'code', ARGV[1], 'code_exp', now + ttl, 'code_sent', now, 'attempts', 0)
+            if redis.call('TTL', KEYS[1]) < ttl then
+                redis.call('EXPIRE', KEYS[1], ttl)
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * Retorna "código:reaproveitado" (0 ou 1).
+     * ARGV: código candidato, TTL do código, janela de reaproveitamento.
+     */
+    private static final RedisScript<String> ISSUE_CODE = RedisScript.of("""
+            local now = tonumber(redis.call('TIME')[1])
+            local ttl = tonumber(ARGV[2])
+            local state = redis.call('HMGET', KEYS[1], 'code', 'code_exp', 'code_sent')
+            if state[1] and tonumber(state[2]) > now and tonumber(state[3] or '0') + tonumber(ARGV[3]) > now then
+                return state[1] .. ':1'
+            end
+            redis.call('HSET', KEYS[1], 'code', ARGV[1], 'code_exp', now + ttl, 'code_sent', now)
+            if redis.call('TTL', KEYS[1]) < ttl then
+                redis.call('EXPIRE', KEYS[1], ttl)
+            end
+            return ARGV[1] .. ':0'
+            """, String.class);
+
+    private static final RedisScript<String> FIND_CODE = RedisScript.of("""
+            local now = tonumber(redis.call('TIME')[1])
+            local state = redis.call('HMGET', KEYS[1], 'code', 'code_exp')
+            if state[1] and tonumber(state[2]) > now then
+                return state[1]
+            end
+            return false
+            """, String.class);
+
+    private static final RedisScript<Long> INCREMENT_ATTEMPTS = RedisScript.of("""
+            local attempts = redis.call('HINCRBY', KEYS[1], 'attempts', 1)
+            if redis.call('TTL', KEYS[1]) < 0 then
+                redis.call('EXPIRE', KEYS[1], ARGV[1])
+            end
+            return attempts
+            """, Long.class);
+
+    private static final RedisScript<Long> BLOCK = RedisScript.of("""
+            local now = tonumber(redis.call('TIME')[1])
+            local ttl = tonumber(ARGV[1])
+            redis.call('HDEL', KEYS[1], 'code', 'code_exp', 'code_sent', 'attempts')
+            redis.call('HSET', KEYS[1], 'blocked_until', now + ttl)
+            redis.call('EXPIRE', KEYS[1], ttl)
+            return ttl
+            """, Long.class);
+
+    private static final RedisScript<Long> BLOCK_TTL = RedisScript.of("""
+            local now = tonumber(redis.call('TIME')[1])
+            local blockedUntil = tonumber(redis.call('HGET', KEYS[1], 'blocked_until') or '0')
+            return math.max(0, blockedUntil - now)
+            """, Long.class);
+
+    /**
+     * Retorna "STATUS:tentativas:ttlBloqueio".
+     * ARGV: código informado, máximo de tentativas, TTL do bloqueio.
+     */
+    private static final RedisScript<String> VERIFY_CODE = RedisScript.of("""
+            local now = tonumber(redis.call('TIME')[1])
+            local state = redis.call('HMGET', KEYS[1], 'code', 'code_exp', 'attempts', 'blocked_until')
+
+            local blockedUntil = tonumber(state[4] or '0')
+            if blockedUntil > now then
+                return 'BLOCKED:0:' .. (blockedUntil - now)
+            end
+
+            if not state[1] or tonumber(state[2]) <= now then
+                return 'EXPIRED:0:0'
+            end
+
+            if state[1] == ARGV[1] then
+                redis.call('HDEL', KEYS[1], 'code', 'code_exp', 'code_sent', 'attempts')
+                return 'VALID:0:0'
+            end
+
+            local attempts = redis.call('HINCRBY', KEYS[1], 'attempts', 1)
+            local blockTtl = tonumber(ARGV[3])
+            if attempts >= tonumber(ARGV[2]) then
+                redis.call('HDEL', KEYS[1], 'code', 'code_exp', 'code_sent', 'attempts')
+                redis.call('HSET', KEYS[1], 'blocked_until', now + blockTtl)
+                redis.call('EXPIRE', KEYS[1], blockTtl)
+                return 'ATTEMPTS_EXHAUSTED:' .. attempts .. ':' .. blockTtl
+            end
+            return 'INVALID:' .. attempts .. ':0'
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long codeTtlSeconds;
+    private final long blockTtlSeconds;
+    private final long reuseWindowSeconds;
+
+    public MfaRedisHashRepository(
+            StringRedisTemplate redisTemplate,
+            @Value("${mfa.code.ttl}") long codeTtlSeconds,
+            @Value("${mfa.block.ttl}") long blockTtlSeconds,
+            @Value("${mfa.code.reuse-window:60}") long reuseWindowSeconds
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.codeTtlSeconds = codeTtlSeconds;
+        this.blockTtlSeconds = blockTtlSeconds;
+        this.reuseWindowSeconds = reuseWindowSeconds;
+    }
+
+    @Override
+    public void saveCode(UserId userId, MfaCode code) {
+        redisTemplate.execute(SAVE_CODE, keys(userId), code.value(), String.valueOf(codeTtlSeconds));
+    }
+
+    @Override
+    public MfaCodeIssue issueCode(UserId userId, MfaCode candidate) {
+        String result = redisTemplate.execute(
+                ISSUE_CODE,
+                keys(userId),
+                candidate.value(),
+                String.valueOf(codeTtlSeconds),
+                String.valueOf(reuseWindowSeconds)
+        );
+        if (result == null) {
+            throw new IllegalStateException("MFA issue script returned no result");
+        }
+
+        int separator = result.indexOf(':');
+        return new MfaCodeIssue(new MfaCode(result.substring(0, separator)), result.endsWith(":1"));
+    }
+
+    @Override
+    public void markCodeUnsent(UserId userId) {
+        redisTemplate.opsForHash().delete(key(userId), "code_sent");
+    }
+
+    @Override
+    public Optional<MfaCode> findCode(UserId userId) {
+        String code = redisTemplate.execute(FIND_CODE, keys(userId));
+        return Optional.ofNullable(code).map(MfaCode::new);
+    }
+
+    @Override
+    public void deleteCode(UserId userId) {
+        redisTemplate.opsForHash().delete(key(userId), "code", "code_exp", "code_sent", "attempts");
+    }
+
+    @Override
+    public int incrementAttempts(UserId userId) {
+        Long attempts = redisTemplate.execute(INCREMENT_ATTEMPTS, keys(userId), String.valueOf(codeTtlSeconds));
+        return attempts != null ? attempts.intValue() : 0;
+    }
+
+    @Override
+    public int getAttempts(UserId userId) {
+        Object attempts = redisTemplate.opsForHash().get(key(userId), "attempts");
+        return attempts != null ? Integer.parseInt(attempts.toString()) : 0;
+    }
+
+    @Override
+    public void block(UserId userId) {
+        block(userId, blockTtlSeconds);
+    }
+
+    @Override
+    public void block(UserId userId, long ttlSeconds) {
+        redisTemplate.execute(BLOCK, keys(userId), String.valueOf(ttlSeconds));
+    }
+
+    @Override
+    public boolean isBlocked(UserId userId) {
+        return getBlockTtl(userId) > 0;
+    }
+
+    @Override
+    public long getBlockTtl(UserId userId) {
+        Long ttl = redisTemplate.execute(BLOCK_TTL, keys(userId));
+        return ttl != null ? ttl : 0;
+    }
+
+    @Override
+    public MfaVerification verifyCode(UserId userId, String code, int maxAttempts) {
+        String result = redisTemplate.execute(
+                VERIFY_CODE,
+                keys(userId),
+                code,
+                String.valueOf(maxAttempts),
+                String.valueOf(blockTtlSeconds)
+        );
+        if (result == null) {
+            throw new IllegalStateException("MFA verification script returned no result");
+        }
+
+        String[] parts = result.split(":");
+        return new MfaVerification(
+                Status.valueOf(parts[0]),
+                Integer.parseInt(parts[1]),
+                Long.parseLong(parts[2])
+        );
+    }
+
+    private String key(UserId userId) {
+        return MFA_STATE_PREFIX + userId.value();
+    }
+
+    private List<String> keys(UserId userId) {
+        return List.of(key(userId));
+    }
+}
@@ -1,34 +1,69 @@
 package br.com.labs.infrastructure.persistence.redis;
 
 import br.com.labs.domain.auth.MfaCode;
+import br.com.labs.domain.auth.MfaCodeIssue;
 import br.com.labs.domain.auth.MfaRepository;
+import br.com.labs.domain.auth.MfaVerification;
+import br.com.labs.domain.auth.MfaVerification.Status;
 import br.com.labs.domain.user.UserId;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Estado de MFA em três chaves separadas (código, tentativas e bloqueio).
+ * Modo legado, ativado com {@code mfa.storage=keys}; ver {@link MfaRedisHashRepository}.
+ */
 @Repository
+@ConditionalOnProperty(name = "mfa.storage", havingValue = "keys")
 public class MfaRedisRepository implements MfaRepository {
 
     private static final String MFA_CODE_PREFIX = "mfa:code:";
     private static final String MFA_ATTEMPTS_PREFIX = "mfa:attempts:";
     private static final String MFA_BLOCK_PREFIX = "mfa:block:";
+    private static final String MFA_SENT_PREFIX = "mfa:sent:";
+
+    /**
+     * Retorna "código:reaproveitado" (0 ou 1). A chave de envio expira junto com a janela
+     * de reaproveitamento; a de tentativas só é criada se não existir.
+     * KEYS: código, envio, tentativas. ARGV: código candidato, TTL do código, janela.
+     */
+    private static final RedisScript<String> ISSUE_CODE = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if current and redis.call('EXISTS', KEYS[2]) == 1 then
+                return current .. ':1'
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+            if tonumber(ARGV[3]) > 0 then
+                redis.call('SET', KEYS[2], '1', 'EX', ARGV[3])
+            end
+            if not redis.call('SET', KEYS[3], '0', 'EX', ARGV[2], 'NX') then
+                redis.call('EXPIRE', KEYS[3], ARGV[2])
+            end
+            return ARGV[1] .. ':0'
+            """, String.class);
 
     private final StringRedisTemplate redisTemplate;
     private final long codeTtlSeconds;
     private final long blockTtlSeconds;
+    private final long reuseWindowSeconds;
 
     public MfaRedisRepository(
             StringRedisTemplate redisTemplate,
             @Value("${mfa.code.ttl}") long codeTtlSeconds,
-            @Value("${mfa.block.ttl}") long blockTtlSeconds
+            @Value("${mfa.block.ttl}") long blockTtlSeconds,
+            @Value("${mfa.code.reuse-window:60}") long reuseWindowSeconds
     ) {
         this.redisTemplate = redisTemplate;
         this.codeTtlSeconds = codeTtlSeconds;
         this.blockTtlSeconds = blockTtlSeconds;
+        this.reuseWindowSeconds = reuseWindowSeconds;
     }
 
     @Override
@@ -40,6 +75,32 @@ public class MfaRedisRepository implements MfaRepository {
         redisTemplate.opsForValue().set(attemptsKey, "0", codeTtlSeconds, TimeUnit.SECONDS);
     }
 
+    @Override
+    public MfaCodeIssue issueCode(UserId userId, MfaCode candidate) {
+        String result = redisTemplate.execute(
+                ISSUE_CODE,
+                List.of(
+                        MFA_CODE_PREFIX + userId.value(),
+                        MFA_SENT_PREFIX + userId.value(),
+                        MFA_ATTEMPTS_PREFIX + userId.value()
+                ),
+                candidate.value(),
+                String.valueOf(codeTtlSeconds),
+                String.valueOf(reuseWindowSeconds)
+        );
+        if (result == null) {
+            throw new IllegalStateException("MFA issue script returned no result");
+        }
+
+        int separator = result.indexOf(':');
+        return new MfaCodeIssue(new MfaCode(result.substring(0, separator)), result.endsWith(":1"));
+    }
+
+    @Override
+    public void markCodeUnsent(UserId userId) {
+        redisTemplate.delete(MFA_SENT_PREFIX + userId.value());
+    }
+
     @Override
     public Optional<MfaCode> findCode(UserId userId) {
         String key = MFA_CODE_PREFIX + userId.value();
@@ -51,8 +112,8 @@ public class MfaRedisRepository implements MfaRepository {
     public void deleteCode(UserId userId) {
         String codeKey = MFA_CODE_PREFIX + userId.value();
         String attemptsKey = MFA_ATTEMPTS_PREFIX + userId.value();
-        redisTemplate.delete(codeKey);
-        redisTemplate.delete(attemptsKey);
+        String sentKey = MFA_SENT_PREFIX + userId.value();
+        redisTemplate.delete(List.of(codeKey, attemptsKey, sentKey));
     }
 
     @Override
@@ -71,8 +132,13 @@ public class MfaRedisRepository implements MfaRepository {
 
     @Override
     public void block(UserId userId) {
+        block(userId, blockTtlSeconds);
+    }
+
+    @Override
+    public void block(UserId userId, long ttlSeconds) {
         String key = MFA_BLOCK_PREFIX + userId.value();
-        redisTemplate.opsForValue().set(key, "blocked", blockTtlSeconds, TimeUnit.SECONDS);
+        redisTemplate.opsForValue().set(key, "blocked", ttlSeconds, TimeUnit.SECONDS);
 
         deleteCode(userId);
     }
@@ -89,4 +155,28 @@ public class MfaRedisRepository implements MfaRepository {
         Long ttl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
         return ttl != null && ttl > 0 ? ttl : 0;
     }
+
+    @Override
+    public MfaVerification verifyCode(UserId userId, String code, int maxAttempts) {
+        if (isBlocked(userId)) {
+            return new MfaVerification(Status.BLOCKED, 0, getBlockTtl(userId));
+        }
+
+        var storedCode = findCode(userId);
+        if (storedCode.isEmpty()) {
+            return new MfaVerification(Status.EXPIRED, 0, 0);
+        }
+
+        if (storedCode.get().matches(code)) {
+            deleteCode(userId);
+            return new MfaVerification(Status.VALID, 0, 0);
+        }
+
+        int attempts = incrementAttempts(userId);
+        if (attempts >= maxAttempts) {
+            block(userId);
+            return new MfaVerification(Status.ATTEMPTS_EXHAUSTED, attempts, getBlockTtl(userId));
+        }
+        return new MfaVerification(Status.INVALID, attempts, 0);
+    }
 }
@@ -0,0 +1,87 @@
+package br.com.labs.infrastructure.persistence.redis;
+
+import br.com.labs.domain.auth.RateLimitLease;
+import br.com.labs.domain.auth.RateLimitRepository;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Janela deslizante aproximada com dois contadores fixos em
+ * {@code ratelimit:{key}:{janela}}: o da janela anterior pesa proporcionalmente ao
+ * quanto dela ainda cai dentro da janela deslizante.
+ *
+ * As janelas são calculadas aqui e as duas chaves vão em KEYS com a chave do limite
+ * como hash tag, então caem no mesmo slot do Redis Cluster.
+ */
+@Repository
+public class RateLimitRedisRepository implements RateLimitRepository {
+
+    private static final String RATE_LIMIT_PREFIX = "ratelimit:";
+
+    /**
+     * Retorna "concedido:retryAfter". KEYS: janela atual, janela anterior.
+     * ARGV: quantidade pedida, limite, janela em ms, ms decorridos da janela atual.
+     */
+    private static final RedisScript<String> LEASE = RedisScript.of("""
+            local requested = tonumber(ARGV[1])
+            local limit = tonumber(ARGV[2])
+            local window = tonumber(ARGV[3])
+            local elapsed = tonumber(ARGV[4])
+
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local previous = tonumber(redis.call('GET', KEYS[2]) or '0')
+
+            local used = previous * (window - elapsed) / window + current
+            local granted = math.min(requested, math.floor(limit - used))
+            if granted <= 0 then
+                return '0:' .. math.ceil((window - elapsed) / 1000)
+            end
+
+            redis.call('INCRBY', KEYS[1], granted)
+            redis.call('PEXPIRE', KEYS[1], window * 2)
+            return granted .. ':0'
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Clock clock;
+
+    public RateLimitRedisRepository(StringRedisTemplate redisTemplate) {
+        this(redisTemplate, Clock.systemUTC());
+    }
+
+    RateLimitRedisRepository(StringRedisTemplate redisTemplate, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+    }
+
+    @Override
+    public RateLimitLease lease(String key, int requested, long limit, Duration window) {
+        long windowMs = window.toMillis();
+        long nowMs = clock.millis();
+        long index = nowMs / windowMs;
+        String prefix = RATE_LIMIT_PREFIX + "{" + key + "}:";
+
+        String result = redisTemplate.execute(
+                LEASE,
+                List.of(prefix + index, prefix + (index - 1)),
+                String.valueOf(requested),
+                String.valueOf(limit),
+                String.valueOf(windowMs),
+                String.valueOf(nowMs - index * windowMs)
+        );
+        if (result == null) {
+            throw new IllegalStateException("Rate limit script returned no result");
+        }
+
+        int separator = result.indexOf(':');
+        return new RateLimitLease(
+                Integer.parseInt(result.substring(0, separator)),
+                Long.parseLong(result.substring(separator + 1))
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.labs.infrastructure.persistence.redis;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Listener de um canal de pub/sub que também avisa cada vez que o canal é assinado.
+ *
+ * Pub/sub não guarda mensagens: se a conexão cai (inclusive quando o Redis derruba um
+ * assinante lento), o que foi publicado até o container assinar de novo se perde. Quem
+ * mantém estado local derivado do canal usa o aviso para reler a fonte.
+ */
+public final class ResyncingChannelListener implements MessageListener, SubscriptionListener {
+
+    private final Consumer<String> onMessage;
+    private final Runnable onSubscribed;
+
+    public ResyncingChannelListener(Consumer<String> onMessage, Runnable onSubscribed) {
+        this.onMessage = onMessage;
+        this.onSubscribed = onSubscribed;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        onMessage.accept(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        onSubscribed.run();
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.labs.infrastructure.persistence.redis;
+
+import br.com.labs.infrastructure.bloom.TimeSlicedBloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filter local dos JTIs revogados, para o Redis só ser consultado quando o
+ * filtro acusar um possível acerto.
+ *
+ * Cada nó recebe as revogações pelo canal {@value #REVOCATION_CHANNEL} e, ao subir,
+ * varre as chaves {@code blacklist:*} existentes. Enquanto essa varredura não termina
+ * o filtro responde "talvez" para tudo. As fatias expiram junto com o access token.
+ *
+ * Revogações publicadas enquanto o nó estava sem assinatura se perdem; por isso, a cada
+ * nova assinatura do canal o filtro volta a responder "talvez" e a varredura é refeita.
+ */
+@Component
+public class RevokedTokenNearCache {
+
+    static final String REVOCATION_CHANNEL = "token:revocations";
+
+    private static final Logger log = LoggerFactory.getLogger(RevokedTokenNearCache.class);
+    private static final String BLACKLIST_PATTERN = "blacklist:*";
+    private static final int BLACKLIST_PREFIX_LENGTH = "blacklist:".length();
+
+    private final StringRedisTemplate redisTemplate;
+    private final TimeSlicedBloomFilter filter;
+    private final AtomicLong snapshots = new AtomicLong();
+    private volatile boolean warmed;
+    private volatile boolean loadStarted;
+
+    public RevokedTokenNearCache(
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${jwt.access-token.expiration}") long accessTokenTtlMs,
+            @Value("${blacklist.filter.slices:4}") int slices,
+            @Value("${blacklist.filter.expected-insertions:100000}") int expectedInsertions,
+            @Value("${blacklist.filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.filter = new TimeSlicedBloomFilter(
+                Duration.ofMillis(accessTokenTtlMs),
+                slices,
+                expectedInsertions,
+                falsePositiveRate,
+                Clock.systemUTC()
+        );
+
+        listenerContainer.addMessageListener(
+                new ResyncingChannelListener(filter::put, this::onSubscribed),
+                new ChannelTopic(REVOCATION_CHANNEL)
+        );
+    }
+
+    public void add(String jti) {
+        filter.put(jti);
+    }
+
+    public boolean mightBeRevoked(String jti) {
+        return !warmed || filter.mightContain(jti);
+    }
+
+    private void onSubscribed() {
+        if (!loadStarted) {
+            return;
+        }
+        long snapshot;
+        synchronized (snapshots) {
+            snapshot = snapshots.incrementAndGet();
+            warmed = false;
+        }
+        log.info("Resubscribed to {}, reloading revoked token snapshot", REVOCATION_CHANNEL);
+        Thread.ofVirtual().name("revoked-token-resync").start(() -> loadSnapshot(snapshot));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadSnapshot() {
+        loadStarted = true;
+        loadSnapshot(snapshots.incrementAndGet());
+    }
+
+    /**
+     * Só a varredura mais recente libera o filtro: uma anterior que termine depois de
+     * uma reassinatura pode ter perdido revogações.
+     */
+    private void loadSnapshot(long snapshot) {
+        int loaded = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(BLACKLIST_PATTERN).count(1000).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                filter.put(cursor.next().substring(BLACKLIST_PREFIX_LENGTH));
+                loaded++;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not load revoked token snapshot, every check will hit Redis: {}", e.getMessage());
+            return;
+        }
+
+        synchronized (snapshots) {
+            if (snapshots.get() == snapshot) {
+                warmed = true;
+            }
+        }
+        log.info("Revoked token filter loaded with {} entries", loaded);
+    }
+}
@@ -1,47 +1,279 @@
 package br.com.labs.infrastructure.persistence.redis;
 
+import br.com.labs.domain.auth.RefreshSession;
+import br.com.labs.domain.auth.RefreshTokenId;
+import br.com.labs.domain.auth.RefreshTokenRotation;
 import br.com.labs.domain.auth.TokenRepository;
 import br.com.labs.domain.user.UserId;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
+/**
+ * Refresh tokens organizados em famílias.
+ *
+ * O JTI de um refresh token carrega a família ({@link RefreshTokenId}), então todas as
+ * chaves são derivadas antes do script e cada operação é um único EVAL. O hash
+ * {@code refresh:{userId}:{familyId}} guarda o token ativo da família e, depois de um
+ * reuso, a marca de família revogada; {@code user:sessions:{userId}} é um sorted set dos
+ * tokens ativos do usuário com a expiração como score. As chaves de um usuário dividem
+ * a hash tag {@code {userId}}: os scripts só tocam chaves recebidas em KEYS e todas caem
+ * no mesmo slot, como exige o Redis Cluster.
+ *
+ * JTIs emitidos antes das famílias continuam em {@code refresh:{tokenId}} até expirarem;
+ * a primeira troca os consome e abre uma família.
+ *
+ * A blacklist de access tokens passa antes pelo {@link RevokedTokenNearCache}: só
+ * JTIs que o filtro local acusa como possivelmente revogados chegam ao Redis.
+ * A revogação em massa de um usuário usa o {@link UserRevocationEpochCache}.
+ */
 @Repository
 public class TokenRedisRepository implements TokenRepository {
 
     private static final String REFRESH_TOKEN_PREFIX = "refresh:";
+    private static final String USER_SESSIONS_PREFIX = "user:sessions:";
     private static final String BLACKLIST_PREFIX = "blacklist:";
 
+    /**
+     * Encerra a família se o token ainda for o ativo e o tira do índice do usuário.
+     * Esperado: {@code local now} já definido.
+     */
+    private static final String REMOVE_TOKEN_FUNCTION = """
+            local function removeToken(familyKey, sessionsKey, tokenId)
+                if redis.call('HGET', familyKey, 'active') ~= tokenId then
+                    return 0
+                end
+                redis.call('DEL', familyKey)
+                redis.call('ZREM', sessionsKey, tokenId)
+                redis.call('ZREMRANGEBYSCORE', sessionsKey, '-inf', now)
+                return 1
+            end
+            """;
+
+    /**
+     * KEYS: família, sessões do usuário. ARGV: tokenId, TTL.
+     */
+    private static final RedisScript<Long> SAVE_REFRESH_TOKEN = RedisScript.of("""
+            local now = tonumber(redis.call('TIME')[1])
+            local ttl = tonumber(ARGV[2])
+            redis.call('HSET', KEYS[1], 'active', ARGV[1])
+            redis.call('EXPIRE', KEYS[1], ttl)
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now)
+            redis.call('ZADD', KEYS[2], now + ttl, ARGV[1])
+            redis.call('EXPIRE', KEYS[2], ttl)
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS: família, sessões do usuário. ARGV: tokenId.
+     */
+    private static final RedisScript<Long> DELETE_REFRESH_TOKEN = RedisScript.of(
+            "local now = tonumber(redis.call('TIME')[1])\n"
+                    + REMOVE_TOKEN_FUNCTION
+                    + "return removeToken(KEYS[1], KEYS[2], ARGV[1])\n",
+            Long.class);
+
+    /**
+     * KEYS: família, sessões do usuário. ARGV: tokenId atual, novo tokenId, TTL.
+     *
+     * Um token da família que não é o ativo já foi trocado: a família perde o token
+     * ativo e fica marcada como revogada, para que qualquer membro apresentado depois
+     * também caia em REUSED.
+     */
+    private static final RedisScript<String> ROTATE_REFRESH_TOKEN = RedisScript.of("""
+            local now = tonumber(redis.call('TIME')[1])
+            local ttl = tonumber(ARGV[3])
+            local active = redis.call('HGET', KEYS[1], 'active')
+            if active == ARGV[1] then
+                redis.call('HSET', KEYS[1], 'active', ARGV[2])
+                redis.call('EXPIRE', KEYS[1], ttl)
+                redis.call('ZREM', KEYS[2], ARGV[1])
+                redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now)
+                redis.call('ZADD', KEYS[2], now + ttl, ARGV[2])
+                redis.call('EXPIRE', KEYS[2], ttl)
+                return 'ROTATED'
+            end
+
+            if active or redis.call('HEXISTS', KEYS[1], 'revoked') == 1 then
+                if active then
+                    redis.call('HDEL', KEYS[1], 'active')
+                    redis.call('ZREM', KEYS[2], active)
+                end
+                redis.call('HSET', KEYS[1], 'revoked', '1')
+                return 'REUSED'
+            end
+
+            return 'NOT_FOUND'
+            """, String.class);
+
+    /**
+     * Retorna "tokenId:expiraEm,tokenId:expiraEm,...". KEYS: sessões do usuário.
+     */
+    private static final RedisScript<String> LIST_SESSIONS = RedisScript.of("""
+            local now = tonumber(redis.call('TIME')[1])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now)
+            local entries = redis.call('ZRANGE', KEYS[1], 0, -1, 'WITHSCORES')
+            local sessions = {}
+            for i = 1, #entries, 2 do
+                sessions[#sessions + 1] = entries[i] .. ':' .. entries[i + 1]
+            end
+            return table.concat(sessions, ',')
+            """, String.class);
+
+    /**
+     * KEYS: sessões do usuário e a família de cada tokenId. ARGV: tokenIds a revogar.
+     * Só remove tokens presentes no índice do próprio usuário.
+     */
+    private static final RedisScript<Long> REVOKE_SESSIONS = RedisScript.of(
+            "local now = tonumber(redis.call('TIME')[1])\n"
+                    + REMOVE_TOKEN_FUNCTION
+                    + """
+                    local revoked = 0
+                    for i, tokenId in ipairs(ARGV) do
+                        if redis.call('ZSCORE', KEYS[1], tokenId) then
+                            revoked = revoked + removeToken(KEYS[i + 1], KEYS[1], tokenId)
+                            redis.call('ZREM', KEYS[1], tokenId)
+                        end
+                    end
+                    return revoked
+                    """,
+            Long.class);
+
     private final StringRedisTemplate redisTemplate;
+    private final RevokedTokenNearCache revokedTokens;
+    private final UserRevocationEpochCache revocationEpochs;
     private final long refreshTokenTtlMs;
 
     public TokenRedisRepository(
             StringRedisTemplate redisTemplate,
+            RevokedTokenNearCache revokedTokens,
+            UserRevocationEpochCache revocationEpochs,
             @Value("${jwt.refresh-token.expiration}") long refreshTokenTtlMs
     ) {
         this.redisTemplate = redisTemplate;
+        this.revokedTokens = revokedTokens;
+        this.revocationEpochs = revocationEpochs;
         this.refreshTokenTtlMs = refreshTokenTtlMs;
     }
 
     @Override
     public void saveRefreshToken(String tokenId, UserId userId) {
-        String key = REFRESH_TOKEN_PREFIX + tokenId;
-        long ttlSeconds = refreshTokenTtlMs / 1000;
-        redisTemplate.opsForValue().set(key, userId.toString(), ttlSeconds, TimeUnit.SECONDS);
+        RefreshTokenId id = refreshTokenId(tokenId);
+        redisTemplate.execute(
+                SAVE_REFRESH_TOKEN,
+                List.of(familyKey(userId, id), sessionsKey(userId)),
+                tokenId,
+                String.valueOf(refreshTokenTtlSeconds())
+        );
     }
 
     @Override
-    public boolean existsRefreshToken(String tokenId) {
-        String key = REFRESH_TOKEN_PREFIX + tokenId;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+    public boolean existsRefreshToken(String tokenId, UserId userId) {
+        return RefreshTokenId.parse(tokenId)
+                .map(id -> tokenId.equals(redisTemplate.<String, String>opsForHash()
+                        .get(familyKey(userId, id), "active")))
+                .orElseGet(() -> Boolean.TRUE.equals(redisTemplate.hasKey(REFRESH_TOKEN_PREFIX + tokenId)));
+    }
+
+    @Override
+    public void deleteRefreshToken(String tokenId, UserId userId) {
+        var id = RefreshTokenId.parse(tokenId);
+        if (id.isEmpty()) {
+            redisTemplate.delete(REFRESH_TOKEN_PREFIX + tokenId);
+            return;
+        }
+        redisTemplate.execute(
+                DELETE_REFRESH_TOKEN,
+                List.of(familyKey(userId, id.get()), sessionsKey(userId)),
+                tokenId
+        );
+    }
+
+    @Override
+    public RefreshTokenRotation rotateRefreshToken(String currentTokenId, String newTokenId, UserId userId) {
+        var current = RefreshTokenId.parse(currentTokenId);
+        if (current.isEmpty()) {
+            return rotateLegacyRefreshToken(currentTokenId, newTokenId, userId);
+        }
+
+        String result = redisTemplate.execute(
+                ROTATE_REFRESH_TOKEN,
+                List.of(familyKey(userId, current.get()), sessionsKey(userId)),
+                currentTokenId,
+                newTokenId,
+                String.valueOf(refreshTokenTtlSeconds())
+        );
+        return result != null ? RefreshTokenRotation.valueOf(result) : RefreshTokenRotation.NOT_FOUND;
+    }
+
+    /**
+     * Token sem família: o DEL o consome para um único chamador e o novo token abre a
+     * família. Fica fora do script porque a chave antiga está em outro slot.
+     */
+    private RefreshTokenRotation rotateLegacyRefreshToken(String currentTokenId, String newTokenId, UserId userId) {
+        if (!Boolean.TRUE.equals(redisTemplate.delete(REFRESH_TOKEN_PREFIX + currentTokenId))) {
+            return RefreshTokenRotation.NOT_FOUND;
+        }
+        saveRefreshToken(newTokenId, userId);
+        return RefreshTokenRotation.ROTATED;
     }
 
     @Override
-    public void deleteRefreshToken(String tokenId) {
-        String key = REFRESH_TOKEN_PREFIX + tokenId;
-        redisTemplate.delete(key);
+    public List<RefreshSession> findSessions(UserId userId) {
+        String result = redisTemplate.execute(LIST_SESSIONS, List.of(sessionsKey(userId)));
+        if (result == null || result.isEmpty()) {
+            return List.of();
+        }
+
+        return Arrays.stream(result.split(","))
+                .map(entry -> {
+                    int separator = entry.lastIndexOf(':');
+                    return new RefreshSession(
+                            entry.substring(0, separator),
+                            Instant.ofEpochSecond(Long.parseLong(entry.substring(separator + 1)))
+                    );
+                })
+                .toList();
+    }
+
+    /**
+     * Sem tokenIds, lê o índice antes do script para declarar a família de cada token;
+     * uma sessão criada entre a leitura e o script fica de fora, como se tivesse sido
+     * criada logo depois.
+     */
+    @Override
+    public int revokeSessions(UserId userId, Collection<String> tokenIds) {
+        String sessionsKey = sessionsKey(userId);
+        Collection<String> candidates = tokenIds.isEmpty()
+                ? redisTemplate.opsForZSet().range(sessionsKey, 0, -1)
+                : tokenIds;
+        if (candidates == null) {
+            return 0;
+        }
+
+        List<String> keys = new ArrayList<>(List.of(sessionsKey));
+        List<String> ids = new ArrayList<>();
+        for (String tokenId : candidates) {
+            RefreshTokenId.parse(tokenId).ifPresent(id -> {
+                keys.add(familyKey(userId, id));
+                ids.add(tokenId);
+            });
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        Long revoked = redisTemplate.execute(REVOKE_SESSIONS, keys, ids.toArray());
+        return revoked != null ? revoked.intValue() : 0;
     }
 
     @Override
@@ -50,12 +282,48 @@ public class TokenRedisRepository implements TokenRepository {
             return;
         }
         String key = BLACKLIST_PREFIX + jti;
-        redisTemplate.opsForValue().set(key, "revoked", ttlSeconds, TimeUnit.SECONDS);
+        revokedTokens.add(jti);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            var commands = (StringRedisConnection) connection;
+            commands.setEx(key, ttlSeconds, "revoked");
+            commands.publish(RevokedTokenNearCache.REVOCATION_CHANNEL, jti);
+            return null;
+        });
     }
 
     @Override
     public boolean isBlacklisted(String jti) {
+        if (!revokedTokens.mightBeRevoked(jti)) {
+            return false;
+        }
         String key = BLACKLIST_PREFIX + jti;
         return Boolean.TRUE.equals(redisTemplate.hasKey(key));
     }
+
+    @Override
+    public void revokeAllForUser(UserId userId, Instant revokedAt) {
+        revocationEpochs.revoke(userId.toString(), revokedAt);
+    }
+
+    @Override
+    public boolean isRevokedForUser(UserId userId, Instant issuedAt) {
+        return revocationEpochs.isRevoked(userId.toString(), issuedAt);
+    }
+
+    private static String familyKey(UserId userId, RefreshTokenId id) {
+        return REFRESH_TOKEN_PREFIX + "{" + userId + "}:" + id.family();
+    }
+
+    private static String sessionsKey(UserId userId) {
+        return USER_SESSIONS_PREFIX + "{" + userId + "}";
+    }
+
+    private static RefreshTokenId refreshTokenId(String tokenId) {
+        return RefreshTokenId.parse(tokenId)
+                .orElseThrow(() -> new IllegalArgumentException("Refresh token id has no family"));
+    }
+
+    private long refreshTokenTtlSeconds() {
+        return refreshTokenTtlMs / 1000;
+    }
 }
@@ -0,0 +1,101 @@
+package br.com.labs.infrastructure.persistence.redis;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Época de revogação por usuário: tokens emitidos até esse instante (epoch em
+ * milissegundos) são inválidos.
+ *
+ * O iat do JWT só tem segundos, então um token cujo segundo de emissão começa até a
+ * revogação é tratado como anterior a ela: na dúvida dentro do mesmo segundo, revoga.
+ *
+ * O valor fica em {@code revoked-before:{userId}} e cada nó guarda uma cópia local.
+ * Uma revogação é publicada em {@value #REVOCATION_CHANNEL} e atualiza a cópia dos
+ * outros nós na hora; a expiração local só cobre mensagens perdidas.
+ */
+@Component
+public class UserRevocationEpochCache {
+
+    static final String REVOCATION_CHANNEL = "token:user-revocations";
+
+    private static final String REVOKED_BEFORE_PREFIX = "revoked-before:";
+    private static final long NOT_REVOKED = 0L;
+
+    private final StringRedisTemplate redisTemplate;
+    private final LoadingCache<String, Long> epochs;
+    private final long keyTtlSeconds;
+
+    public UserRevocationEpochCache(
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.refresh-token.expiration}") long refreshTokenTtlMs,
+            @Value("${revocation.cache.maximum-size:100000}") long maximumSize,
+            @Value("${revocation.cache.expire-after-write:30s}") Duration expireAfterWrite
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.keyTtlSeconds = refreshTokenTtlMs / 1000;
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(this::load);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, epochs, "revocation.epoch");
+
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onRevocation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(REVOCATION_CHANNEL)
+        );
+    }
+
+    /**
+     * Grava a época e avisa os demais nós no mesmo round trip. O TTL da chave é o do
+     * refresh token: depois disso nenhum token anterior à revogação continua válido.
+     */
+    public void revoke(String userId, Instant revokedAt) {
+        long revokedBefore = revokedAt.toEpochMilli();
+        String epoch = String.valueOf(revokedBefore);
+        epochs.asMap().merge(userId, revokedBefore, Math::max);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            var commands = (StringRedisConnection) connection;
+            commands.setEx(REVOKED_BEFORE_PREFIX + userId, keyTtlSeconds, epoch);
+            commands.publish(REVOCATION_CHANNEL, userId + ":" + epoch);
+            return null;
+        });
+    }
+
+    public boolean isRevoked(String userId, Instant issuedAt) {
+        return issuedAt.toEpochMilli() <= epochs.get(userId);
+    }
+
+    private Long load(String userId) {
+        String epoch = redisTemplate.opsForValue().get(REVOKED_BEFORE_PREFIX + userId);
+        return epoch != null ? Long.parseLong(epoch) : NOT_REVOKED;
+    }
+
+    private void onRevocation(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+        String userId = payload.substring(0, separator);
+        long epoch = Long.parseLong(payload.substring(separator + 1));
+        epochs.asMap().merge(userId, epoch, Math::max);
+    }
+}
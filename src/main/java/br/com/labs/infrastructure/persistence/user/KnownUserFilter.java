@@ -0,0 +1,239 @@
+package br.com.labs.infrastructure.persistence.user;
+
+import br.com.labs.infrastructure.bloom.ScalableBloomFilter;
+import br.com.labs.infrastructure.persistence.redis.ResyncingChannelListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloom filter local dos usernames e emails cadastrados, para que lookups de
+ * usuários inexistentes não cheguem ao banco.
+ *
+ * Ao subir, a tabela {@code users} é lida em streaming numa thread separada e, até
+ * essa carga terminar, o filtro responde "talvez" para tudo. Cada cadastro entra no
+ * filtro local e é publicado em {@value #USER_CHANNEL} para os demais nós, ambos só
+ * depois do commit. A leitura completa é refeita a cada {@code rebuild-interval} e
+ * sempre que o canal é assinado de novo, já que mensagens publicadas durante uma
+ * queda da conexão se perdem.
+ *
+ * Um falso negativo faz o login de um usuário real responder "não existe", então
+ * nenhum cadastro pode ficar de fora: o filtro em construção passa a receber os
+ * cadastros antes da leitura começar, e um cadastro só é anunciado depois de
+ * visível para essa leitura.
+ */
+@Component
+public class KnownUserFilter {
+
+    static final String USER_CHANNEL = "users:registered";
+
+    private static final Logger log = LoggerFactory.getLogger(KnownUserFilter.class);
+    private static final String SELECT_IDENTIFIERS = "SELECT username, email FROM users";
+    private static final String USERNAME_PREFIX = "u:";
+    private static final String EMAIL_PREFIX = "e:";
+    private static final int FETCH_SIZE = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration rebuildInterval;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile ScalableBloomFilter current;
+    private volatile ScalableBloomFilter building;
+    private volatile boolean loaded;
+    private volatile boolean loadStarted;
+
+    public KnownUserFilter(
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${users.filter.enabled:true}") boolean enabled,
+            @Value("${users.filter.expected-insertions:100000}") int expectedInsertions,
+            @Value("${users.filter.false-positive-rate:0.001}") double falsePositiveRate,
+            @Value("${users.filter.rebuild-interval:6h}") Duration rebuildInterval
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildInterval = rebuildInterval;
+        this.current = newFilter();
+
+        listenerContainer.addMessageListener(
+                new ResyncingChannelListener(this::onRegistration, this::onSubscribed),
+                new ChannelTopic(USER_CHANNEL)
+        );
+    }
+
+    /**
+     * Registra o usuário neste nó e avisa os demais após o commit da transação atual
+     * (ou já, se não houver uma). Anunciado antes, o cadastro poderia entrar só no
+     * filtro antigo de um nó cuja releitura ainda não o enxergava, e sumir na troca.
+     */
+    public void add(String username, String email) {
+        afterCommit(() -> {
+            addLocally(username, email);
+            redisTemplate.convertAndSend(USER_CHANNEL, username + " " + email);
+        });
+    }
+
+    /**
+     * Versão em lote de {@link #add}: as publicações saem num único pipeline.
+     */
+    public void addAll(Map<String, String> emailsByUsername) {
+        afterCommit(() -> {
+            emailsByUsername.forEach(this::addLocally);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                var commands = (StringRedisConnection) connection;
+                emailsByUsername.forEach((username, email) -> commands.publish(USER_CHANNEL, username + " " + email));
+                return null;
+            });
+        });
+    }
+
+    public boolean mightContainUsername(String username) {
+        return !loaded || current.mightContain(USERNAME_PREFIX + username);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !loaded || current.mightContain(EMAIL_PREFIX + email);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void startLoading() {
+        if (!enabled) {
+            log.info("Known user filter disabled, every lookup will hit the database");
+            return;
+        }
+        Thread.ofVirtual().name("known-user-filter").start(this::rebuildPeriodically);
+    }
+
+    /**
+     * Nova assinatura do canal (reconexão): o que foi publicado enquanto a conexão
+     * estava fora se perdeu, então relê a tabela. A primeira assinatura, antes da
+     * carga inicial começar, não precisa disso.
+     */
+    private void onSubscribed() {
+        if (enabled && loadStarted) {
+            log.info("Resubscribed to {}, rebuilding known user filter", USER_CHANNEL);
+            Thread.ofVirtual().name("known-user-filter-resync").start(this::rebuild);
+        }
+    }
+
+    private void rebuildPeriodically() {
+        while (!Thread.currentThread().isInterrupted()) {
+            rebuild();
+            if (rebuildInterval.isZero() || rebuildInterval.isNegative()) {
+                return;
+            }
+            try {
+                Thread.sleep(rebuildInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Monta um filtro novo a partir da tabela e troca o atual. O filtro novo passa a
+     * receber os cadastros antes da leitura começar, então tudo o que for anunciado
+     * depois disso entra nele mesmo que a leitura não enxergue.
+     */
+    void rebuild() {
+        rebuildLock.lock();
+        try {
+            loadStarted = true;
+            rebuildFromTable();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildFromTable() {
+        var next = newFilter();
+        building = next;
+        long started = System.nanoTime();
+        long[] rows = {0};
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.query(SELECT_IDENTIFIERS, rs -> {
+                        next.put(USERNAME_PREFIX + rs.getString(1));
+                        next.put(EMAIL_PREFIX + rs.getString(2));
+                        rows[0]++;
+                    })
+            );
+            current = next;
+            loaded = true;
+            log.info("Known user filter loaded with {} users in {} ms",
+                    rows[0], Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Could not load known user filter: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    private void onRegistration(String payload) {
+        int separator = payload.indexOf(' ');
+        if (separator <= 0) {
+            return;
+        }
+        addLocally(payload.substring(0, separator), payload.substring(separator + 1));
+    }
+
+    private void addLocally(String username, String email) {
+        var next = building;
+        if (next != null) {
+            next.put(USERNAME_PREFIX + username);
+            next.put(EMAIL_PREFIX + email);
+        }
+        var filter = current;
+        filter.put(USERNAME_PREFIX + username);
+        filter.put(EMAIL_PREFIX + email);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private ScalableBloomFilter newFilter() {
+        return new ScalableBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+}
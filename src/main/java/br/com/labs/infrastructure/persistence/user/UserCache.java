@@ -0,0 +1,156 @@
+package br.com.labs.infrastructure.persistence.user;
+
+import br.com.labs.domain.user.User;
+import br.com.labs.domain.user.UserId;
+import br.com.labs.domain.user.Username;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache local de usuários já reconstituídos, indexado por id e por username.
+ *
+ * {@code User} é mutável, então o cache guarda uma cópia própria e devolve outra
+ * a cada acerto. O username nunca muda, por isso o índice username → id não precisa
+ * de invalidação; um {@code save} remove só a entrada por id, neste nó e nos demais
+ * pelo canal {@value #INVALIDATION_CHANNEL}. A expiração local cobre mensagens
+ * perdidas.
+ *
+ * Uma carga que começou antes da última invalidação do mesmo id não fica no cache:
+ * ela pode ter lido a linha antes do commit (inclusive o hash de senha antigo).
+ */
+@Component
+public class UserCache {
+
+    static final String INVALIDATION_CHANNEL = "users:invalidations";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<UserId, User> usersById;
+    private final Cache<String, UserId> idsByUsername;
+    private final Cache<UserId, Long> invalidatedAt;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public UserCache(
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${users.cache.maximum-size:10000}") long maximumSize,
+            @Value("${users.cache.expire-after-write:2m}") Duration expireAfterWrite
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.idsByUsername = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.invalidatedAt = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByUsername, "users.by-username");
+
+        listenerContainer.addMessageListener(
+                (message, pattern) -> invalidateLocally(
+                        UserId.from(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(INVALIDATION_CHANNEL)
+        );
+    }
+
+    public Optional<User> findById(UserId id, Supplier<Optional<User>> loader) {
+        User cached = usersById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        long started = sequence.get();
+        return loader.get().map(user -> remember(user, started));
+    }
+
+    public Optional<User> findByUsername(Username username, Supplier<Optional<User>> loader) {
+        UserId id = idsByUsername.getIfPresent(username.value());
+        if (id != null) {
+            User cached = usersById.getIfPresent(id);
+            if (cached != null) {
+                return Optional.of(copy(cached));
+            }
+        }
+        long started = sequence.get();
+        return loader.get().map(user -> remember(user, started));
+    }
+
+    /**
+     * Remove o usuário agora e de novo após o commit, para que uma leitura
+     * concorrente feita antes do commit não deixe a versão antiga no cache.
+     */
+    public void invalidate(UserId id) {
+        invalidateLocally(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateLocally(id);
+                    redisTemplate.convertAndSend(INVALIDATION_CHANNEL, id.toString());
+                }
+            });
+            return;
+        }
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, id.toString());
+    }
+
+    private void invalidateLocally(UserId id) {
+        invalidatedAt.put(id, sequence.incrementAndGet());
+        usersById.invalidate(id);
+    }
+
+    /**
+     * Grava e só depois confere a invalidação, para não perder uma que chegue entre
+     * as duas coisas; se houve uma desde {@code started}, desfaz a gravação.
+     */
+    private User remember(User user, long started) {
+        if (invalidatedSince(user.getId(), started)) {
+            return user;
+        }
+        usersById.put(user.getId(), copy(user));
+        idsByUsername.put(user.getUsername().value(), user.getId());
+        if (invalidatedSince(user.getId(), started)) {
+            usersById.invalidate(user.getId());
+        }
+        return user;
+    }
+
+    private boolean invalidatedSince(UserId id, long started) {
+        Long last = invalidatedAt.getIfPresent(id);
+        return last != null && last > started;
+    }
+
+    private static User copy(User user) {
+        return User.reconstitute(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getCreatedAt(),
+                user.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.labs.infrastructure.persistence.user;
+
+import br.com.labs.domain.exception.UserAlreadyExistsException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Traduz a violação das constraints únicas de {@code users} para o campo duplicado.
+ *
+ * Os nomes são os gerados pelo PostgreSQL para as colunas {@code UNIQUE} da V1. A
+ * mensagem do driver é do tipo {@code duplicate key value violates unique constraint
+ * "users_username_key"}.
+ */
+public final class UserUniqueConstraints {
+
+    static final String USERNAME_CONSTRAINT = "users_username_key";
+    static final String EMAIL_CONSTRAINT = "users_email_key";
+
+    private UserUniqueConstraints() {
+    }
+
+    /**
+     * Retorna a exceção de domínio correspondente, ou a própria violação quando ela
+     * não vem de username nem de email.
+     */
+    public static RuntimeException translate(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message == null) {
+            return e;
+        }
+        if (message.contains(USERNAME_CONSTRAINT)) {
+            return new UserAlreadyExistsException("username");
+        }
+        if (message.contains(EMAIL_CONSTRAINT)) {
+            return new UserAlreadyExistsException("email");
+        }
+        return e;
+    }
+}
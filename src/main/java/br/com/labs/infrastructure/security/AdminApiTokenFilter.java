@@ -0,0 +1,62 @@
+package br.com.labs.infrastructure.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Autentica as rotas {@code /api/v1/admin/**} pelo header {@value #ADMIN_TOKEN_HEADER}.
+ *
+ * Sem {@code admin.api-token} configurado ninguém recebe {@code ROLE_ADMIN} e as
+ * rotas de administração ficam fechadas.
+ */
+@Component
+public class AdminApiTokenFilter extends OncePerRequestFilter {
+
+    static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+    static final String ADMIN_PATH_PREFIX = "/api/v1/admin/";
+
+    private final byte[] apiToken;
+
+    public AdminApiTokenFilter(@Value("${admin.api-token:}") String apiToken) {
+        this.apiToken = apiToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(ADMIN_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String token = request.getHeader(ADMIN_TOKEN_HEADER);
+        if (apiToken.length > 0 && token != null
+                && MessageDigest.isEqual(apiToken, token.getBytes(StandardCharsets.UTF_8))) {
+            var authentication = new UsernamePasswordAuthenticationToken(
+                    "admin",
+                    null,
+                    List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))
+            );
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
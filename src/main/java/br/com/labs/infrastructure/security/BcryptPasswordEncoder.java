@@ -1,21 +1,143 @@
 package br.com.labs.infrastructure.security;
 
 import br.com.labs.domain.auth.PasswordEncoder;
+import br.com.labs.domain.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt executado em um pool dedicado de platform threads.
+ *
+ * Com virtual threads habilitadas, cada login seria um bcrypt concorrente ocupando
+ * um carrier thread. O pool limita o paralelismo ao número de núcleos e a fila é
+ * limitada: quando enche, o pedido falha na hora com {@link ServiceOverloadedException}
+ * em vez de acumular trabalho e degradar os demais endpoints.
+ */
 @Component
 public class BcryptPasswordEncoder implements PasswordEncoder {
 
-    private static final int LOG_ROUNDS = 12;
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$[./A-Za-z0-9]{53}$");
+    private static final int MIN_LOG_ROUNDS = 4;
+
+    private final int logRounds;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public BcryptPasswordEncoder(
+            @Value("${bcrypt.strength:12}") int logRounds,
+            @Value("${bcrypt.pool.size:0}") int poolSize,
+            @Value("${bcrypt.pool.queue-capacity:64}") int queueCapacity,
+            @Value("${bcrypt.retry-after:1}") long retryAfterSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+
+        this.logRounds = logRounds;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("bcrypt-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("bcrypt.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a bcrypt thread")
+                .register(meterRegistry);
+        Gauge.builder("bcrypt.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("bcrypt.queue.wait")
+                .description("Time a password hashing task waited in the queue")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("bcrypt.rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+    }
 
     @Override
     public String encode(String rawPassword) {
-        return BCrypt.hashpw(rawPassword, BCrypt.gensalt(LOG_ROUNDS));
+        return submit(() -> BCrypt.hashpw(rawPassword, BCrypt.gensalt(logRounds)));
     }
 
     @Override
     public boolean matches(String rawPassword, String encodedPassword) {
-        return BCrypt.checkpw(rawPassword, encodedPassword);
+        return submit(() -> BCrypt.checkpw(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public String encodeInCallerThread(String rawPassword) {
+        return BCrypt.hashpw(rawPassword, BCrypt.gensalt(logRounds));
+    }
+
+    /**
+     * Aceita só custos até {@code bcrypt.strength}: um hash importado com custo 31
+     * faria cada login daquele usuário ocupar uma thread do pool por horas.
+     */
+    @Override
+    public boolean isEncoded(String value) {
+        if (value == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_HASH.matcher(value);
+        if (!matcher.matches()) {
+            return false;
+        }
+        int cost = Integer.parseInt(matcher.group(1));
+        return cost >= MIN_LOG_ROUNDS && cost <= logRounds;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
     }
 }
@@ -42,13 +42,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (token != null) {
             try {
-                var jti = jwtTokenProvider.extractJti(token);
+                var claims = jwtTokenProvider.parse(token);
 
-                if (tokenRepository.isBlacklisted(jti)) {
+                if (tokenRepository.isBlacklisted(claims.jti())) {
+                    throw new InvalidTokenException("Token revoked");
+                }
+
+                UserId userId = jwtTokenProvider.validateAccessToken(claims);
+
+                if (tokenRepository.isRevokedForUser(userId, claims.issuedAt())) {
                     throw new InvalidTokenException("Token revoked");
                 }
 
-                UserId userId = jwtTokenProvider.validateAccessToken(token);
                 setAuthentication(userId, request);
 
             } catch (InvalidTokenException e) {
@@ -1,12 +1,14 @@
 package br.com.labs.infrastructure.security;
 
 import br.com.labs.domain.auth.MfaToken;
+import br.com.labs.domain.auth.RefreshTokenId;
 import br.com.labs.domain.auth.TokenPair;
 import br.com.labs.domain.exception.InvalidTokenException;
 import br.com.labs.domain.user.UserId;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,6 +29,7 @@ public class JwtTokenProvider {
     private static final String TOKEN_TYPE_MFA = "mfa";
 
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
     private final long mfaTokenExpiration;
@@ -38,38 +41,81 @@ public class JwtTokenProvider {
             @Value("${jwt.mfa-token.expiration}") long mfaTokenExpiration
     ) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
         this.mfaTokenExpiration = mfaTokenExpiration;
     }
 
     public TokenPair generateTokenPair(UserId userId) {
+        return generateTokenPair(userId, RefreshTokenId.newFamily());
+    }
+
+    /**
+     * Par emitido na troca: o novo refresh token continua a família do atual. Um JTI
+     * anterior às famílias inicia uma família nova.
+     */
+    public TokenPair rotateTokenPair(UserId userId, String currentRefreshTokenId) {
+        var next = RefreshTokenId.parse(currentRefreshTokenId)
+                .map(RefreshTokenId::next)
+                .orElseGet(RefreshTokenId::newFamily);
+        return generateTokenPair(userId, next);
+    }
+
+    private TokenPair generateTokenPair(UserId userId, RefreshTokenId refreshId) {
         var now = Instant.now();
 
-        var accessToken = buildToken(userId, TOKEN_TYPE_ACCESS, now, accessTokenExpiration);
-        var refreshToken = buildToken(userId, TOKEN_TYPE_REFRESH, now, refreshTokenExpiration);
+        var refreshTokenId = refreshId.toString();
+        var accessToken = buildToken(UUID.randomUUID().toString(), userId, TOKEN_TYPE_ACCESS, now, accessTokenExpiration);
+        var refreshToken = buildToken(refreshTokenId, userId, TOKEN_TYPE_REFRESH, now, refreshTokenExpiration);
 
-        return new TokenPair(accessToken, refreshToken, accessTokenExpiration, refreshTokenExpiration);
+        return new TokenPair(accessToken, refreshToken, refreshTokenId, accessTokenExpiration, refreshTokenExpiration);
     }
 
     public MfaToken generateMfaToken(UserId userId) {
         var now = Instant.now();
-        var token = buildToken(userId, TOKEN_TYPE_MFA, now, mfaTokenExpiration);
+        var token = buildToken(UUID.randomUUID().toString(), userId, TOKEN_TYPE_MFA, now, mfaTokenExpiration);
         return new MfaToken(token, mfaTokenExpiration);
     }
 
+    /**
+     * Verifica a assinatura uma única vez e devolve as claims.
+     * Use as sobrecargas que recebem {@link VerifiedClaims} para não reverificar o mesmo token.
+     */
+    public VerifiedClaims parse(String token) {
+        try {
+            return toVerifiedClaims(parseToken(token));
+        } catch (ExpiredJwtException e) {
+            throw new InvalidTokenException("Token expired");
+        } catch (JwtException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+    }
+
     public UserId validateAccessToken(String token) {
         return validateToken(token, TOKEN_TYPE_ACCESS);
     }
 
+    public UserId validateAccessToken(VerifiedClaims claims) {
+        return validateToken(claims, TOKEN_TYPE_ACCESS);
+    }
+
     public UserId validateRefreshToken(String token) {
         return validateToken(token, TOKEN_TYPE_REFRESH);
     }
 
+    public UserId validateRefreshToken(VerifiedClaims claims) {
+        return validateToken(claims, TOKEN_TYPE_REFRESH);
+    }
+
     public UserId validateMfaToken(String token) {
         return validateToken(token, TOKEN_TYPE_MFA);
     }
 
+    public UserId validateMfaToken(VerifiedClaims claims) {
+        return validateToken(claims, TOKEN_TYPE_MFA);
+    }
+
     public String extractJti(String token) {
         try {
             var claims = parseToken(token);
@@ -92,6 +138,10 @@ public class JwtTokenProvider {
         }
     }
 
+    public long getRemainingTtlSeconds(VerifiedClaims claims) {
+        return claims.remainingTtlSeconds(Instant.now());
+    }
+
     public String extractRefreshTokenId(String token) {
         try {
             var claims = parseToken(token);
@@ -105,11 +155,18 @@ public class JwtTokenProvider {
         }
     }
 
-    private String buildToken(UserId userId, String tokenType, Instant now, long expirationMs) {
+    public String extractRefreshTokenId(VerifiedClaims claims) {
+        if (!TOKEN_TYPE_REFRESH.equals(claims.type())) {
+            throw new InvalidTokenException("Not a refresh token");
+        }
+        return claims.jti();
+    }
+
+    private String buildToken(String jti, UserId userId, String tokenType, Instant now, long expirationMs) {
         var expiration = now.plusMillis(expirationMs);
 
         return Jwts.builder()
-                .id(UUID.randomUUID().toString())
+                .id(jti)
                 .subject(userId.toString())
                 .claim(CLAIM_TOKEN_TYPE, tokenType)
                 .issuedAt(Date.from(now))
@@ -119,27 +176,34 @@ public class JwtTokenProvider {
     }
 
     private UserId validateToken(String token, String expectedType) {
-        try {
-            var claims = parseToken(token);
-            var type = claims.get(CLAIM_TOKEN_TYPE, String.class);
+        return validateToken(parse(token), expectedType);
+    }
 
-            if (!expectedType.equals(type)) {
-                throw new InvalidTokenException("Invalid token type");
-            }
+    private UserId validateToken(VerifiedClaims claims, String expectedType) {
+        if (!expectedType.equals(claims.type())) {
+            throw new InvalidTokenException("Invalid token type");
+        }
+        return UserId.from(claims.subject());
+    }
 
-            return UserId.from(claims.getSubject());
-        } catch (ExpiredJwtException e) {
-            throw new InvalidTokenException("Token expired");
-        } catch (JwtException e) {
+    /**
+     * Tokens emitidos aqui sempre têm iat e exp; um token assinado sem eles é rejeitado
+     * em vez de estourar um NullPointerException.
+     */
+    private VerifiedClaims toVerifiedClaims(Claims claims) {
+        if (claims.getIssuedAt() == null || claims.getExpiration() == null) {
             throw new InvalidTokenException("Malformed token");
         }
+        return new VerifiedClaims(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get(CLAIM_TOKEN_TYPE, String.class),
+                claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant()
+        );
     }
 
     private Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 }
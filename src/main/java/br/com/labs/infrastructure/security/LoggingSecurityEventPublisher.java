@@ -2,23 +2,36 @@ package br.com.labs.infrastructure.security;
 
 import br.com.labs.domain.auth.SecurityEvent;
 import br.com.labs.domain.auth.SecurityEventPublisher;
+import br.com.labs.infrastructure.audit.AsyncSecurityEventPublisher;
+import br.com.labs.infrastructure.audit.SecurityEventSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Implementação do SecurityEventPublisher que loga os eventos.
  *
+ * Por padrão é um dos sinks do {@link AsyncSecurityEventPublisher}, que formata as
+ * linhas fora do request; com {@code security.events.async=false} volta a ser o
+ * publisher, chamado de forma síncrona.
+ *
  * Em produção, poderia:
  * - Enviar para um sistema de SIEM (Splunk, ELK, etc.)
  * - Publicar em uma fila (Kafka, RabbitMQ)
  * - Armazenar em banco para auditoria
  */
 @Component
-public class LoggingSecurityEventPublisher implements SecurityEventPublisher {
+public class LoggingSecurityEventPublisher implements SecurityEventPublisher, SecurityEventSink {
 
     private static final Logger log = LoggerFactory.getLogger("SECURITY_AUDIT");
 
+    @Override
+    public void accept(List<SecurityEvent> events) {
+        events.forEach(this::publish);
+    }
+
     @Override
     public void publish(SecurityEvent event) {
         switch (event) {
@@ -26,6 +39,10 @@ public class LoggingSecurityEventPublisher implements SecurityEventPublisher {
                     log.warn("[LOGIN_FAILURE] user={} ip={} reason={}",
                             e.userId(), e.ipAddress(), e.reason());
 
+            case SecurityEvent.UnknownUserLoginFailure e ->
+                    log.warn("[UNKNOWN_USER_LOGIN_FAILURE] username={} ip={}",
+                            e.username(), e.ipAddress());
+
             case SecurityEvent.MfaFailure e ->
                     log.warn("[MFA_FAILURE] user={} ip={} attempt={}",
                             e.userId(), e.ipAddress(), e.attemptNumber());
@@ -14,9 +14,11 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final AdminApiTokenFilter adminApiTokenFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, AdminApiTokenFilter adminApiTokenFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.adminApiTokenFilter = adminApiTokenFilter;
     }
 
     @Bean
@@ -35,9 +37,11 @@ public class SecurityConfig {
                                 "/actuator/health",
                                 "/actuator/info"
                         ).permitAll()
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(adminApiTokenFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 }
@@ -0,0 +1,22 @@
+package br.com.labs.infrastructure.security;
+
+import java.time.Instant;
+
+/**
+ * Claims de um JWT cuja assinatura já foi verificada.
+ *
+ * Produzido uma única vez por {@link JwtTokenProvider#parse(String)} e repassado
+ * às sobrecargas que recebem claims, evitando reverificar o HMAC do mesmo token.
+ */
+public record VerifiedClaims(
+        String jti,
+        String subject,
+        String type,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    public long remainingTtlSeconds(Instant now) {
+        return Math.max(0, expiresAt.getEpochSecond() - now.getEpochSecond());
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.labs.infrastructure.web.controller;
+
+import br.com.labs.application.usecase.SearchSecurityEventsUseCase;
+import br.com.labs.domain.auth.SecurityEvent;
+import br.com.labs.domain.auth.SecurityEventHistory.Entry;
+import br.com.labs.domain.user.UserId;
+import br.com.labs.infrastructure.web.dto.SecurityEventPageResponse;
+import br.com.labs.infrastructure.web.dto.SecurityEventResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/v1/admin/security-events")
+public class AdminSecurityEventController {
+
+    private final SearchSecurityEventsUseCase searchSecurityEventsUseCase;
+
+    public AdminSecurityEventController(SearchSecurityEventsUseCase searchSecurityEventsUseCase) {
+        this.searchSecurityEventsUseCase = searchSecurityEventsUseCase;
+    }
+
+    /**
+     * Eventos auditados do mais recente para o mais antigo. Para a próxima página,
+     * repita a consulta com {@code cursor} igual ao {@code nextCursor} recebido.
+     */
+    @GetMapping
+    public ResponseEntity<SecurityEventPageResponse> search(
+            @RequestParam(name = "userId", required = false) String userId,
+            @RequestParam(name = "ip", required = false) String ipAddress,
+            @RequestParam(name = "from", required = false) Instant from,
+            @RequestParam(name = "to", required = false) Instant to,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        var output = searchSecurityEventsUseCase.execute(new SearchSecurityEventsUseCase.Input(
+                userId != null ? UserId.from(userId) : null,
+                ipAddress,
+                from,
+                to,
+                cursor,
+                limit
+        ));
+
+        var events = output.events().stream()
+                .map(AdminSecurityEventController::toResponse)
+                .toList();
+        return ResponseEntity.ok(new SecurityEventPageResponse(events, output.nextCursor()));
+    }
+
+    private static SecurityEventResponse toResponse(Entry entry) {
+        return switch (entry.event()) {
+            case SecurityEvent.LoginFailure e -> response(entry, "LOGIN_FAILURE", e, e.reason(), null, null, null);
+            case SecurityEvent.UnknownUserLoginFailure e ->
+                    response(entry, "UNKNOWN_USER_LOGIN_FAILURE", e, e.username(), null, null, null);
+            case SecurityEvent.MfaFailure e -> response(entry, "MFA_FAILURE", e, null, null, e.attemptNumber(), null);
+            case SecurityEvent.AccountBlocked e ->
+                    response(entry, "ACCOUNT_BLOCKED", e, e.reason(), null, null, e.blockedForSeconds());
+            case SecurityEvent.SuspiciousActivity e ->
+                    response(entry, "SUSPICIOUS_ACTIVITY", e, e.description(), e.severity().name(), null, null);
+        };
+    }
+
+    private static SecurityEventResponse response(
+            Entry entry,
+            String type,
+            SecurityEvent event,
+            String detail,
+            String severity,
+            Integer attemptNumber,
+            Long blockedForSeconds
+    ) {
+        return new SecurityEventResponse(
+                entry.id(),
+                type,
+                event.userId() != null ? event.userId().toString() : null,
+                event.ipAddress(),
+                event.occurredAt(),
+                detail,
+                severity,
+                attemptNumber,
+                blockedForSeconds
+        );
+    }
+}
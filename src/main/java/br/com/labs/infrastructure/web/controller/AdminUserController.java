@@ -0,0 +1,79 @@
+package br.com.labs.infrastructure.web.controller;
+
+import br.com.labs.application.usecase.ImportUsersUseCase;
+import br.com.labs.infrastructure.web.dto.ImportRejectionResponse;
+import br.com.labs.infrastructure.web.dto.ImportSummaryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+@RestController
+@RequestMapping("/api/v1/admin/users")
+public class AdminUserController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    private final ImportUsersUseCase importUsersUseCase;
+    private final ObjectMapper objectMapper;
+
+    public AdminUserController(ImportUsersUseCase importUsersUseCase, ObjectMapper objectMapper) {
+        this.importUsersUseCase = importUsersUseCase;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Importa contas em NDJSON ou CSV. A resposta é NDJSON: uma linha por conta
+     * rejeitada, escrita enquanto a importação avança, e um resumo no final.
+     *
+     * Escreve direto na resposta, sem processamento assíncrono do MVC, para que
+     * importações longas não esbarrem no timeout de request assíncrona.
+     */
+    @PostMapping(
+            value = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        var format = TEXT_CSV.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? UserImportReader.Format.CSV
+                : UserImportReader.Format.NDJSON;
+        var body = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        OutputStream out = new BufferedOutputStream(response.getOutputStream());
+
+        Consumer<ImportUsersUseCase.Rejection> report = rejection ->
+                writeLine(out, new ImportRejectionResponse(rejection.line(), rejection.error()));
+        var rows = UserImportReader.open(body, format, objectMapper, report);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        var output = importUsersUseCase.execute(new ImportUsersUseCase.Input(rows, report));
+
+        writeLine(out, new ImportSummaryResponse(output.imported(), output.rejected() + rows.rejected()));
+        out.flush();
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package br.com.labs.infrastructure.web.controller;
 
+import br.com.labs.application.service.LoginRateLimiter;
 import br.com.labs.application.usecase.AuthenticateUserUseCase;
+import br.com.labs.application.usecase.ListSessionsUseCase;
 import br.com.labs.application.usecase.LogoutUseCase;
 import br.com.labs.application.usecase.RefreshTokenUseCase;
 import br.com.labs.application.usecase.RegisterUserUseCase;
+import br.com.labs.application.usecase.RevokeSessionsUseCase;
 import br.com.labs.application.usecase.VerifyMfaCodeUseCase;
+import br.com.labs.domain.user.UserId;
 import br.com.labs.infrastructure.web.dto.LoginRequest;
 import br.com.labs.infrastructure.web.dto.LogoutRequest;
 import br.com.labs.infrastructure.web.dto.MfaResponse;
 import br.com.labs.infrastructure.web.dto.RefreshTokenRequest;
 import br.com.labs.infrastructure.web.dto.RegisterRequest;
+import br.com.labs.infrastructure.web.dto.RevokeSessionsResponse;
+import br.com.labs.infrastructure.web.dto.SessionResponse;
 import br.com.labs.infrastructure.web.dto.TokenResponse;
 import br.com.labs.infrastructure.web.dto.UserResponse;
 import br.com.labs.infrastructure.web.dto.VerifyMfaRequest;
@@ -18,36 +24,49 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 public class AuthController {
 
-    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
-
     private final RegisterUserUseCase registerUserUseCase;
     private final AuthenticateUserUseCase authenticateUserUseCase;
     private final VerifyMfaCodeUseCase verifyMfaCodeUseCase;
     private final RefreshTokenUseCase refreshTokenUseCase;
     private final LogoutUseCase logoutUseCase;
+    private final ListSessionsUseCase listSessionsUseCase;
+    private final RevokeSessionsUseCase revokeSessionsUseCase;
+    private final LoginRateLimiter loginRateLimiter;
 
     public AuthController(
             RegisterUserUseCase registerUserUseCase,
             AuthenticateUserUseCase authenticateUserUseCase,
             VerifyMfaCodeUseCase verifyMfaCodeUseCase,
             RefreshTokenUseCase refreshTokenUseCase,
-            LogoutUseCase logoutUseCase
+            LogoutUseCase logoutUseCase,
+            ListSessionsUseCase listSessionsUseCase,
+            RevokeSessionsUseCase revokeSessionsUseCase,
+            LoginRateLimiter loginRateLimiter
     ) {
         this.registerUserUseCase = registerUserUseCase;
         this.authenticateUserUseCase = authenticateUserUseCase;
         this.verifyMfaCodeUseCase = verifyMfaCodeUseCase;
         this.refreshTokenUseCase = refreshTokenUseCase;
         this.logoutUseCase = logoutUseCase;
+        this.listSessionsUseCase = listSessionsUseCase;
+        this.revokeSessionsUseCase = revokeSessionsUseCase;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @PostMapping("/register")
@@ -69,7 +88,9 @@ public class AuthController {
             @Valid @RequestBody LoginRequest request,
             HttpServletRequest httpRequest
     ) {
-        String ipAddress = extractClientIp(httpRequest);
+        String ipAddress = httpRequest.getRemoteAddr();
+        loginRateLimiter.acquire(ipAddress);
+
         var input = new AuthenticateUserUseCase.Input(request.username(), request.password(), ipAddress);
 
         var output = authenticateUserUseCase.execute(input);
@@ -83,7 +104,7 @@ public class AuthController {
             @Valid @RequestBody VerifyMfaRequest request,
             HttpServletRequest httpRequest
     ) {
-        String ipAddress = extractClientIp(httpRequest);
+        String ipAddress = httpRequest.getRemoteAddr();
         var input = new VerifyMfaCodeUseCase.Input(request.mfaToken(), request.code(), ipAddress);
 
         var output = verifyMfaCodeUseCase.execute(input);
@@ -126,18 +147,30 @@ public class AuthController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/sessions")
+    public ResponseEntity<List<SessionResponse>> sessions(@AuthenticationPrincipal UserId userId) {
+        var output = listSessionsUseCase.execute(new ListSessionsUseCase.Input(userId));
+
+        var response = output.sessions().stream()
+                .map(session -> new SessionResponse(session.tokenId(), session.expiresAt()))
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/sessions")
+    public ResponseEntity<RevokeSessionsResponse> revokeSessions(
+            @AuthenticationPrincipal UserId userId,
+            @RequestParam(name = "ids", required = false) List<String> sessionIds
+    ) {
+        var output = revokeSessionsUseCase.execute(new RevokeSessionsUseCase.Input(userId, sessionIds));
+
+        return ResponseEntity.ok(new RevokeSessionsResponse(output.revoked()));
+    }
+
     private String extractToken(String authorizationHeader) {
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             return authorizationHeader.substring(7);
         }
         throw new IllegalArgumentException("Invalid Authorization header");
     }
-
-    private String extractClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader(X_FORWARDED_FOR);
-        if (xForwardedFor != null && !xForwardedFor.isBlank()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
-    }
 }
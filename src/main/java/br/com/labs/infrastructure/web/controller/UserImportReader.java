@@ -0,0 +1,204 @@
+package br.com.labs.infrastructure.web.controller;
+
+import br.com.labs.application.usecase.ImportUsersUseCase.Rejection;
+import br.com.labs.application.usecase.ImportUsersUseCase.Row;
+import br.com.labs.infrastructure.web.dto.ImportUserRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Lê o corpo da importação linha a linha, em NDJSON ou CSV com cabeçalho.
+ *
+ * O CSV aceita as colunas {@code username}, {@code email}, {@code password} e
+ * {@code password_hash}, em qualquer ordem, com campos entre aspas no estilo RFC 4180
+ * (sem quebra de linha dentro do campo). Linhas que não dá para interpretar são
+ * reportadas direto e não chegam ao caso de uso.
+ */
+final class UserImportReader implements Iterator<Row> {
+
+    enum Format { NDJSON, CSV }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private final Consumer<Rejection> rejections;
+
+    private int[] columns;
+    private long lineNumber;
+    private long rejected;
+    private Row next;
+
+    private UserImportReader(BufferedReader reader, Format format, ObjectMapper objectMapper, Consumer<Rejection> rejections) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.rejections = rejections;
+    }
+
+    /**
+     * No CSV, lê o cabeçalho já aqui, para que um cabeçalho inválido vire 400 antes
+     * de a resposta começar.
+     */
+    static UserImportReader open(
+            BufferedReader reader,
+            Format format,
+            ObjectMapper objectMapper,
+            Consumer<Rejection> rejections
+    ) {
+        var importReader = new UserImportReader(reader, format, objectMapper, rejections);
+        if (format == Format.CSV) {
+            importReader.readHeader();
+        }
+        return importReader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            String line = readLine();
+            if (line == null) {
+                return false;
+            }
+            if (!line.isBlank()) {
+                next = format == Format.NDJSON ? parseJson(line) : parseCsv(line);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row row = next;
+        next = null;
+        return row;
+    }
+
+    long rejected() {
+        return rejected;
+    }
+
+    private String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Row parseJson(String line) {
+        try {
+            var request = objectMapper.readValue(line, ImportUserRequest.class);
+            return new Row(lineNumber, request.username(), request.email(), request.password(), request.passwordHash());
+        } catch (JsonProcessingException e) {
+            return reject("Malformed JSON line");
+        }
+    }
+
+    private Row parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields == null) {
+            return reject("Malformed CSV line");
+        }
+        return new Row(
+                lineNumber,
+                field(fields, columns[0]),
+                field(fields, columns[1]),
+                field(fields, columns[2]),
+                field(fields, columns[3])
+        );
+    }
+
+    private void readHeader() {
+        String line;
+        do {
+            line = readLine();
+        } while (line != null && line.isBlank());
+
+        List<String> fields = line != null ? splitCsv(line) : null;
+        columns = fields != null ? header(fields) : null;
+        if (columns == null) {
+            throw new IllegalArgumentException(
+                    "CSV header must have username, email and password or password_hash columns");
+        }
+    }
+
+    private Row reject(String error) {
+        rejected++;
+        rejections.accept(new Rejection(lineNumber, error));
+        return null;
+    }
+
+    private static int[] header(List<String> fields) {
+        int[] indexes = {-1, -1, -1, -1};
+        for (int i = 0; i < fields.size(); i++) {
+            switch (fields.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "username" -> indexes[0] = i;
+                case "email" -> indexes[1] = i;
+                case "password" -> indexes[2] = i;
+                case "password_hash" -> indexes[3] = i;
+                default -> { }
+            }
+        }
+        boolean complete = indexes[0] >= 0 && indexes[1] >= 0 && (indexes[2] >= 0 || indexes[3] >= 0);
+        return complete ? indexes : null;
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Divide uma linha CSV; retorna null se houver aspas sem fechamento.
+     */
+    private static List<String> splitCsv(String line) {
+        var fields = new ArrayList<String>(4);
+        var current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else if (c != '\r') {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.labs.infrastructure.web.dto;
+
+public record ImportRejectionResponse(
+        long line,
+        String error
+) {}
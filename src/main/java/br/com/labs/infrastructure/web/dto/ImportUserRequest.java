@@ -0,0 +1,8 @@
+package br.com.labs.infrastructure.web.dto;
+
+public record ImportUserRequest(
+        String username,
+        String email,
+        String password,
+        String passwordHash
+) {}
@@ -0,0 +1,5 @@
+package br.com.labs.infrastructure.web.dto;
+
+public record RevokeSessionsResponse(
+        int revoked
+) {}
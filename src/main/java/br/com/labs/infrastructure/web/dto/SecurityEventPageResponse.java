@@ -0,0 +1,8 @@
+package br.com.labs.infrastructure.web.dto;
+
+import java.util.List;
+
+public record SecurityEventPageResponse(
+        List<SecurityEventResponse> events,
+        String nextCursor
+) {}
@@ -0,0 +1,15 @@
+package br.com.labs.infrastructure.web.dto;
+
+import java.time.Instant;
+
+public record SecurityEventResponse(
+        long id,
+        String type,
+        String userId,
+        String ipAddress,
+        Instant occurredAt,
+        String detail,
+        String severity,
+        Integer attemptNumber,
+        Long blockedForSeconds
+) {}
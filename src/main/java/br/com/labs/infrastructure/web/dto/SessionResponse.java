@@ -0,0 +1,8 @@
+package br.com.labs.infrastructure.web.dto;
+
+import java.time.Instant;
+
+public record SessionResponse(
+        String sessionId,
+        Instant expiresAt
+) {}
@@ -6,12 +6,16 @@ import br.com.labs.domain.exception.InvalidTokenException;
 import br.com.labs.domain.exception.MfaBlockedException;
 import br.com.labs.domain.exception.MfaCodeExpiredException;
 import br.com.labs.domain.exception.MfaCodeInvalidException;
+import br.com.labs.domain.exception.RateLimitExceededException;
+import br.com.labs.domain.exception.ServiceOverloadedException;
 import br.com.labs.domain.exception.UserAlreadyExistsException;
 import br.com.labs.domain.exception.UserNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -27,6 +31,40 @@ public class GlobalExceptionHandler {
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     private static final String TYPE_BASE = "https://api.loginmfa.com/errors/";
 
+    // Respostas de erro de domínio pré-serializadas: são a maior parte do tráfego de
+    // /login e /verify durante ataques, então não montamos ProblemDetail a cada falha.
+    private static final ProblemTemplate INVALID_CREDENTIALS = ProblemTemplate.of(
+            HttpStatus.UNAUTHORIZED, TYPE_BASE + "invalid-credentials", "Invalid Credentials",
+            InvalidCredentialsException.CODE);
+    private static final ProblemTemplate USER_ALREADY_EXISTS = ProblemTemplate.of(
+            HttpStatus.CONFLICT, TYPE_BASE + "user-already-exists", "User Already Exists",
+            UserAlreadyExistsException.CODE);
+    private static final ProblemTemplate USER_NOT_FOUND = ProblemTemplate.of(
+            HttpStatus.NOT_FOUND, TYPE_BASE + "user-not-found", "User Not Found",
+            UserNotFoundException.CODE);
+    private static final ProblemTemplate MFA_CODE_EXPIRED = ProblemTemplate.of(
+            HttpStatus.GONE, TYPE_BASE + "mfa-code-expired", "MFA Code Expired",
+            MfaCodeExpiredException.CODE);
+    private static final ProblemTemplate MFA_CODE_INVALID = ProblemTemplate.of(
+            HttpStatus.UNPROCESSABLE_ENTITY, TYPE_BASE + "mfa-code-invalid", "Invalid MFA Code",
+            MfaCodeInvalidException.CODE)
+            .withProperty("remainingAttempts");
+    private static final ProblemTemplate MFA_BLOCKED = ProblemTemplate.of(
+            HttpStatus.TOO_MANY_REQUESTS, TYPE_BASE + "mfa-blocked", "Too Many Attempts",
+            MfaBlockedException.CODE)
+            .withProperty("retryAfterSeconds");
+    private static final ProblemTemplate INVALID_TOKEN = ProblemTemplate.of(
+            HttpStatus.UNAUTHORIZED, TYPE_BASE + "invalid-token", "Invalid Token",
+            InvalidTokenException.CODE);
+    private static final ProblemTemplate SERVICE_OVERLOADED = ProblemTemplate.of(
+            HttpStatus.SERVICE_UNAVAILABLE, TYPE_BASE + "service-overloaded", "Service Overloaded",
+            ServiceOverloadedException.CODE)
+            .withProperty("retryAfterSeconds");
+    private static final ProblemTemplate RATE_LIMITED = ProblemTemplate.of(
+            HttpStatus.TOO_MANY_REQUESTS, TYPE_BASE + "rate-limited", "Too Many Requests",
+            RateLimitExceededException.CODE)
+            .withProperty("retryAfterSeconds");
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ProblemDetail handleValidationException(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -49,68 +87,49 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(InvalidCredentialsException.class)
-    public ProblemDetail handleInvalidCredentials(InvalidCredentialsException ex) {
-        var problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNAUTHORIZED, ex.getMessage());
-        problem.setType(URI.create(TYPE_BASE + "invalid-credentials"));
-        problem.setTitle("Invalid Credentials");
-        problem.setProperty("code", ex.getCode());
-        return problem;
+    public ResponseEntity<byte[]> handleInvalidCredentials(InvalidCredentialsException ex, HttpServletRequest request) {
+        return INVALID_CREDENTIALS.render(ex.getMessage(), request.getRequestURI());
     }
 
     @ExceptionHandler(UserAlreadyExistsException.class)
-    public ProblemDetail handleUserAlreadyExists(UserAlreadyExistsException ex) {
-        var problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
-        problem.setType(URI.create(TYPE_BASE + "user-already-exists"));
-        problem.setTitle("User Already Exists");
-        problem.setProperty("code", ex.getCode());
-        return problem;
+    public ResponseEntity<byte[]> handleUserAlreadyExists(UserAlreadyExistsException ex, HttpServletRequest request) {
+        return USER_ALREADY_EXISTS.render(ex.getMessage(), request.getRequestURI());
     }
 
     @ExceptionHandler(UserNotFoundException.class)
-    public ProblemDetail handleUserNotFound(UserNotFoundException ex) {
-        var problem = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
-        problem.setType(URI.create(TYPE_BASE + "user-not-found"));
-        problem.setTitle("User Not Found");
-        problem.setProperty("code", ex.getCode());
-        return problem;
+    public ResponseEntity<byte[]> handleUserNotFound(UserNotFoundException ex, HttpServletRequest request) {
+        return USER_NOT_FOUND.render(ex.getMessage(), request.getRequestURI());
     }
 
     @ExceptionHandler(MfaCodeExpiredException.class)
-    public ProblemDetail handleMfaCodeExpired(MfaCodeExpiredException ex) {
-        var problem = ProblemDetail.forStatusAndDetail(HttpStatus.GONE, ex.getMessage());
-        problem.setType(URI.create(TYPE_BASE + "mfa-code-expired"));
-        problem.setTitle("MFA Code Expired");
-        problem.setProperty("code", ex.getCode());
-        return problem;
+    public ResponseEntity<byte[]> handleMfaCodeExpired(MfaCodeExpiredException ex, HttpServletRequest request) {
+        return MFA_CODE_EXPIRED.render(ex.getMessage(), request.getRequestURI());
     }
 
     @ExceptionHandler(MfaCodeInvalidException.class)
-    public ProblemDetail handleMfaCodeInvalid(MfaCodeInvalidException ex) {
-        var problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
-        problem.setType(URI.create(TYPE_BASE + "mfa-code-invalid"));
-        problem.setTitle("Invalid MFA Code");
-        problem.setProperty("code", ex.getCode());
-        problem.setProperty("remainingAttempts", ex.getRemainingAttempts());
-        return problem;
+    public ResponseEntity<byte[]> handleMfaCodeInvalid(MfaCodeInvalidException ex, HttpServletRequest request) {
+        return MFA_CODE_INVALID.render(ex.getMessage(), request.getRequestURI(), ex.getRemainingAttempts());
     }
 
     @ExceptionHandler(MfaBlockedException.class)
-    public ProblemDetail handleMfaBlocked(MfaBlockedException ex) {
-        var problem = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
-        problem.setType(URI.create(TYPE_BASE + "mfa-blocked"));
-        problem.setTitle("Too Many Attempts");
-        problem.setProperty("code", ex.getCode());
-        problem.setProperty("retryAfterSeconds", ex.getBlockedUntilSeconds());
-        return problem;
+    public ResponseEntity<byte[]> handleMfaBlocked(MfaBlockedException ex, HttpServletRequest request) {
+        return MFA_BLOCKED.render(ex.getMessage(), request.getRequestURI(), ex.getBlockedUntilSeconds());
     }
 
     @ExceptionHandler(InvalidTokenException.class)
-    public ProblemDetail handleInvalidToken(InvalidTokenException ex) {
-        var problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNAUTHORIZED, ex.getMessage());
-        problem.setType(URI.create(TYPE_BASE + "invalid-token"));
-        problem.setTitle("Invalid Token");
-        problem.setProperty("code", ex.getCode());
-        return problem;
+    public ResponseEntity<byte[]> handleInvalidToken(InvalidTokenException ex, HttpServletRequest request) {
+        return INVALID_TOKEN.render(ex.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<byte[]> handleServiceOverloaded(ServiceOverloadedException ex, HttpServletRequest request) {
+        return SERVICE_OVERLOADED.renderWithRetryAfter(
+                ex.getMessage(), request.getRequestURI(), ex.getRetryAfterSeconds());
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<byte[]> handleRateLimitExceeded(RateLimitExceededException ex, HttpServletRequest request) {
+        return RATE_LIMITED.renderWithRetryAfter(ex.getMessage(), request.getRequestURI(), ex.getRetryAfterSeconds());
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
@@ -0,0 +1,199 @@
+package br.com.labs.infrastructure.web.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Corpo {@code application/problem+json} pré-serializado para um código de erro.
+ *
+ * Tudo o que é fixo (type, title, status, code) vira bytes uma única vez; a cada
+ * resposta só são escritos detail, instance e, se houver, uma propriedade numérica.
+ * Os campos seguem a mesma ordem do {@code ProblemDetail} serializado pelo Jackson.
+ */
+final class ProblemTemplate {
+
+    private static final byte[] DETAIL = bytes(",\"detail\":");
+    private static final byte[] INSTANCE = bytes(",\"instance\":");
+    private static final byte[] CODE = bytes(",\"code\":");
+    private static final byte[] CLOSE = bytes("}");
+    private static final byte[] HEX = bytes("0123456789abcdef");
+
+    private final HttpStatus status;
+    private final byte[] head;
+    private final byte[] code;
+    private final byte[] property;
+
+    private ProblemTemplate(HttpStatus status, byte[] head, byte[] code, byte[] property) {
+        this.status = status;
+        this.head = head;
+        this.code = code;
+        this.property = property;
+    }
+
+    static ProblemTemplate of(HttpStatus status, String type, String title, String code) {
+        var head = new Writer(128);
+        head.raw(bytes("{\"type\":"));
+        head.string(type);
+        head.raw(bytes(",\"title\":"));
+        head.string(title);
+        head.raw(bytes(",\"status\":"));
+        head.number(status.value());
+
+        var codeBytes = new Writer(32);
+        codeBytes.raw(CODE);
+        codeBytes.string(code);
+
+        return new ProblemTemplate(status, head.toByteArray(), codeBytes.toByteArray(), null);
+    }
+
+    /**
+     * Mesmo template com uma propriedade numérica extra no final do corpo.
+     */
+    ProblemTemplate withProperty(String name) {
+        var writer = new Writer(name.length() + 4);
+        writer.raw(bytes(","));
+        writer.string(name);
+        writer.raw(bytes(":"));
+        return new ProblemTemplate(status, head, code, writer.toByteArray());
+    }
+
+    ResponseEntity<byte[]> render(String detail, String instance) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(body(detail, instance, 0));
+    }
+
+    ResponseEntity<byte[]> render(String detail, String instance, long propertyValue) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(body(detail, instance, propertyValue));
+    }
+
+    /**
+     * Para respostas que também sugerem quando tentar de novo.
+     */
+    ResponseEntity<byte[]> renderWithRetryAfter(String detail, String instance, long retryAfterSeconds) {
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(body(detail, instance, retryAfterSeconds));
+    }
+
+    byte[] body(String detail, String instance, long propertyValue) {
+        int estimate = head.length + code.length + 64
+                + (detail != null ? detail.length() : 0)
+                + (instance != null ? instance.length() : 0)
+                + (property != null ? property.length + 20 : 0);
+
+        var writer = new Writer(estimate);
+        writer.raw(head);
+        if (detail != null) {
+            writer.raw(DETAIL);
+            writer.string(detail);
+        }
+        if (instance != null) {
+            writer.raw(INSTANCE);
+            writer.string(instance);
+        }
+        writer.raw(code);
+        if (property != null) {
+            writer.raw(property);
+            writer.number(propertyValue);
+        }
+        writer.raw(CLOSE);
+        return writer.toByteArray();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Buffer de bytes mínimo com escape de strings JSON.
+     */
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int size;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void raw(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void number(long value) {
+            if (value < 0) {
+                ensure(1);
+                buffer[size++] = '-';
+                if (value == Long.MIN_VALUE) {
+                    raw(bytes("9223372036854775808"));
+                    return;
+                }
+                value = -value;
+            }
+            int digits = 1;
+            for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+                digits++;
+            }
+            ensure(digits);
+            for (int i = size + digits - 1; i >= size; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            size += digits;
+        }
+
+        private void string(String value) {
+            ensure(value.length() + 2);
+            buffer[size++] = '"';
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                    ensure(1);
+                    buffer[size++] = (byte) c;
+                } else if (c == '"' || c == '\\') {
+                    ensure(2);
+                    buffer[size++] = '\\';
+                    buffer[size++] = (byte) c;
+                } else if (c < 0x20) {
+                    ensure(6);
+                    buffer[size++] = '\\';
+                    buffer[size++] = 'u';
+                    buffer[size++] = '0';
+                    buffer[size++] = '0';
+                    buffer[size++] = HEX[c >> 4];
+                    buffer[size++] = HEX[c & 0xf];
+                } else {
+                    int end = i + 1;
+                    if (Character.isHighSurrogate(c) && end < value.length()) {
+                        end++;
+                    }
+                    raw(value.substring(i, end).getBytes(StandardCharsets.UTF_8));
+                    i = end - 1;
+                }
+            }
+            ensure(1);
+            buffer[size++] = '"';
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- username e email já têm índice próprio pelas constraints UNIQUE
+DROP INDEX IF EXISTS idx_users_username;
+DROP INDEX IF EXISTS idx_users_email;
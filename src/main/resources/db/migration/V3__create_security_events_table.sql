@@ -0,0 +1,35 @@
+-- Auditoria de eventos de segurança, particionada por dia (UTC).
+-- Novas partições e a retenção ficam com o SecurityEventPartitionMaintainer; sem partição
+-- DEFAULT, para que criar a partição de um dia nunca esbarre em linhas já gravadas nele.
+CREATE TABLE security_events (
+    id BIGSERIAL NOT NULL,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    user_id UUID, -- nulo em alertas sobre um IP ou uma rede e em falhas com username inexistente
+    ip_address TEXT NOT NULL,
+    detail TEXT,
+    severity VARCHAR(16),
+    attempt_number INTEGER,
+    blocked_for_seconds BIGINT,
+    PRIMARY KEY (occurred_at, id)
+) PARTITION BY RANGE (occurred_at);
+
+-- Consultas por usuário ou IP em ordem cronológica inversa (keyset por occurred_at, id)
+CREATE INDEX idx_security_events_user ON security_events (user_id, occurred_at DESC, id DESC);
+CREATE INDEX idx_security_events_ip ON security_events (ip_address, occurred_at DESC, id DESC);
+
+DO $$
+DECLARE
+    partition_day DATE;
+BEGIN
+    FOR offset_days IN 0..3 LOOP
+        partition_day := (now() AT TIME ZONE 'UTC')::date + offset_days;
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF security_events FOR VALUES FROM (%L) TO (%L)',
+            'security_events_p' || to_char(partition_day, 'YYYYMMDD'),
+            partition_day::timestamp AT TIME ZONE 'UTC',
+            (partition_day + 1)::timestamp AT TIME ZONE 'UTC'
+        );
+    END LOOP;
+END
+$$;
@@ -0,0 +1,126 @@
+package br.com.labs.application.service;
+
+import br.com.labs.domain.auth.RateLimitLease;
+import br.com.labs.domain.auth.RateLimitRepository;
+import br.com.labs.domain.exception.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoginRateLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    @Mock
+    private RateLimitRepository rateLimitRepository;
+
+    private LoginRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new LoginRateLimiter(rateLimitRepository, true, 20, 200, WINDOW, 5);
+    }
+
+    @Test
+    @DisplayName("Should serve requests from the local lease without calling Redis each time")
+    void shouldServeFromLocalLease() {
+        when(rateLimitRepository.lease(any(), eq(5), anyLong(), eq(WINDOW)))
+                .thenReturn(new RateLimitLease(5, 0));
+
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire("203.0.113.7");
+        }
+
+        verify(rateLimitRepository, times(1)).lease("login:ip:203.0.113.7", 5, 20, WINDOW);
+        verify(rateLimitRepository, times(1)).lease("login:net:203.0.113.0/24", 5, 200, WINDOW);
+    }
+
+    @Test
+    @DisplayName("Should reject when the shared IP budget is exhausted")
+    void shouldRejectWhenIpBudgetExhausted() {
+        when(rateLimitRepository.lease(eq("login:ip:203.0.113.7"), anyInt(), anyLong(), any()))
+                .thenReturn(new RateLimitLease(0, 42));
+
+        assertThatThrownBy(() -> rateLimiter.acquire("203.0.113.7"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isEqualTo(42));
+
+        assertThatThrownBy(() -> rateLimiter.acquire("203.0.113.7"))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        verify(rateLimitRepository, times(1)).lease(eq("login:ip:203.0.113.7"), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject when the subnet budget is exhausted")
+    void shouldRejectWhenSubnetBudgetExhausted() {
+        when(rateLimitRepository.lease(eq("login:ip:2001:db8:1:2::99"), anyInt(), anyLong(), any()))
+                .thenReturn(new RateLimitLease(5, 0));
+        when(rateLimitRepository.lease(eq("login:net:2001:db8:1:2::/64"), anyInt(), anyLong(), any()))
+                .thenReturn(new RateLimitLease(0, 10));
+
+        assertThatThrownBy(() -> rateLimiter.acquire("2001:db8:1:2::99"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("Should not spend the IP budget when the subnet budget denies")
+    void shouldRefundIpWhenSubnetDenies() {
+        when(rateLimitRepository.lease(eq("login:ip:203.0.113.7"), anyInt(), anyLong(), any()))
+                .thenReturn(new RateLimitLease(1, 0));
+        when(rateLimitRepository.lease(eq("login:net:203.0.113.0/24"), anyInt(), anyLong(), any()))
+                .thenReturn(new RateLimitLease(0, 0), new RateLimitLease(5, 0));
+
+        assertThatThrownBy(() -> rateLimiter.acquire("203.0.113.7"))
+                .isInstanceOf(RateLimitExceededException.class);
+        rateLimiter.acquire("203.0.113.7");
+
+        verify(rateLimitRepository, times(1)).lease(eq("login:ip:203.0.113.7"), anyInt(), anyLong(), any());
+        verify(rateLimitRepository, times(2)).lease(eq("login:net:203.0.113.0/24"), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should allow the request when Redis is unavailable")
+    void shouldFailOpenWhenRedisUnavailable() {
+        when(rateLimitRepository.lease(any(), anyInt(), anyLong(), any()))
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        rateLimiter.acquire("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldSkipWhenDisabled() {
+        var disabled = new LoginRateLimiter(rateLimitRepository, false, 20, 200, WINDOW, 5);
+
+        disabled.acquire("203.0.113.7");
+
+        verifyNoInteractions(rateLimitRepository);
+    }
+
+    @Test
+    @DisplayName("Should never resolve host names when computing the network prefix")
+    void shouldComputeNetworkPrefix() {
+        assertThat(NetworkPrefix.of("198.51.100.23")).isEqualTo("198.51.100.0/24");
+        assertThat(NetworkPrefix.of("2001:db8:abcd:12::1")).isEqualTo("2001:db8:abcd:12::/64");
+        assertThat(NetworkPrefix.of("evil.example.com")).isEqualTo("unknown");
+        assertThat(NetworkPrefix.of("1.2.3")).isEqualTo("unknown");
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.labs.application.service;
+
+import br.com.labs.domain.auth.LoginFailureRepository;
+import br.com.labs.domain.auth.LoginFailures;
+import br.com.labs.domain.auth.MfaRepository;
+import br.com.labs.domain.auth.SecurityEvent;
+import br.com.labs.domain.auth.SecurityEvent.SeverityLevel;
+import br.com.labs.domain.auth.SecurityEventPublisher;
+import br.com.labs.domain.auth.TokenRepository;
+import br.com.labs.domain.user.UserId;
+import br.com.labs.domain.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityMonitoringServiceTest {
+
+    @Mock
+    private MfaRepository mfaRepository;
+
+    @Mock
+    private LoginFailureRepository loginFailureRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @Mock
+    private SecurityEventPublisher eventPublisher;
+
+    private SecurityMonitoringService service;
+    private final UserId userId = UserId.generate();
+
+    @BeforeEach
+    void setUp() {
+        service = new SecurityMonitoringService(mfaRepository, loginFailureRepository, userRepository,
+                tokenRepository, eventPublisher, 5, 3, Duration.ofMinutes(15), Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("Should count login failures in their own store, not in MFA attempts")
+    void shouldCountLoginFailuresSeparately() {
+        when(loginFailureRepository.recordFailure(userId)).thenReturn(new LoginFailures(1, 0));
+
+        service.recordLoginFailure(userId, "203.0.113.7", "Invalid password");
+
+        verify(mfaRepository, never()).incrementAttempts(any());
+        verify(mfaRepository, never()).block(any(), anyLong());
+        verify(eventPublisher).publish(any(SecurityEvent.LoginFailure.class));
+    }
+
+    @Test
+    @DisplayName("Should lock out for the base duration on the first lockout")
+    void shouldLockOutForBaseDuration() {
+        when(loginFailureRepository.recordFailure(userId)).thenReturn(new LoginFailures(5, 0));
+
+        service.recordLoginFailure(userId, "203.0.113.7", "Invalid password");
+
+        verify(loginFailureRepository).recordLockout(userId);
+        verify(mfaRepository).block(userId, 900);
+        verify(eventPublisher).publish(argThat(event ->
+                event instanceof SecurityEvent.AccountBlocked blocked && blocked.blockedForSeconds() == 900));
+    }
+
+    @Test
+    @DisplayName("Should double the lockout for each recent lockout")
+    void shouldDoubleLockoutDuration() {
+        when(loginFailureRepository.recordFailure(userId)).thenReturn(new LoginFailures(5, 2));
+
+        service.recordLoginFailure(userId, "203.0.113.7", "Invalid password");
+
+        verify(mfaRepository).block(userId, 3600);
+    }
+
+    @Test
+    @DisplayName("Should cap the lockout at the maximum duration")
+    void shouldCapLockoutDuration() {
+        assertThat(service.lockoutSeconds(0)).isEqualTo(900);
+        assertThat(service.lockoutSeconds(6)).isEqualTo(57_600);
+        assertThat(service.lockoutSeconds(7)).isEqualTo(86_400);
+        assertThat(service.lockoutSeconds(Integer.MAX_VALUE)).isEqualTo(86_400);
+    }
+
+    @Test
+    @DisplayName("Should decay login failures after a successful login")
+    void shouldDecayOnSuccessfulLogin() {
+        service.recordSuccessfulLogin(userId, "203.0.113.7");
+
+        verify(loginFailureRepository).recordSuccess(userId);
+    }
+
+    @Test
+    @DisplayName("Should report a suspicious source without a user and without notifying anyone")
+    void shouldReportSuspiciousSourceWithoutUser() {
+        service.reportSuspiciousSource("203.0.113.7", "Credential stuffing suspected", SeverityLevel.CRITICAL);
+
+        verify(eventPublisher).publish(argThat(event ->
+                event instanceof SecurityEvent.SuspiciousActivity activity
+                        && activity.userId() == null
+                        && activity.ipAddress().equals("203.0.113.7")
+                        && activity.severity() == SeverityLevel.CRITICAL));
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -3,10 +3,12 @@ package br.com.labs.application.usecase;
 import br.com.labs.application.service.SecurityMonitoringService;
 import br.com.labs.domain.auth.EmailSender;
 import br.com.labs.domain.auth.MfaCode;
+import br.com.labs.domain.auth.MfaCodeIssue;
 import br.com.labs.domain.auth.MfaRepository;
 import br.com.labs.domain.auth.MfaToken;
 import br.com.labs.domain.auth.PasswordEncoder;
 import br.com.labs.domain.exception.InvalidCredentialsException;
+import br.com.labs.domain.exception.ServiceOverloadedException;
 import br.com.labs.domain.user.Email;
 import br.com.labs.domain.user.Password;
 import br.com.labs.domain.user.User;
@@ -27,6 +29,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -64,7 +67,8 @@ class AuthenticateUserUseCaseTest {
                 mfaRepository,
                 emailSender,
                 jwtTokenProvider,
-                securityMonitoringService
+                securityMonitoringService,
+                0
         );
 
         testUser = User.create(
@@ -81,6 +85,8 @@ class AuthenticateUserUseCaseTest {
 
         when(userRepository.findByUsername(any(Username.class))).thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches("Password123", "hashed_password")).thenReturn(true);
+        when(mfaRepository.issueCode(eq(testUser.getId()), any(MfaCode.class)))
+                .thenAnswer(invocation -> new MfaCodeIssue(invocation.getArgument(1), false));
         when(jwtTokenProvider.generateMfaToken(any())).thenReturn(new MfaToken("mfa.token.here", 300000));
 
         var output = useCase.execute(input);
@@ -88,8 +94,44 @@ class AuthenticateUserUseCaseTest {
         assertThat(output.mfaToken()).isEqualTo("mfa.token.here");
         assertThat(output.expiresIn()).isEqualTo(300000);
 
-        verify(mfaRepository).saveCode(any(), any(MfaCode.class));
-        verify(emailSender).sendMfaCode(any(Email.class), any(MfaCode.class));
+        verify(mfaRepository).issueCode(eq(testUser.getId()), any(MfaCode.class));
+        verify(emailSender).sendMfaCode(eq(testUser.getEmail()), any(MfaCode.class));
+    }
+
+    @Test
+    @DisplayName("Should reuse a recently sent MFA code without sending another email")
+    void shouldReuseRecentMfaCodeWithoutResending() {
+        var input = new AuthenticateUserUseCase.Input("john.doe", "Password123", "192.168.1.1");
+
+        when(userRepository.findByUsername(any(Username.class))).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("Password123", "hashed_password")).thenReturn(true);
+        when(mfaRepository.issueCode(eq(testUser.getId()), any(MfaCode.class)))
+                .thenReturn(new MfaCodeIssue(new MfaCode("123456"), true));
+        when(jwtTokenProvider.generateMfaToken(any())).thenReturn(new MfaToken("mfa.token.here", 300000));
+
+        var output = useCase.execute(input);
+
+        assertThat(output.mfaToken()).isEqualTo("mfa.token.here");
+        verify(emailSender, never()).sendMfaCode(any(), any());
+        verify(mfaRepository, never()).saveCode(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should clear the sent mark when the MFA email cannot be enqueued")
+    void shouldMarkCodeUnsentWhenEmailRejected() {
+        var input = new AuthenticateUserUseCase.Input("john.doe", "Password123", "192.168.1.1");
+
+        when(userRepository.findByUsername(any(Username.class))).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("Password123", "hashed_password")).thenReturn(true);
+        when(mfaRepository.issueCode(eq(testUser.getId()), any(MfaCode.class)))
+                .thenAnswer(invocation -> new MfaCodeIssue(invocation.getArgument(1), false));
+        doThrow(new ServiceOverloadedException(5)).when(emailSender).sendMfaCode(any(), any());
+
+        assertThatThrownBy(() -> useCase.execute(input))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        verify(mfaRepository).markCodeUnsent(testUser.getId());
+        verify(jwtTokenProvider, never()).generateMfaToken(any());
     }
 
     @Test
@@ -98,11 +140,14 @@ class AuthenticateUserUseCaseTest {
         var input = new AuthenticateUserUseCase.Input("unknown.user", "Password123", "192.168.1.1");
 
         when(userRepository.findByUsername(any(Username.class))).thenReturn(Optional.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("dummy_hash");
 
         assertThatThrownBy(() -> useCase.execute(input))
                 .isInstanceOf(InvalidCredentialsException.class);
 
-        verify(mfaRepository, never()).saveCode(any(), any());
+        verify(passwordEncoder).matches("Password123", "dummy_hash");
+        verify(securityMonitoringService).recordUnknownUserLoginFailure("unknown.user", "192.168.1.1");
+        verify(mfaRepository, never()).issueCode(any(), any());
         verify(emailSender, never()).sendMfaCode(any(), any());
     }
 
@@ -122,7 +167,23 @@ class AuthenticateUserUseCaseTest {
                 eq("192.168.1.1"),
                 eq("Invalid password")
         );
-        verify(mfaRepository, never()).saveCode(any(), any());
+        verify(mfaRepository, never()).issueCode(any(), any());
         verify(emailSender, never()).sendMfaCode(any(), any());
     }
+
+    @Test
+    @DisplayName("Should reject blocked account without verifying the password")
+    void shouldRejectBlockedAccountBeforePasswordCheck() {
+        var input = new AuthenticateUserUseCase.Input("john.doe", "Password123", "192.168.1.1");
+
+        when(userRepository.findByUsername(any(Username.class))).thenReturn(Optional.of(testUser));
+        when(mfaRepository.isBlocked(testUser.getId())).thenReturn(true);
+
+        assertThatThrownBy(() -> useCase.execute(input))
+                .isInstanceOf(InvalidCredentialsException.class);
+
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(securityMonitoringService, never()).recordLoginFailure(any(), anyString(), anyString());
+        verify(mfaRepository, never()).issueCode(any(), any());
+    }
 }
@@ -0,0 +1,134 @@
+package br.com.labs.application.usecase;
+
+import br.com.labs.domain.auth.PasswordEncoder;
+import br.com.labs.domain.user.User;
+import br.com.labs.domain.user.UserId;
+import br.com.labs.domain.user.UserImportOutcome;
+import br.com.labs.domain.user.UserImportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportUsersUseCaseTest {
+
+    private static final String BCRYPT_HASH = "$2a$12$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW";
+
+    @Mock
+    private UserImportRepository userImportRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private ImportUsersUseCase useCase;
+
+    private final List<ImportUsersUseCase.Rejection> rejections = new ArrayList<>();
+    private final List<List<User>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ImportUsersUseCase(userImportRepository, passwordEncoder, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        useCase.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash raw passwords, keep bcrypt hashes and write in batches")
+    void shouldImportInBatches() {
+        when(passwordEncoder.encodeInCallerThread("Password123")).thenReturn("hashed_password");
+        when(passwordEncoder.isEncoded(BCRYPT_HASH)).thenReturn(true);
+        importingEverything();
+
+        var output = execute(
+                new ImportUsersUseCase.Row(1, "john.doe", "john@example.com", "Password123", null),
+                new ImportUsersUseCase.Row(2, "jane.doe", "jane@example.com", null, BCRYPT_HASH),
+                new ImportUsersUseCase.Row(3, "mary.doe", "mary@example.com", "Password123", null)
+        );
+
+        assertThat(output.imported()).isEqualTo(3);
+        assertThat(output.rejected()).isZero();
+        assertThat(rejections).isEmpty();
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0).get(1).getPassword().hashedValue()).isEqualTo(BCRYPT_HASH);
+        verify(passwordEncoder, times(2)).encodeInCallerThread("Password123");
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    @DisplayName("Should report invalid rows with their line numbers without writing them")
+    void shouldReportInvalidRows() {
+        when(passwordEncoder.isEncoded("not-a-hash")).thenReturn(false);
+        importingEverything();
+
+        var output = execute(
+                new ImportUsersUseCase.Row(1, "john.doe", "not-an-email", "Password123", null),
+                new ImportUsersUseCase.Row(2, "jane.doe", "jane@example.com", "weak", null),
+                new ImportUsersUseCase.Row(3, "mary.doe", "mary@example.com", null, "not-a-hash")
+        );
+
+        assertThat(output.imported()).isZero();
+        assertThat(output.rejected()).isEqualTo(3);
+        assertThat(rejections).extracting(ImportUsersUseCase.Rejection::line).containsExactly(1L, 2L, 3L);
+        assertThat(rejections.get(2).error()).contains("bcrypt");
+        assertThat(batches).allMatch(List::isEmpty);
+    }
+
+    @Test
+    @DisplayName("Should report rows skipped because username or email already exists")
+    void shouldReportDuplicates() {
+        when(passwordEncoder.encodeInCallerThread("Password123")).thenReturn("hashed_password");
+        when(userImportRepository.importBatch(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            Map<UserId, UserImportOutcome> outcomes = new HashMap<>();
+            outcomes.put(users.get(0).getId(), UserImportOutcome.USERNAME_TAKEN);
+            outcomes.put(users.get(1).getId(), UserImportOutcome.EMAIL_TAKEN);
+            return outcomes;
+        });
+
+        var output = execute(
+                new ImportUsersUseCase.Row(7, "john.doe", "john@example.com", "Password123", null),
+                new ImportUsersUseCase.Row(8, "jane.doe", "jane@example.com", "Password123", null)
+        );
+
+        assertThat(output.imported()).isZero();
+        assertThat(output.rejected()).isEqualTo(2);
+        assertThat(rejections).containsExactly(
+                new ImportUsersUseCase.Rejection(7, "User with this username already exists"),
+                new ImportUsersUseCase.Rejection(8, "User with this email already exists")
+        );
+    }
+
+    private ImportUsersUseCase.Output execute(ImportUsersUseCase.Row... rows) {
+        return useCase.execute(new ImportUsersUseCase.Input(List.of(rows).iterator(), rejections::add));
+    }
+
+    private void importingEverything() {
+        when(userImportRepository.importBatch(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            batches.add(List.copyOf(users));
+            Map<UserId, UserImportOutcome> outcomes = new HashMap<>();
+            users.forEach(user -> outcomes.put(user.getId(), UserImportOutcome.IMPORTED));
+            return outcomes;
+        });
+    }
+}
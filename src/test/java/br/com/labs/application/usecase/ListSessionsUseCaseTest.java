@@ -0,0 +1,57 @@
+package br.com.labs.application.usecase;
+
+import br.com.labs.domain.auth.RefreshSession;
+import br.com.labs.domain.auth.TokenRepository;
+import br.com.labs.domain.user.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListSessionsUseCaseTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    private ListSessionsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ListSessionsUseCase(tokenRepository);
+    }
+
+    @Test
+    @DisplayName("Should list active sessions of the user")
+    void shouldListSessions() {
+        var userId = UserId.generate();
+        var sessions = List.of(
+                new RefreshSession("session-1", Instant.parse("2030-01-01T00:00:00Z")),
+                new RefreshSession("session-2", Instant.parse("2030-01-02T00:00:00Z"))
+        );
+        when(tokenRepository.findSessions(userId)).thenReturn(sessions);
+
+        var output = useCase.execute(new ListSessionsUseCase.Input(userId));
+
+        assertThat(output.sessions()).containsExactlyElementsOf(sessions);
+    }
+
+    @Test
+    @DisplayName("Should return empty list when user has no sessions")
+    void shouldReturnEmptyList() {
+        var userId = UserId.generate();
+        when(tokenRepository.findSessions(userId)).thenReturn(List.of());
+
+        var output = useCase.execute(new ListSessionsUseCase.Input(userId));
+
+        assertThat(output.sessions()).isEmpty();
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.labs.application.usecase;
 
 import br.com.labs.domain.auth.TokenRepository;
+import br.com.labs.domain.user.UserId;
 import br.com.labs.infrastructure.security.JwtTokenProvider;
+import br.com.labs.infrastructure.security.VerifiedClaims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,25 +28,35 @@ class LogoutUseCaseTest {
     private JwtTokenProvider jwtTokenProvider;
 
     private LogoutUseCase useCase;
+    private final UserId userId = UserId.generate();
 
     @BeforeEach
     void setUp() {
         useCase = new LogoutUseCase(tokenRepository, jwtTokenProvider);
     }
 
+    private static VerifiedClaims claims(String jti, String type) {
+        var now = Instant.now();
+        return new VerifiedClaims(jti, "subject", type, now, now.plusSeconds(600));
+    }
+
     @Test
     @DisplayName("Should logout with access and refresh tokens")
     void shouldLogoutWithBothTokens() {
         var input = new LogoutUseCase.Input("access.token", "refresh.token");
 
-        when(jwtTokenProvider.extractJti("access.token")).thenReturn("access-jti");
-        when(jwtTokenProvider.getRemainingTtlSeconds("access.token")).thenReturn(600L);
-        when(jwtTokenProvider.extractRefreshTokenId("refresh.token")).thenReturn("refresh-id");
+        var accessClaims = claims("access-jti", "access");
+        var refreshClaims = claims("refresh-id", "refresh");
+        when(jwtTokenProvider.parse("access.token")).thenReturn(accessClaims);
+        when(jwtTokenProvider.getRemainingTtlSeconds(accessClaims)).thenReturn(600L);
+        when(jwtTokenProvider.parse("refresh.token")).thenReturn(refreshClaims);
+        when(jwtTokenProvider.validateRefreshToken(refreshClaims)).thenReturn(userId);
+        when(jwtTokenProvider.extractRefreshTokenId(refreshClaims)).thenReturn("refresh-id");
 
         useCase.execute(input);
 
         verify(tokenRepository).addToBlacklist("access-jti", 600L);
-        verify(tokenRepository).deleteRefreshToken("refresh-id");
+        verify(tokenRepository).deleteRefreshToken("refresh-id", userId);
     }
 
     @Test
@@ -49,13 +64,14 @@ class LogoutUseCaseTest {
     void shouldLogoutWithOnlyAccessToken() {
         var input = new LogoutUseCase.Input("access.token");
 
-        when(jwtTokenProvider.extractJti("access.token")).thenReturn("access-jti");
-        when(jwtTokenProvider.getRemainingTtlSeconds("access.token")).thenReturn(600L);
+        var accessClaims = claims("access-jti", "access");
+        when(jwtTokenProvider.parse("access.token")).thenReturn(accessClaims);
+        when(jwtTokenProvider.getRemainingTtlSeconds(accessClaims)).thenReturn(600L);
 
         useCase.execute(input);
 
         verify(tokenRepository).addToBlacklist("access-jti", 600L);
-        verify(tokenRepository, never()).deleteRefreshToken(null);
+        verify(tokenRepository, never()).deleteRefreshToken(any(), any());
     }
 
     @Test
@@ -63,13 +79,17 @@ class LogoutUseCaseTest {
     void shouldNotBlacklistExpiredToken() {
         var input = new LogoutUseCase.Input("expired.access.token", "refresh.token");
 
-        when(jwtTokenProvider.extractJti("expired.access.token")).thenReturn("access-jti");
-        when(jwtTokenProvider.getRemainingTtlSeconds("expired.access.token")).thenReturn(0L);
-        when(jwtTokenProvider.extractRefreshTokenId("refresh.token")).thenReturn("refresh-id");
+        var accessClaims = claims("access-jti", "access");
+        var refreshClaims = claims("refresh-id", "refresh");
+        when(jwtTokenProvider.parse("expired.access.token")).thenReturn(accessClaims);
+        when(jwtTokenProvider.getRemainingTtlSeconds(accessClaims)).thenReturn(0L);
+        when(jwtTokenProvider.parse("refresh.token")).thenReturn(refreshClaims);
+        when(jwtTokenProvider.validateRefreshToken(refreshClaims)).thenReturn(userId);
+        when(jwtTokenProvider.extractRefreshTokenId(refreshClaims)).thenReturn("refresh-id");
 
         useCase.execute(input);
 
         verify(tokenRepository, never()).addToBlacklist("access-jti", 0L);
-        verify(tokenRepository).deleteRefreshToken("refresh-id");
+        verify(tokenRepository).deleteRefreshToken("refresh-id", userId);
     }
 }
@@ -1,10 +1,12 @@
 package br.com.labs.application.usecase;
 
+import br.com.labs.domain.auth.RefreshTokenRotation;
 import br.com.labs.domain.auth.TokenPair;
 import br.com.labs.domain.auth.TokenRepository;
 import br.com.labs.domain.exception.InvalidTokenException;
 import br.com.labs.domain.user.UserId;
 import br.com.labs.infrastructure.security.JwtTokenProvider;
+import br.com.labs.infrastructure.security.VerifiedClaims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +14,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,25 +42,30 @@ class RefreshTokenUseCaseTest {
         userId = UserId.generate();
     }
 
+    private VerifiedClaims refreshClaims(String jti) {
+        var now = Instant.now();
+        return new VerifiedClaims(jti, userId.toString(), "refresh", now, now.plusSeconds(3600));
+    }
+
     @Test
     @DisplayName("Should refresh tokens successfully")
     void shouldRefreshTokensSuccessfully() {
         var input = new RefreshTokenUseCase.Input("old.refresh.token");
-        var newTokenPair = new TokenPair("new.access.token", "new.refresh.token", 900000, 604800000);
+        var newTokenPair = new TokenPair("new.access.token", "new.refresh.token", "new-refresh-id", 900000, 604800000);
 
-        when(jwtTokenProvider.validateRefreshToken("old.refresh.token")).thenReturn(userId);
-        when(jwtTokenProvider.extractRefreshTokenId("old.refresh.token")).thenReturn("old-refresh-id");
-        when(tokenRepository.existsRefreshToken("old-refresh-id")).thenReturn(true);
-        when(jwtTokenProvider.generateTokenPair(userId)).thenReturn(newTokenPair);
-        when(jwtTokenProvider.extractRefreshTokenId("new.refresh.token")).thenReturn("new-refresh-id");
+        var claims = refreshClaims("old-refresh-id");
+        when(jwtTokenProvider.parse("old.refresh.token")).thenReturn(claims);
+        when(jwtTokenProvider.validateRefreshToken(claims)).thenReturn(userId);
+        when(jwtTokenProvider.rotateTokenPair(userId, claims.jti())).thenReturn(newTokenPair);
+        when(tokenRepository.rotateRefreshToken("old-refresh-id", "new-refresh-id", userId))
+                .thenReturn(RefreshTokenRotation.ROTATED);
 
         var output = useCase.execute(input);
 
         assertThat(output.accessToken()).isEqualTo("new.access.token");
         assertThat(output.refreshToken()).isEqualTo("new.refresh.token");
 
-        verify(tokenRepository).deleteRefreshToken("old-refresh-id");
-        verify(tokenRepository).saveRefreshToken("new-refresh-id", userId);
+        verify(tokenRepository).rotateRefreshToken("old-refresh-id", "new-refresh-id", userId);
     }
 
     @Test
@@ -64,9 +73,13 @@ class RefreshTokenUseCaseTest {
     void shouldThrowExceptionWhenTokenNotInWhitelist() {
         var input = new RefreshTokenUseCase.Input("revoked.refresh.token");
 
-        when(jwtTokenProvider.validateRefreshToken("revoked.refresh.token")).thenReturn(userId);
-        when(jwtTokenProvider.extractRefreshTokenId("revoked.refresh.token")).thenReturn("revoked-id");
-        when(tokenRepository.existsRefreshToken("revoked-id")).thenReturn(false);
+        var claims = refreshClaims("revoked-id");
+        when(jwtTokenProvider.parse("revoked.refresh.token")).thenReturn(claims);
+        when(jwtTokenProvider.validateRefreshToken(claims)).thenReturn(userId);
+        when(jwtTokenProvider.rotateTokenPair(userId, claims.jti()))
+                .thenReturn(new TokenPair("new.access.token", "new.refresh.token", "new-refresh-id", 900000, 604800000));
+        when(tokenRepository.rotateRefreshToken("revoked-id", "new-refresh-id", userId))
+                .thenReturn(RefreshTokenRotation.NOT_FOUND);
 
         assertThatThrownBy(() -> useCase.execute(input))
                 .isInstanceOf(InvalidTokenException.class)
@@ -75,15 +88,50 @@ class RefreshTokenUseCaseTest {
         verify(tokenRepository, never()).saveRefreshToken(any(), any());
     }
 
+    @Test
+    @DisplayName("Should reject a refresh token that was already rotated")
+    void shouldRejectReusedRefreshToken() {
+        var input = new RefreshTokenUseCase.Input("rotated.refresh.token");
+
+        var claims = refreshClaims("rotated-id");
+        when(jwtTokenProvider.parse("rotated.refresh.token")).thenReturn(claims);
+        when(jwtTokenProvider.validateRefreshToken(claims)).thenReturn(userId);
+        when(jwtTokenProvider.rotateTokenPair(userId, claims.jti()))
+                .thenReturn(new TokenPair("new.access.token", "new.refresh.token", "new-refresh-id", 900000, 604800000));
+        when(tokenRepository.rotateRefreshToken("rotated-id", "new-refresh-id", userId))
+                .thenReturn(RefreshTokenRotation.REUSED);
+
+        assertThatThrownBy(() -> useCase.execute(input))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("reuse detected");
+    }
+
     @Test
     @DisplayName("Should throw exception when refresh token is invalid")
     void shouldThrowExceptionWhenTokenIsInvalid() {
         var input = new RefreshTokenUseCase.Input("invalid.token");
 
-        when(jwtTokenProvider.validateRefreshToken("invalid.token"))
+        when(jwtTokenProvider.parse("invalid.token"))
                 .thenThrow(new InvalidTokenException("Token expired"));
 
         assertThatThrownBy(() -> useCase.execute(input))
                 .isInstanceOf(InvalidTokenException.class);
     }
+
+    @Test
+    @DisplayName("Should reject refresh token issued before all sessions were revoked")
+    void shouldRejectTokenIssuedBeforeUserRevocation() {
+        var input = new RefreshTokenUseCase.Input("old.refresh.token");
+
+        var claims = refreshClaims("old-refresh-id");
+        when(jwtTokenProvider.parse("old.refresh.token")).thenReturn(claims);
+        when(jwtTokenProvider.validateRefreshToken(claims)).thenReturn(userId);
+        when(tokenRepository.isRevokedForUser(userId, claims.issuedAt())).thenReturn(true);
+
+        assertThatThrownBy(() -> useCase.execute(input))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("revoked");
+
+        verify(tokenRepository, never()).rotateRefreshToken(any(), any(), any());
+    }
 }
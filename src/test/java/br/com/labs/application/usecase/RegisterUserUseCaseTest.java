@@ -18,6 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -43,8 +44,6 @@ class RegisterUserUseCaseTest {
     void shouldRegisterUserSuccessfully() {
         var input = new RegisterUserUseCase.Input("john.doe", "john@example.com", "Password123");
 
-        when(userRepository.existsByUsername(any(Username.class))).thenReturn(false);
-        when(userRepository.existsByEmail(any(Email.class))).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("hashed_password");
         when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
@@ -54,9 +53,14 @@ class RegisterUserUseCaseTest {
         assertThat(output.email()).isEqualTo("john@example.com");
         assertThat(output.userId()).isNotBlank();
 
+        var inOrder = inOrder(passwordEncoder, userRepository);
+        inOrder.verify(passwordEncoder).encode("Password123");
         var userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
+        inOrder.verify(userRepository).save(userCaptor.capture());
         assertThat(userCaptor.getValue().getPassword().hashedValue()).isEqualTo("hashed_password");
+
+        verify(userRepository, never()).existsByUsername(any(Username.class));
+        verify(userRepository, never()).existsByEmail(any(Email.class));
     }
 
     @Test
@@ -64,13 +68,12 @@ class RegisterUserUseCaseTest {
     void shouldThrowExceptionWhenUsernameExists() {
         var input = new RegisterUserUseCase.Input("existing.user", "john@example.com", "Password123");
 
-        when(userRepository.existsByUsername(any(Username.class))).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed_password");
+        when(userRepository.save(any(User.class))).thenThrow(new UserAlreadyExistsException("username"));
 
         assertThatThrownBy(() -> useCase.execute(input))
                 .isInstanceOf(UserAlreadyExistsException.class)
                 .hasMessageContaining("username");
-
-        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -78,14 +81,12 @@ class RegisterUserUseCaseTest {
     void shouldThrowExceptionWhenEmailExists() {
         var input = new RegisterUserUseCase.Input("john.doe", "existing@example.com", "Password123");
 
-        when(userRepository.existsByUsername(any(Username.class))).thenReturn(false);
-        when(userRepository.existsByEmail(any(Email.class))).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed_password");
+        when(userRepository.save(any(User.class))).thenThrow(new UserAlreadyExistsException("email"));
 
         assertThatThrownBy(() -> useCase.execute(input))
                 .isInstanceOf(UserAlreadyExistsException.class)
                 .hasMessageContaining("email");
-
-        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -93,12 +94,10 @@ class RegisterUserUseCaseTest {
     void shouldThrowExceptionWhenPasswordIsWeak() {
         var input = new RegisterUserUseCase.Input("john.doe", "john@example.com", "weak");
 
-        when(userRepository.existsByUsername(any(Username.class))).thenReturn(false);
-        when(userRepository.existsByEmail(any(Email.class))).thenReturn(false);
-
         assertThatThrownBy(() -> useCase.execute(input))
                 .isInstanceOf(IllegalArgumentException.class);
 
+        verify(passwordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any());
     }
 }
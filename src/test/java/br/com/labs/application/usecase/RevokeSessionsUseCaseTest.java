@@ -0,0 +1,59 @@
+package br.com.labs.application.usecase;
+
+import br.com.labs.domain.auth.TokenRepository;
+import br.com.labs.domain.user.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RevokeSessionsUseCaseTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    private RevokeSessionsUseCase useCase;
+
+    private UserId userId;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new RevokeSessionsUseCase(tokenRepository);
+        userId = UserId.generate();
+    }
+
+    @Test
+    @DisplayName("Should revoke only the selected sessions")
+    void shouldRevokeSelectedSessions() {
+        var ids = List.of("session-1", "session-2");
+        when(tokenRepository.revokeSessions(userId, ids)).thenReturn(2);
+
+        var output = useCase.execute(new RevokeSessionsUseCase.Input(userId, ids));
+
+        assertThat(output.revoked()).isEqualTo(2);
+        verify(tokenRepository, never()).revokeAllForUser(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should revoke all sessions and outstanding access tokens")
+    void shouldRevokeAllSessions() {
+        when(tokenRepository.revokeSessions(userId, List.of())).thenReturn(3);
+
+        var output = useCase.execute(new RevokeSessionsUseCase.Input(userId));
+
+        assertThat(output.revoked()).isEqualTo(3);
+        verify(tokenRepository).revokeAllForUser(eq(userId), any());
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.labs.application.usecase;
+
+import br.com.labs.domain.auth.SecurityEvent;
+import br.com.labs.domain.auth.SecurityEventHistory;
+import br.com.labs.domain.auth.SecurityEventHistory.Entry;
+import br.com.labs.domain.user.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchSecurityEventsUseCaseTest {
+
+    @Mock
+    private SecurityEventHistory securityEventHistory;
+
+    private SearchSecurityEventsUseCase useCase;
+
+    private final UserId userId = UserId.generate();
+
+    @BeforeEach
+    void setUp() {
+        useCase = new SearchSecurityEventsUseCase(securityEventHistory);
+    }
+
+    @Test
+    @DisplayName("Should return a cursor pointing at the last event when there are more pages")
+    void shouldReturnNextCursorWhenMoreEventsExist() {
+        when(securityEventHistory.search(any())).thenReturn(entries(3));
+
+        var output = useCase.execute(new SearchSecurityEventsUseCase.Input(userId, null, null, null, null, 2));
+
+        assertThat(output.events()).hasSize(2);
+        assertThat(output.nextCursor()).isNotNull();
+        assertThat(SearchSecurityEventsUseCase.decode(output.nextCursor()))
+                .isEqualTo(output.events().get(1).cursor());
+    }
+
+    @Test
+    @DisplayName("Should pass filters and the decoded cursor to the history")
+    void shouldPassDecodedCursor() {
+        var cursor = new SecurityEventHistory.Cursor(Instant.parse("2030-01-01T10:00:00.123456Z"), 42);
+        var from = Instant.parse("2030-01-01T00:00:00Z");
+        when(securityEventHistory.search(any())).thenReturn(entries(1));
+
+        var output = useCase.execute(new SearchSecurityEventsUseCase.Input(
+                userId, "10.0.0.1", from, null, SearchSecurityEventsUseCase.encode(cursor), null));
+
+        var captor = ArgumentCaptor.forClass(SecurityEventHistory.Query.class);
+        verify(securityEventHistory).search(captor.capture());
+        assertThat(captor.getValue()).isEqualTo(new SecurityEventHistory.Query(
+                userId, "10.0.0.1", from, null, cursor, SearchSecurityEventsUseCase.DEFAULT_LIMIT + 1));
+        assertThat(output.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid cursor, limit or time range")
+    void shouldRejectInvalidInput() {
+        assertThatThrownBy(() -> useCase.execute(
+                new SearchSecurityEventsUseCase.Input(null, null, null, null, "not-a-cursor", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> useCase.execute(
+                new SearchSecurityEventsUseCase.Input(null, null, null, null, null, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        var now = Instant.now();
+        assertThatThrownBy(() -> useCase.execute(
+                new SearchSecurityEventsUseCase.Input(null, null, now, now, null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(securityEventHistory);
+    }
+
+    private List<Entry> entries(int count) {
+        var base = Instant.parse("2030-01-01T12:00:00Z");
+        return LongStream.range(0, count)
+                .mapToObj(i -> new Entry(100 - i, new SecurityEvent.LoginFailure(
+                        userId, base.minusSeconds(i), "10.0.0.1", "Invalid password")))
+                .toList();
+    }
+}
@@ -1,8 +1,9 @@
 package br.com.labs.application.usecase;
 
 import br.com.labs.application.service.SecurityMonitoringService;
-import br.com.labs.domain.auth.MfaCode;
 import br.com.labs.domain.auth.MfaRepository;
+import br.com.labs.domain.auth.MfaVerification;
+import br.com.labs.domain.auth.MfaVerification.Status;
 import br.com.labs.domain.auth.TokenPair;
 import br.com.labs.domain.auth.TokenRepository;
 import br.com.labs.domain.exception.InvalidTokenException;
@@ -18,11 +19,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
-
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -58,20 +58,18 @@ class VerifyMfaCodeUseCaseTest {
     @DisplayName("Should verify MFA code and return tokens")
     void shouldVerifyMfaCodeAndReturnTokens() {
         var input = new VerifyMfaCodeUseCase.Input("mfa.token", "123456", "192.168.1.1");
-        var tokenPair = new TokenPair("access.token", "refresh.token", 900000, 604800000);
+        var tokenPair = new TokenPair("access.token", "refresh.token", "refresh-id", 900000, 604800000);
 
         when(jwtTokenProvider.validateMfaToken("mfa.token")).thenReturn(userId);
-        when(mfaRepository.isBlocked(userId)).thenReturn(false);
-        when(mfaRepository.findCode(userId)).thenReturn(Optional.of(new MfaCode("123456")));
+        when(mfaRepository.verifyCode(userId, "123456", 3))
+                .thenReturn(new MfaVerification(Status.VALID, 0, 0));
         when(jwtTokenProvider.generateTokenPair(userId)).thenReturn(tokenPair);
-        when(jwtTokenProvider.extractRefreshTokenId("refresh.token")).thenReturn("refresh-id");
 
         var output = useCase.execute(input);
 
         assertThat(output.accessToken()).isEqualTo("access.token");
         assertThat(output.refreshToken()).isEqualTo("refresh.token");
 
-        verify(mfaRepository).deleteCode(userId);
         verify(tokenRepository).saveRefreshToken("refresh-id", userId);
         verify(securityMonitoringService).recordSuccessfulLogin(userId, "192.168.1.1");
     }
@@ -82,14 +80,15 @@ class VerifyMfaCodeUseCaseTest {
         var input = new VerifyMfaCodeUseCase.Input("mfa.token", "123456", "192.168.1.1");
 
         when(jwtTokenProvider.validateMfaToken("mfa.token")).thenReturn(userId);
-        when(mfaRepository.isBlocked(userId)).thenReturn(true);
-        when(mfaRepository.getBlockTtl(userId)).thenReturn(600L);
+        when(mfaRepository.verifyCode(userId, "123456", 3))
+                .thenReturn(new MfaVerification(Status.BLOCKED, 0, 600));
 
         assertThatThrownBy(() -> useCase.execute(input))
                 .isInstanceOf(MfaBlockedException.class)
                 .hasMessageContaining("600");
 
-        verify(mfaRepository, never()).findCode(any());
+        verify(securityMonitoringService, never()).recordMfaFailure(any(), anyString(), anyInt());
+        verify(tokenRepository, never()).saveRefreshToken(anyString(), any());
     }
 
     @Test
@@ -98,8 +97,8 @@ class VerifyMfaCodeUseCaseTest {
         var input = new VerifyMfaCodeUseCase.Input("mfa.token", "123456", "192.168.1.1");
 
         when(jwtTokenProvider.validateMfaToken("mfa.token")).thenReturn(userId);
-        when(mfaRepository.isBlocked(userId)).thenReturn(false);
-        when(mfaRepository.findCode(userId)).thenReturn(Optional.empty());
+        when(mfaRepository.verifyCode(userId, "123456", 3))
+                .thenReturn(new MfaVerification(Status.EXPIRED, 0, 0));
 
         assertThatThrownBy(() -> useCase.execute(input))
                 .isInstanceOf(MfaCodeExpiredException.class);
@@ -111,9 +110,8 @@ class VerifyMfaCodeUseCaseTest {
         var input = new VerifyMfaCodeUseCase.Input("mfa.token", "000000", "192.168.1.1");
 
         when(jwtTokenProvider.validateMfaToken("mfa.token")).thenReturn(userId);
-        when(mfaRepository.isBlocked(userId)).thenReturn(false);
-        when(mfaRepository.findCode(userId)).thenReturn(Optional.of(new MfaCode("123456")));
-        when(mfaRepository.incrementAttempts(userId)).thenReturn(1);
+        when(mfaRepository.verifyCode(userId, "000000", 3))
+                .thenReturn(new MfaVerification(Status.INVALID, 1, 0));
 
         assertThatThrownBy(() -> useCase.execute(input))
                 .isInstanceOf(MfaCodeInvalidException.class)
@@ -130,18 +128,16 @@ class VerifyMfaCodeUseCaseTest {
         var input = new VerifyMfaCodeUseCase.Input("mfa.token", "000000", "192.168.1.1");
 
         when(jwtTokenProvider.validateMfaToken("mfa.token")).thenReturn(userId);
-        when(mfaRepository.isBlocked(userId)).thenReturn(false);
-        when(mfaRepository.findCode(userId)).thenReturn(Optional.of(new MfaCode("123456")));
-        when(mfaRepository.incrementAttempts(userId)).thenReturn(3);
-        when(mfaRepository.getBlockTtl(userId)).thenReturn(900L);
+        when(mfaRepository.verifyCode(userId, "000000", 3))
+                .thenReturn(new MfaVerification(Status.ATTEMPTS_EXHAUSTED, 3, 900));
 
         assertThatThrownBy(() -> useCase.execute(input))
-                .isInstanceOf(MfaBlockedException.class);
+                .isInstanceOf(MfaBlockedException.class)
+                .hasMessageContaining("900");
 
-        verify(mfaRepository).block(userId);
-        verify(mfaRepository).deleteCode(userId);
         verify(securityMonitoringService).recordMfaFailure(eq(userId), eq("192.168.1.1"), eq(3));
-        verify(securityMonitoringService).blockAccount(eq(userId), eq("192.168.1.1"), anyString());
+        verify(securityMonitoringService).recordAccountBlocked(eq(userId), eq("192.168.1.1"), anyString(), eq(900L));
+        verify(tokenRepository, never()).saveRefreshToken(anyString(), any());
     }
 
     @Test
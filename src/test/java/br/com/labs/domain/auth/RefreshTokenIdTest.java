@@ -0,0 +1,32 @@
+package br.com.labs.domain.auth;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenIdTest {
+
+    @Test
+    @DisplayName("Should keep the family across rotations")
+    void shouldKeepFamily() {
+        var first = RefreshTokenId.newFamily();
+        var next = first.next();
+
+        assertThat(next.family()).isEqualTo(first.family());
+        assertThat(next.token()).isNotEqualTo(first.token());
+        assertThat(RefreshTokenId.parse(next.toString())).contains(next);
+    }
+
+    @Test
+    @DisplayName("Should not parse ids issued before families")
+    void shouldNotParseLegacyIds() {
+        assertThat(RefreshTokenId.parse(UUID.randomUUID().toString())).isEmpty();
+        assertThat(RefreshTokenId.parse(".token")).isEmpty();
+        assertThat(RefreshTokenId.parse("family.")).isEmpty();
+        assertThat(RefreshTokenId.parse("a.b.c")).isEmpty();
+        assertThat(RefreshTokenId.parse(null)).isEmpty();
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.labs.domain.user;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserIdTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    @Test
+    @DisplayName("Should generate RFC 9562 version 7 UUIDs")
+    void shouldGenerateVersion7() {
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = UserId.timeOrdered(NOW);
+
+            assertThat(uuid.version()).isEqualTo(7);
+            assertThat(uuid.variant()).isEqualTo(2);
+            assertThat(uuid.toString().charAt(14)).isEqualTo('7');
+            assertThat(uuid.toString().charAt(19)).isIn('8', '9', 'a', 'b');
+        }
+    }
+
+    @Test
+    @DisplayName("Should carry the millisecond timestamp in the first 48 bits")
+    void shouldCarryTimestamp() {
+        UUID uuid = UserId.timeOrdered(NOW);
+
+        assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+    }
+
+    @Test
+    @DisplayName("Should sort ids from a later millisecond after earlier ones")
+    void shouldSortByMillisecond() {
+        for (int i = 0; i < 1000; i++) {
+            UUID earlier = UserId.timeOrdered(NOW + i);
+            UUID later = UserId.timeOrdered(NOW + i + 1);
+
+            assertThat(later).isGreaterThan(earlier);
+            assertThat(later.toString()).isGreaterThan(earlier.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not repeat ids generated in the same millisecond")
+    void shouldBeUniqueWithinMillisecond() {
+        assertThat(UserId.timeOrdered(NOW)).isNotEqualTo(UserId.timeOrdered(NOW));
+        assertThat(UserId.generate().value().version()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.labs.infrastructure.audit;
+
+import br.com.labs.domain.auth.SecurityEvent;
+import br.com.labs.domain.auth.SecurityEvent.SeverityLevel;
+import br.com.labs.domain.user.UserId;
+import br.com.labs.infrastructure.audit.AsyncSecurityEventPublisher.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncSecurityEventPublisherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrentLinkedQueue<SecurityEvent> delivered = new ConcurrentLinkedQueue<>();
+    private AsyncSecurityEventPublisher publisher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (publisher != null) {
+            publisher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver every event published by concurrent producers")
+    void shouldDeliverConcurrentEvents() throws Exception {
+        publisher = new AsyncSecurityEventPublisher(List.of(delivered::addAll), meterRegistry,
+                64, 16, OverflowPolicy.BLOCK, 2, Duration.ofSeconds(5), Duration.ofMillis(1));
+        publisher.start();
+
+        int producers = 8;
+        int perProducer = 2_000;
+        var done = new CountDownLatch(producers);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int p = 0; p < producers; p++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        publisher.publish(loginFailure());
+                    }
+                    done.countDown();
+                });
+            }
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+        publisher.stop();
+
+        assertThat(delivered).hasSize(producers * perProducer);
+        assertThat(meterRegistry.counter("security.events.published").count()).isEqualTo(producers * perProducer);
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest events when the buffer is full")
+    void shouldDropOldestWhenFull() throws InterruptedException {
+        publisher = publisher(OverflowPolicy.DROP_OLDEST, 4, List.of(delivered::addAll));
+        var events = new ArrayList<SecurityEvent>();
+        for (int i = 0; i < 6; i++) {
+            var event = loginFailure();
+            events.add(event);
+            publisher.publish(event);
+        }
+
+        publisher.start();
+        publisher.stop();
+
+        assertThat(delivered).containsExactlyElementsOf(events.subList(2, 6));
+        assertThat(dropped("overflow")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should sample failures but keep blocks and suspicious activity when nearly full")
+    void shouldSampleOnlyLowValueEvents() throws InterruptedException {
+        publisher = publisher(OverflowPolicy.SAMPLE, 16, List.of(delivered::addAll));
+        for (int i = 0; i < 12; i++) {
+            publisher.publish(loginFailure());
+        }
+        var blocked = new SecurityEvent.AccountBlocked(UserId.generate(), Instant.now(), "10.0.0.1", "test", 900);
+        var suspicious = new SecurityEvent.SuspiciousActivity(
+                UserId.generate(), Instant.now(), "10.0.0.1", "test", SeverityLevel.HIGH);
+        for (int i = 0; i < 4; i++) {
+            publisher.publish(loginFailure());
+        }
+        publisher.publish(blocked);
+        publisher.publish(suspicious);
+
+        publisher.start();
+        publisher.stop();
+
+        assertThat(delivered).contains(blocked, suspicious);
+        assertThat(dropped("sampled")).isEqualTo(2);
+        assertThat(delivered).hasSize(16);
+    }
+
+    @Test
+    @DisplayName("Should give up after the block timeout when nothing drains the buffer")
+    void shouldTimeOutWhenBlocked() {
+        publisher = publisher(OverflowPolicy.BLOCK, 2, List.of(delivered::addAll));
+        publisher.publish(loginFailure());
+        publisher.publish(loginFailure());
+
+        publisher.publish(loginFailure());
+
+        assertThat(dropped("timeout")).isEqualTo(1);
+        assertThat(meterRegistry.get("security.events.lag").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep delivering to the other sinks when one fails")
+    void shouldIsolateFailingSink() throws InterruptedException {
+        SecurityEventSink failing = events -> {
+            throw new IllegalStateException("sink down");
+        };
+        publisher = publisher(OverflowPolicy.DROP_OLDEST, 8, List.of(failing, delivered::addAll));
+        publisher.publish(loginFailure());
+
+        publisher.start();
+        publisher.stop();
+
+        assertThat(delivered).hasSize(1);
+        assertThat(meterRegistry.counter("security.events.sink.failures").count()).isEqualTo(1);
+    }
+
+    private AsyncSecurityEventPublisher publisher(OverflowPolicy policy, int bufferSize, List<SecurityEventSink> sinks) {
+        return new AsyncSecurityEventPublisher(
+                sinks, meterRegistry, bufferSize, 16, policy, 2, Duration.ofMillis(20), Duration.ofMillis(1));
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.counter("security.events.dropped", "reason", reason).count();
+    }
+
+    private static SecurityEvent loginFailure() {
+        return new SecurityEvent.LoginFailure(UserId.generate(), Instant.now(), "10.0.0.1", "Invalid password");
+    }
+}
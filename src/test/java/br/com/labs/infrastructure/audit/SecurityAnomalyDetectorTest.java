@@ -0,0 +1,157 @@
+package br.com.labs.infrastructure.audit;
+
+import br.com.labs.application.service.SecurityMonitoringService;
+import br.com.labs.domain.auth.SecurityEvent;
+import br.com.labs.domain.auth.SecurityEvent.SeverityLevel;
+import br.com.labs.domain.user.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityAnomalyDetectorTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    @Mock
+    private SecurityMonitoringService securityMonitoringService;
+
+    @Mock
+    private ObjectProvider<SecurityMonitoringService> securityMonitoringServiceProvider;
+
+    private SecurityAnomalyDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(securityMonitoringServiceProvider.getObject()).thenReturn(securityMonitoringService);
+        detector = new SecurityAnomalyDetector(securityMonitoringServiceProvider,
+                Duration.ofMinutes(10), 10, 1024, 4, 256, 3, 50, 200, 10, 5);
+    }
+
+    @Test
+    @DisplayName("Should flag an IP failing against many distinct users")
+    void shouldFlagCredentialStuffing() {
+        List<SecurityEvent> events = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            events.add(loginFailure(UserId.generate(), "203.0.113.7", i));
+        }
+
+        detector.accept(events);
+
+        verify(securityMonitoringService, times(1)).reportSuspiciousSource(
+                eq("203.0.113.7"), contains("Credential stuffing"), eq(SeverityLevel.HIGH));
+        verify(securityMonitoringService, never()).reportSuspiciousActivity(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should flag an IP failing against many unknown usernames")
+    void shouldFlagCredentialStuffingWithUnknownUsernames() {
+        List<SecurityEvent> events = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            events.add(new SecurityEvent.UnknownUserLoginFailure(NOW.plusSeconds(i), "203.0.113.7", "user" + i));
+        }
+
+        detector.accept(events);
+
+        verify(securityMonitoringService, times(1)).reportSuspiciousSource(
+                eq("203.0.113.7"), contains("Credential stuffing"), eq(SeverityLevel.HIGH));
+        verify(securityMonitoringService, never()).reportSuspiciousActivity(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should flag a user failing from many distinct IPs")
+    void shouldFlagDistributedAttackOnUser() {
+        var userId = UserId.generate();
+        List<SecurityEvent> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            events.add(new SecurityEvent.MfaFailure(userId, NOW.plusSeconds(i), "198.51." + i + ".10", 1));
+        }
+
+        detector.accept(events);
+
+        verify(securityMonitoringService, times(1)).reportSuspiciousActivity(
+                eq(userId), anyString(), contains("Distributed attack"), eq(SeverityLevel.HIGH));
+    }
+
+    @Test
+    @DisplayName("Should escalate to critical when the distinct count passes five times the threshold")
+    void shouldEscalateToCritical() {
+        var userId = UserId.generate();
+        List<SecurityEvent> events = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            events.add(loginFailure(userId, "198.51." + i + ".10", i));
+        }
+
+        detector.accept(events);
+
+        verify(securityMonitoringService).reportSuspiciousActivity(
+                eq(userId), anyString(), contains("Distributed attack"), eq(SeverityLevel.HIGH));
+        verify(securityMonitoringService).reportSuspiciousActivity(
+                eq(userId), anyString(), contains("Distributed attack"), eq(SeverityLevel.CRITICAL));
+    }
+
+    @Test
+    @DisplayName("Should flag a network spreading failures across many IPs")
+    void shouldFlagNetwork() {
+        List<SecurityEvent> events = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            events.add(loginFailure(UserId.generate(), "192.0.2." + (i % 250), i));
+        }
+
+        detector.accept(events);
+
+        verify(securityMonitoringService, times(1)).reportSuspiciousSource(
+                anyString(), contains("network 192.0.2.0/24"), eq(SeverityLevel.MEDIUM));
+        verify(securityMonitoringService, never()).reportSuspiciousActivity(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stay quiet for ordinary failures and ignore other events")
+    void shouldIgnoreOrdinaryTraffic() {
+        var userId = UserId.generate();
+        detector.accept(List.of(
+                loginFailure(userId, "203.0.113.7", 0),
+                loginFailure(userId, "203.0.113.7", 1),
+                loginFailure(UserId.generate(), "unknown", 2),
+                new SecurityEvent.AccountBlocked(userId, NOW, "203.0.113.7", "Too many failures", 900)
+        ));
+
+        verify(securityMonitoringService, never()).reportSuspiciousActivity(any(), any(), any(), any());
+        verify(securityMonitoringService, never()).reportSuspiciousSource(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not count failures that left the window")
+    void shouldSlideWindow() {
+        var userId = UserId.generate();
+        for (int i = 0; i < 49; i++) {
+            detector.accept(List.of(loginFailure(userId, "203.0.113.7", i)));
+        }
+        detector.accept(List.of(loginFailure(userId, "203.0.113.7", Duration.ofMinutes(15).toSeconds())));
+
+        verify(securityMonitoringService, never()).reportSuspiciousActivity(any(), any(), any(), any());
+        verify(securityMonitoringService, never()).reportSuspiciousSource(any(), any(), any());
+    }
+
+    private static SecurityEvent loginFailure(UserId userId, String ip, long secondsAfter) {
+        return new SecurityEvent.LoginFailure(userId, NOW.plusSeconds(secondsAfter), ip, "Invalid password");
+    }
+}
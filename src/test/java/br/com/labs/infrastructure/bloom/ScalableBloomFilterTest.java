@@ -0,0 +1,53 @@
+package br.com.labs.infrastructure.bloom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    @DisplayName("Should find every inserted value after growing past the initial capacity")
+    void shouldGrowWithoutFalseNegatives() {
+        var filter = new ScalableBloomFilter(100, 0.01);
+
+        for (int i = 0; i < 5_000; i++) {
+            filter.put("user-" + i);
+        }
+
+        assertThat(filter.stageCount()).isGreaterThan(1);
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(filter.mightContain("user-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false positive rate bounded as stages are added")
+    void shouldKeepFalsePositiveRateBounded() {
+        var filter = new ScalableBloomFilter(100, 0.01);
+        for (int i = 0; i < 5_000; i++) {
+            filter.put("user-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (filter.mightContain("unknown-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(400);
+    }
+
+    @Test
+    @DisplayName("Should not grow while within the initial capacity")
+    void shouldStayInFirstStageWithinCapacity() {
+        var filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("user-" + i);
+        }
+
+        assertThat(filter.stageCount()).isEqualTo(1);
+        assertThat(filter.mightContain("someone-else")).isFalse();
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.labs.infrastructure.bloom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SlidingCountMinSketchTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+    private final SlidingCountMinSketch sketch =
+            new SlidingCountMinSketch(Duration.ofMinutes(10), 10, 1024, 4);
+
+    @Test
+    @DisplayName("Should count occurrences without underestimating")
+    void shouldCountOccurrences() {
+        for (int i = 0; i < 50; i++) {
+            sketch.add("203.0.113.7", i * 1000L);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            sketch.add("198.51.100." + i, i * 10L);
+        }
+
+        assertThat(sketch.estimate("203.0.113.7")).isBetween(50, 60);
+        assertThat(sketch.estimate("192.0.2.1")).isLessThan(10);
+    }
+
+    @Test
+    @DisplayName("Should forget occurrences once their slice leaves the window")
+    void shouldForgetExpiredOccurrences() {
+        for (int i = 0; i < 30; i++) {
+            sketch.add("203.0.113.7", 0);
+        }
+        sketch.add("203.0.113.7", 5 * MINUTE);
+
+        assertThat(sketch.estimate("203.0.113.7")).isEqualTo(31);
+
+        assertThat(sketch.add("203.0.113.7", 11 * MINUTE)).isEqualTo(2);
+        assertThat(sketch.add("203.0.113.7", 22 * MINUTE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not count occurrences older than the window")
+    void shouldIgnoreLateOccurrences() {
+        sketch.add("203.0.113.7", 20 * MINUTE);
+
+        assertThat(sketch.add("203.0.113.7", 0)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a window with a single slice")
+    void shouldRejectSingleSlice() {
+        assertThatThrownBy(() -> new SlidingCountMinSketch(Duration.ofMinutes(1), 1, 64, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.labs.infrastructure.bloom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingHyperLogLogTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+    private final SlidingHyperLogLog hll = new SlidingHyperLogLog(Duration.ofMinutes(10), 10, 10);
+
+    @Test
+    @DisplayName("Should estimate distinct members within the standard error")
+    void shouldEstimateDistinctMembers() {
+        for (int i = 0; i < 5_000; i++) {
+            hll.add("user-" + (i % 1_000), i * 10L);
+        }
+
+        assertThat(hll.estimate()).isBetween(900L, 1_100L);
+    }
+
+    @Test
+    @DisplayName("Should be exact enough for small cardinalities")
+    void shouldEstimateSmallCardinalities() {
+        for (int i = 0; i < 12; i++) {
+            hll.add("user-" + i, 0);
+            hll.add("user-" + i, 1000);
+        }
+
+        assertThat(hll.estimate()).isBetween(11L, 13L);
+    }
+
+    @Test
+    @DisplayName("Should forget members once their slice leaves the window")
+    void shouldForgetExpiredMembers() {
+        for (int i = 0; i < 100; i++) {
+            hll.add("old-" + i, 0);
+        }
+
+        assertThat(hll.add("fresh", 11 * MINUTE)).isEqualTo(1L);
+    }
+}
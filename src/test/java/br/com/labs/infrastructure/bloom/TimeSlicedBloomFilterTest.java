@@ -0,0 +1,85 @@
+package br.com.labs.infrastructure.bloom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeSlicedBloomFilterTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final TimeSlicedBloomFilter filter =
+            new TimeSlicedBloomFilter(Duration.ofMinutes(15), 4, 1000, 0.01, clock);
+
+    @Test
+    @DisplayName("Should find inserted values and reject unknown ones")
+    void shouldFindInsertedValues() {
+        for (int i = 0; i < 500; i++) {
+            filter.put("jti-" + i);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(filter.mightContain("jti-" + i)).isTrue();
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(100);
+    }
+
+    @Test
+    @DisplayName("Should keep values for the whole retention window")
+    void shouldKeepValuesDuringRetention() {
+        filter.put("revoked-jti");
+
+        clock.advance(Duration.ofMinutes(15));
+
+        assertThat(filter.mightContain("revoked-jti")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should forget values once their slice ages out")
+    void shouldForgetExpiredValues() {
+        filter.put("revoked-jti");
+
+        clock.advance(Duration.ofMinutes(20));
+        filter.put("fresh-jti");
+
+        assertThat(filter.mightContain("revoked-jti")).isFalse();
+        assertThat(filter.mightContain("fresh-jti")).isTrue();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
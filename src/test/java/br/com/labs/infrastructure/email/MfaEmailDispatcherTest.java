@@ -0,0 +1,173 @@
+package br.com.labs.infrastructure.email;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MfaEmailDispatcherTest {
+
+    private static final String STREAM = MfaEmailOutbox.STREAM_KEY;
+    private static final String GROUP = MfaEmailDispatcher.GROUP;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOps;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOps;
+
+    @Mock
+    private SmtpEmailSender smtpSender;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MfaEmailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForStream()).thenReturn(streamOps);
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new MfaEmailDispatcher(redisTemplate, smtpSender, meterRegistry,
+                1, 50, 3, Duration.ofSeconds(1), Duration.ofSeconds(4), Duration.ofSeconds(60), 300);
+    }
+
+    @Test
+    @DisplayName("Should acknowledge and delete delivered emails")
+    void shouldAcknowledgeDeliveredEmails() {
+        when(smtpSender.send(anyList())).thenReturn(Set.of());
+
+        dispatcher.deliver(List.of(record("1-0", 0, System.currentTimeMillis())));
+
+        verify(streamOps).acknowledge(STREAM, GROUP, "1-0");
+        verify(streamOps).delete(STREAM, "1-0");
+        assertThat(meterRegistry.counter("mail.sent").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should schedule a failed email for retry with exponential backoff")
+    void shouldScheduleRetryWithBackoff() {
+        long enqueuedAt = System.currentTimeMillis();
+        when(smtpSender.send(anyList())).thenReturn(Set.of("1-0", "2-0"));
+
+        long before = System.currentTimeMillis();
+        dispatcher.deliver(List.of(record("1-0", 0, enqueuedAt), record("2-0", 1, enqueuedAt)));
+        long after = System.currentTimeMillis();
+
+        var dueAt = ArgumentCaptor.forClass(String.class);
+        var member = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class),
+                eq(List.of(STREAM, MfaEmailOutbox.RETRY_KEY)), anyString(), dueAt.capture(), member.capture());
+
+        assertThat(member.getAllValues()).containsExactly(
+                "1|" + enqueuedAt + "|123456|john@example.com",
+                "2|" + enqueuedAt + "|123456|john@example.com");
+        assertThat(Long.parseLong(dueAt.getAllValues().get(0))).isBetween(before + 1000, after + 1000);
+        assertThat(Long.parseLong(dueAt.getAllValues().get(1))).isBetween(before + 2000, after + 2000);
+        verify(streamOps, never()).acknowledge(anyString(), anyString(), any(String[].class));
+        assertThat(meterRegistry.counter("mail.retried").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should cap the retry backoff at the maximum")
+    void shouldCapBackoff() {
+        var capped = new MfaEmailDispatcher(redisTemplate, smtpSender, meterRegistry,
+                1, 50, 10, Duration.ofSeconds(1), Duration.ofSeconds(4), Duration.ofSeconds(60), 300);
+        when(smtpSender.send(anyList())).thenReturn(Set.of("1-0"));
+
+        long before = System.currentTimeMillis();
+        capped.deliver(List.of(record("1-0", 5, System.currentTimeMillis())));
+        long after = System.currentTimeMillis();
+
+        var dueAt = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), anyString(), dueAt.capture(), anyString());
+        assertThat(Long.parseLong(dueAt.getValue())).isBetween(before + 4000, after + 4000);
+    }
+
+    @Test
+    @DisplayName("Should drop an email once it has used all attempts")
+    void shouldDropAfterMaxAttempts() {
+        when(smtpSender.send(anyList())).thenReturn(Set.of("1-0"));
+
+        dispatcher.deliver(List.of(record("1-0", 2, System.currentTimeMillis())));
+
+        verify(streamOps).acknowledge(STREAM, GROUP, "1-0");
+        verify(streamOps).delete(STREAM, "1-0");
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        assertThat(meterRegistry.counter("mail.dropped", "reason", "attempts").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop emails older than the code TTL without sending them")
+    void shouldDropExpiredEmails() {
+        long expired = System.currentTimeMillis() - Duration.ofSeconds(301).toMillis();
+
+        dispatcher.deliver(List.of(record("1-0", 0, expired)));
+
+        verify(smtpSender, never()).send(anyList());
+        verify(streamOps).acknowledge(STREAM, GROUP, "1-0");
+        verify(streamOps).delete(STREAM, "1-0");
+        assertThat(meterRegistry.counter("mail.dropped", "reason", "expired").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should claim and deliver only entries idle longer than claim-idle")
+    void shouldClaimIdleEntries() {
+        var consumer = Consumer.from(GROUP, "mailer-test-0");
+        var stuck = new PendingMessage(RecordId.of("1-0"), Consumer.from(GROUP, "dead"), Duration.ofSeconds(90), 1);
+        var recent = new PendingMessage(RecordId.of("2-0"), Consumer.from(GROUP, "alive"), Duration.ofSeconds(5), 1);
+        when(streamOps.pending(STREAM, GROUP, Range.unbounded(), 50L))
+                .thenReturn(new PendingMessages(GROUP, List.of(stuck, recent)));
+        when(streamOps.claim(STREAM, GROUP, "mailer-test-0", Duration.ofSeconds(60), RecordId.of("1-0")))
+                .thenReturn(List.of(record("1-0", 0, System.currentTimeMillis())));
+        when(smtpSender.send(anyList())).thenReturn(Set.of());
+
+        dispatcher.housekeeping(consumer);
+
+        verify(streamOps).claim(STREAM, GROUP, "mailer-test-0", Duration.ofSeconds(60), RecordId.of("1-0"));
+        verify(streamOps).acknowledge(STREAM, GROUP, "1-0");
+    }
+
+    private static MapRecord<String, Object, Object> record(String id, int attempts, long enqueuedAt) {
+        Map<Object, Object> fields = Map.of(
+                "to", "john@example.com",
+                "code", "123456",
+                "enqueuedAt", String.valueOf(enqueuedAt),
+                "attempts", String.valueOf(attempts)
+        );
+        return MapRecord.create(STREAM, fields).withId(RecordId.of(id));
+    }
+}
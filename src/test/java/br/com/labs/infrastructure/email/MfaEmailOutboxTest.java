@@ -0,0 +1,65 @@
+package br.com.labs.infrastructure.email;
+
+import br.com.labs.domain.auth.MfaCode;
+import br.com.labs.domain.exception.ServiceOverloadedException;
+import br.com.labs.domain.user.Email;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MfaEmailOutboxTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MfaEmailOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outbox = new MfaEmailOutbox(redisTemplate, meterRegistry, 10, 5);
+    }
+
+    @Test
+    @DisplayName("Should enqueue the email when the outbox has room")
+    void shouldEnqueue() {
+        when(redisTemplate.execute(any(RedisScript.class),
+                eq(List.of(MfaEmailOutbox.STREAM_KEY, MfaEmailOutbox.RETRY_KEY)),
+                eq("10"), eq("john@example.com"), eq("123456"), anyString()))
+                .thenReturn(1L);
+
+        outbox.sendMfaCode(new Email("john@example.com"), new MfaCode("123456"));
+
+        assertThat(meterRegistry.counter("mail.outbox.rejected").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject with retry-after when the outbox is full")
+    void shouldRejectWhenFull() {
+        when(redisTemplate.execute(any(RedisScript.class), any(List.class),
+                anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(0L);
+
+        assertThatThrownBy(() -> outbox.sendMfaCode(new Email("john@example.com"), new MfaCode("123456")))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .satisfies(e -> assertThat(((ServiceOverloadedException) e).getRetryAfterSeconds()).isEqualTo(5));
+        assertThat(meterRegistry.counter("mail.outbox.rejected").count()).isEqualTo(1);
+    }
+}
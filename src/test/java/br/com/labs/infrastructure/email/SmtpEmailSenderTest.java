@@ -0,0 +1,112 @@
+package br.com.labs.infrastructure.email;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SmtpEmailSenderTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private SmtpEmailSender sender;
+
+    private final List<OutboundMfaEmail> batch = List.of(
+            new OutboundMfaEmail("1-0", "john@example.com", "123456", 0, 0),
+            new OutboundMfaEmail("1-1", "jane@example.com", "654321", 0, 0)
+    );
+
+    @BeforeEach
+    void setUp() {
+        sender = new SmtpEmailSender(mailSender);
+        when(mailSender.createMimeMessage()).thenAnswer(inv -> new MimeMessage(Session.getInstance(new Properties())));
+    }
+
+    @Test
+    @DisplayName("Should send the whole batch in a single call")
+    void shouldSendBatchTogether() {
+        var failed = sender.send(batch);
+
+        var captor = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender).send(captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(failed).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should render a text and HTML message carrying the code")
+    void shouldRenderTextAndHtmlParts() throws Exception {
+        sender.send(batch);
+
+        var captor = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender).send(captor.capture());
+        var raw = new ByteArrayOutputStream();
+        captor.getValue()[1].writeTo(raw);
+
+        var parsed = new MimeMessage(Session.getInstance(new Properties()), new ByteArrayInputStream(raw.toByteArray()));
+        assertThat(parsed.getSubject()).isEqualTo("Seu código de verificação");
+        assertThat(parsed.getAllRecipients()).extracting(Object::toString).containsExactly("jane@example.com");
+
+        var multipart = (MimeMultipart) parsed.getContent();
+        assertThat(multipart.getCount()).isEqualTo(2);
+        assertThat(multipart.getBodyPart(0).isMimeType("text/plain")).isTrue();
+        assertThat((String) multipart.getBodyPart(0).getContent())
+                .contains("Código de Verificação")
+                .contains("654321");
+        assertThat(multipart.getBodyPart(1).isMimeType("text/html")).isTrue();
+        assertThat((String) multipart.getBodyPart(1).getContent())
+                .contains("<h1 style=\"color: #333; margin-bottom: 10px;\">Código de Verificação</h1>")
+                .contains("654321")
+                .doesNotContain("{{code}}");
+        assertThat(raw.toString(StandardCharsets.US_ASCII).lines()).allMatch(line -> line.length() <= 76);
+    }
+
+    @Test
+    @DisplayName("Should report only the messages the relay rejected")
+    void shouldReportPartialFailures() {
+        doAnswer(invocation -> {
+            MimeMessage rejected = invocation.getArgument(1);
+            throw new MailSendException(Map.of(rejected, new Exception("550 mailbox unavailable")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        var failed = sender.send(batch);
+
+        assertThat(failed).containsExactly("1-1");
+    }
+
+    @Test
+    @DisplayName("Should report the whole batch when the connection fails")
+    void shouldReportWholeBatchOnConnectionFailure() {
+        doThrow(new MailAuthenticationException("bad credentials"))
+                .when(mailSender).send(any(MimeMessage[].class));
+
+        var failed = sender.send(batch);
+
+        assertThat(failed).containsExactlyInAnyOrder("1-0", "1-1");
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.labs.infrastructure.persistence;
+
+import br.com.labs.domain.user.UserRepository;
+import br.com.labs.infrastructure.persistence.jdbc.JdbcUserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Roda os mesmos cenários de {@link UserRepositoryIntegrationTest} com o adapter JDBC.
+ */
+@TestPropertySource(properties = "persistence.user-store=jdbc")
+class JdbcUserRepositoryIntegrationTest extends UserRepositoryIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should use the JDBC adapter when persistence.user-store=jdbc")
+    void shouldUseJdbcAdapter() {
+        assertThat(userRepository).isInstanceOf(JdbcUserRepository.class);
+    }
+}
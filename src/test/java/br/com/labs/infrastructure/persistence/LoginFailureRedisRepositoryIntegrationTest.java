@@ -0,0 +1,71 @@
+package br.com.labs.infrastructure.persistence;
+
+import br.com.labs.domain.auth.LoginFailureRepository;
+import br.com.labs.domain.auth.MfaCode;
+import br.com.labs.domain.auth.MfaRepository;
+import br.com.labs.domain.user.UserId;
+import br.com.labs.infrastructure.IntegrationTestBase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginFailureRedisRepositoryIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private LoginFailureRepository loginFailureRepository;
+
+    @Autowired
+    private MfaRepository mfaRepository;
+
+    @Test
+    @DisplayName("Should count failures regardless of new MFA codes")
+    void shouldNotResetWhenMfaCodeIsIssued() {
+        var userId = UserId.generate();
+
+        loginFailureRepository.recordFailure(userId);
+        loginFailureRepository.recordFailure(userId);
+        mfaRepository.saveCode(userId, new MfaCode("123456"));
+
+        var failures = loginFailureRepository.recordFailure(userId);
+
+        assertThat(failures.count()).isEqualTo(3);
+        assertThat(failures.lockouts()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should raise the lockout level and reset failures on lockout")
+    void shouldRecordLockout() {
+        var userId = UserId.generate();
+        loginFailureRepository.recordFailure(userId);
+
+        loginFailureRepository.recordLockout(userId);
+        loginFailureRepository.recordLockout(userId);
+
+        var failures = loginFailureRepository.recordFailure(userId);
+        assertThat(failures.count()).isEqualTo(1);
+        assertThat(failures.lockouts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reset failures and decay the lockout level on success")
+    void shouldDecayOnSuccess() {
+        var userId = UserId.generate();
+        loginFailureRepository.recordLockout(userId);
+        loginFailureRepository.recordLockout(userId);
+        loginFailureRepository.recordFailure(userId);
+
+        loginFailureRepository.recordSuccess(userId);
+        var afterFirst = loginFailureRepository.recordFailure(userId);
+
+        loginFailureRepository.recordSuccess(userId);
+        loginFailureRepository.recordSuccess(userId);
+        var afterThird = loginFailureRepository.recordFailure(userId);
+
+        assertThat(afterFirst.count()).isEqualTo(1);
+        assertThat(afterFirst.lockouts()).isEqualTo(1);
+        assertThat(afterThird.count()).isEqualTo(1);
+        assertThat(afterThird.lockouts()).isZero();
+    }
+}
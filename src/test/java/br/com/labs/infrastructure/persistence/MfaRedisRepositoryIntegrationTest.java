@@ -2,6 +2,7 @@ package br.com.labs.infrastructure.persistence;
 
 import br.com.labs.domain.auth.MfaCode;
 import br.com.labs.domain.auth.MfaRepository;
+import br.com.labs.domain.auth.MfaVerification.Status;
 import br.com.labs.domain.user.UserId;
 import br.com.labs.infrastructure.IntegrationTestBase;
 import org.junit.jupiter.api.DisplayName;
@@ -71,4 +72,72 @@ class MfaRedisRepositoryIntegrationTest extends IntegrationTestBase {
         assertThat(mfaRepository.isBlocked(userId)).isTrue();
         assertThat(mfaRepository.getBlockTtl(userId)).isPositive();
     }
+
+    @Test
+    @DisplayName("Should consume code on successful verification")
+    void shouldConsumeCodeOnSuccessfulVerification() {
+        var userId = UserId.generate();
+        mfaRepository.saveCode(userId, new MfaCode("111222"));
+
+        var verification = mfaRepository.verifyCode(userId, "111222", 3);
+
+        assertThat(verification.status()).isEqualTo(Status.VALID);
+        assertThat(mfaRepository.findCode(userId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count wrong codes and block at the limit")
+    void shouldBlockAfterMaxWrongCodes() {
+        var userId = UserId.generate();
+        mfaRepository.saveCode(userId, new MfaCode("111222"));
+
+        var first = mfaRepository.verifyCode(userId, "000000", 2);
+        assertThat(first.status()).isEqualTo(Status.INVALID);
+        assertThat(first.attempts()).isEqualTo(1);
+
+        var second = mfaRepository.verifyCode(userId, "000000", 2);
+        assertThat(second.status()).isEqualTo(Status.ATTEMPTS_EXHAUSTED);
+        assertThat(second.blockTtlSeconds()).isPositive();
+
+        var afterBlock = mfaRepository.verifyCode(userId, "111222", 2);
+        assertThat(afterBlock.status()).isEqualTo(Status.BLOCKED);
+        assertThat(mfaRepository.isBlocked(userId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reuse a recently issued code without resetting attempts")
+    void shouldReuseRecentCodeWithoutResettingAttempts() {
+        var userId = UserId.generate();
+
+        var first = mfaRepository.issueCode(userId, new MfaCode("111222"));
+        assertThat(first.reused()).isFalse();
+        mfaRepository.verifyCode(userId, "999999", 3);
+
+        var second = mfaRepository.issueCode(userId, new MfaCode("333444"));
+
+        assertThat(second.reused()).isTrue();
+        assertThat(second.code().value()).isEqualTo("111222");
+        assertThat(mfaRepository.getAttempts(userId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should issue a new code once the previous one is marked as not sent")
+    void shouldIssueNewCodeAfterMarkedUnsent() {
+        var userId = UserId.generate();
+
+        mfaRepository.issueCode(userId, new MfaCode("111222"));
+        mfaRepository.markCodeUnsent(userId);
+        var retry = mfaRepository.issueCode(userId, new MfaCode("333444"));
+
+        assertThat(retry.reused()).isFalse();
+        assertThat(retry.code().value()).isEqualTo("333444");
+    }
+
+    @Test
+    @DisplayName("Should report expired when there is no code")
+    void shouldReportExpiredWhenNoCode() {
+        var verification = mfaRepository.verifyCode(UserId.generate(), "123456", 3);
+
+        assertThat(verification.status()).isEqualTo(Status.EXPIRED);
+    }
 }
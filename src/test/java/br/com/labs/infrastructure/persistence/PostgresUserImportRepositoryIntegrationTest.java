@@ -0,0 +1,50 @@
+package br.com.labs.infrastructure.persistence;
+
+import br.com.labs.domain.user.Email;
+import br.com.labs.domain.user.Password;
+import br.com.labs.domain.user.User;
+import br.com.labs.domain.user.UserImportOutcome;
+import br.com.labs.domain.user.UserRepository;
+import br.com.labs.domain.user.Username;
+import br.com.labs.infrastructure.IntegrationTestBase;
+import br.com.labs.infrastructure.persistence.jdbc.PostgresUserImportRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostgresUserImportRepositoryIntegrationTest extends IntegrationTestBase {
+
+    private static final String HASH = "$2a$04$abcdefghijklmnopqrstuu5jv.dgbfnBnPbXGdLIodJiQCnZa0m6a";
+
+    @Autowired
+    private PostgresUserImportRepository importRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should import new users and classify username and email conflicts")
+    void shouldClassifyConflicts() {
+        userRepository.save(user("import.existing", "import.existing@test.com"));
+
+        var fresh = user("import.fresh", "import.fresh@test.com");
+        var takenUsername = user("import.existing", "import.other@test.com");
+        var takenEmail = user("import.another", "import.existing@test.com");
+
+        var outcomes = importRepository.importBatch(List.of(fresh, takenUsername, takenEmail));
+
+        assertThat(outcomes.get(fresh.getId())).isEqualTo(UserImportOutcome.IMPORTED);
+        assertThat(outcomes.get(takenUsername.getId())).isEqualTo(UserImportOutcome.USERNAME_TAKEN);
+        assertThat(outcomes.get(takenEmail.getId())).isEqualTo(UserImportOutcome.EMAIL_TAKEN);
+        assertThat(userRepository.findByUsername(new Username("import.fresh")))
+                .hasValueSatisfying(user -> assertThat(user.getPassword().hashedValue()).isEqualTo(HASH));
+    }
+
+    private static User user(String username, String email) {
+        return User.create(new Username(username), new Email(email), new Password(HASH));
+    }
+}
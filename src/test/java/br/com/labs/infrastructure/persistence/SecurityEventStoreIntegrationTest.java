@@ -0,0 +1,75 @@
+package br.com.labs.infrastructure.persistence;
+
+import br.com.labs.domain.auth.SecurityEvent;
+import br.com.labs.domain.auth.SecurityEvent.SeverityLevel;
+import br.com.labs.domain.auth.SecurityEventHistory;
+import br.com.labs.domain.user.UserId;
+import br.com.labs.infrastructure.IntegrationTestBase;
+import br.com.labs.infrastructure.audit.PostgresSecurityEventStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityEventStoreIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private PostgresSecurityEventStore store;
+
+    @Test
+    @DisplayName("Should write a batch with COPY and read it back by user, newest first")
+    void shouldWriteAndSearchByUser() {
+        var userId = UserId.generate();
+        var now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        var failure = new SecurityEvent.LoginFailure(userId, now.minusSeconds(2), "10.0.0.1", "Invalid\tpassword");
+        var blocked = new SecurityEvent.AccountBlocked(userId, now.minusSeconds(1), "10.0.0.1", "Too many", 900);
+        var suspicious = new SecurityEvent.SuspiciousActivity(userId, now, "10.0.0.2", "Burst", SeverityLevel.HIGH);
+        store.accept(List.of(failure, blocked, suspicious));
+
+        var entries = store.search(new SecurityEventHistory.Query(userId, null, null, null, null, 10));
+
+        assertThat(entries).extracting(SecurityEventHistory.Entry::event)
+                .containsExactly(suspicious, blocked, failure);
+    }
+
+    @Test
+    @DisplayName("Should page with the keyset cursor and filter by IP")
+    void shouldPageByCursorAndFilterByIp() {
+        var userId = UserId.generate();
+        var ip = "192.0.2." + (System.nanoTime() % 200);
+        var now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        store.accept(List.of(
+                new SecurityEvent.MfaFailure(userId, now.minusSeconds(3), ip, 1),
+                new SecurityEvent.MfaFailure(userId, now.minusSeconds(2), ip, 2),
+                new SecurityEvent.MfaFailure(userId, now.minusSeconds(1), ip, 3),
+                new SecurityEvent.MfaFailure(userId, now, "198.51.100.1", 4)
+        ));
+
+        var firstPage = store.search(new SecurityEventHistory.Query(userId, ip, null, null, null, 2));
+        var secondPage = store.search(new SecurityEventHistory.Query(
+                userId, ip, null, null, firstPage.getLast().cursor(), 2));
+
+        assertThat(firstPage).extracting(e -> ((SecurityEvent.MfaFailure) e.event()).attemptNumber())
+                .containsExactly(3, 2);
+        assertThat(secondPage).extracting(e -> ((SecurityEvent.MfaFailure) e.event()).attemptNumber())
+                .containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Should store an alert about a source that has no user")
+    void shouldStoreAlertWithoutUser() {
+        var ip = "198.51.100." + (System.nanoTime() % 200);
+        var alert = new SecurityEvent.SuspiciousActivity(
+                null, Instant.now().truncatedTo(ChronoUnit.MICROS), ip, "Credential stuffing", SeverityLevel.CRITICAL);
+        store.accept(List.of(alert));
+
+        var entries = store.search(new SecurityEventHistory.Query(null, ip, null, null, null, 10));
+
+        assertThat(entries).extracting(SecurityEventHistory.Entry::event).containsExactly(alert);
+    }
+}
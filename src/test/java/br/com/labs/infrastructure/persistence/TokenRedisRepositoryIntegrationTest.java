@@ -1,11 +1,18 @@
 package br.com.labs.infrastructure.persistence;
 
+import br.com.labs.domain.auth.RefreshTokenId;
+import br.com.labs.domain.auth.RefreshTokenRotation;
 import br.com.labs.domain.auth.TokenRepository;
 import br.com.labs.domain.user.UserId;
 import br.com.labs.infrastructure.IntegrationTestBase;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -14,30 +21,34 @@ class TokenRedisRepositoryIntegrationTest extends IntegrationTestBase {
     @Autowired
     private TokenRepository tokenRepository;
 
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
     @Test
     @DisplayName("Should save and check refresh token existence")
     void shouldSaveAndCheckRefreshToken() {
         var userId = UserId.generate();
-        var tokenId = "refresh-token-id-123";
+        var tokenId = RefreshTokenId.newFamily().toString();
 
         tokenRepository.saveRefreshToken(tokenId, userId);
 
-        assertThat(tokenRepository.existsRefreshToken(tokenId)).isTrue();
-        assertThat(tokenRepository.existsRefreshToken("non-existent")).isFalse();
+        assertThat(tokenRepository.existsRefreshToken(tokenId, userId)).isTrue();
+        assertThat(tokenRepository.existsRefreshToken(RefreshTokenId.newFamily().toString(), userId)).isFalse();
     }
 
     @Test
     @DisplayName("Should delete refresh token")
     void shouldDeleteRefreshToken() {
         var userId = UserId.generate();
-        var tokenId = "refresh-to-delete";
+        var tokenId = RefreshTokenId.newFamily().toString();
 
         tokenRepository.saveRefreshToken(tokenId, userId);
-        assertThat(tokenRepository.existsRefreshToken(tokenId)).isTrue();
+        assertThat(tokenRepository.existsRefreshToken(tokenId, userId)).isTrue();
 
-        tokenRepository.deleteRefreshToken(tokenId);
+        tokenRepository.deleteRefreshToken(tokenId, userId);
 
-        assertThat(tokenRepository.existsRefreshToken(tokenId)).isFalse();
+        assertThat(tokenRepository.existsRefreshToken(tokenId, userId)).isFalse();
+        assertThat(tokenRepository.findSessions(userId)).isEmpty();
     }
 
     @Test
@@ -51,4 +62,96 @@ class TokenRedisRepositoryIntegrationTest extends IntegrationTestBase {
 
         assertThat(tokenRepository.isBlacklisted(jti)).isTrue();
     }
+
+    @Test
+    @DisplayName("Should rotate refresh token atomically")
+    void shouldRotateRefreshToken() {
+        var userId = UserId.generate();
+        var current = RefreshTokenId.newFamily();
+        var next = current.next();
+        tokenRepository.saveRefreshToken(current.toString(), userId);
+
+        var rotation = tokenRepository.rotateRefreshToken(current.toString(), next.toString(), userId);
+
+        assertThat(rotation).isEqualTo(RefreshTokenRotation.ROTATED);
+        assertThat(tokenRepository.existsRefreshToken(current.toString(), userId)).isFalse();
+        assertThat(tokenRepository.existsRefreshToken(next.toString(), userId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole family when a rotated token is replayed")
+    void shouldRevokeFamilyOnReuse() {
+        var userId = UserId.generate();
+        var first = RefreshTokenId.newFamily();
+        var second = first.next();
+        tokenRepository.saveRefreshToken(first.toString(), userId);
+        tokenRepository.rotateRefreshToken(first.toString(), second.toString(), userId);
+
+        var replay = tokenRepository.rotateRefreshToken(first.toString(), second.next().toString(), userId);
+
+        assertThat(replay).isEqualTo(RefreshTokenRotation.REUSED);
+        assertThat(tokenRepository.existsRefreshToken(second.toString(), userId)).isFalse();
+        assertThat(tokenRepository.findSessions(userId)).isEmpty();
+        assertThat(tokenRepository.rotateRefreshToken(second.toString(), second.next().toString(), userId))
+                .isEqualTo(RefreshTokenRotation.REUSED);
+    }
+
+    @Test
+    @DisplayName("Should rotate a token issued before families into a new family")
+    void shouldRotateLegacyRefreshToken() {
+        var userId = UserId.generate();
+        var legacyId = UUID.randomUUID().toString();
+        redisTemplate.opsForValue().set("refresh:" + legacyId, userId.toString());
+        var next = RefreshTokenId.newFamily();
+
+        assertThat(tokenRepository.rotateRefreshToken(legacyId, next.toString(), userId))
+                .isEqualTo(RefreshTokenRotation.ROTATED);
+        assertThat(tokenRepository.existsRefreshToken(legacyId, userId)).isFalse();
+        assertThat(tokenRepository.existsRefreshToken(next.toString(), userId)).isTrue();
+        assertThat(tokenRepository.rotateRefreshToken(legacyId, next.next().toString(), userId))
+                .isEqualTo(RefreshTokenRotation.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should revoke every token issued before the user revocation epoch")
+    void shouldRevokeTokensIssuedBeforeEpoch() {
+        var userId = UserId.generate();
+        var revokedAt = Instant.now();
+
+        assertThat(tokenRepository.isRevokedForUser(userId, revokedAt.minusSeconds(60))).isFalse();
+
+        tokenRepository.revokeAllForUser(userId, revokedAt);
+
+        assertThat(tokenRepository.isRevokedForUser(userId, revokedAt.minusSeconds(60))).isTrue();
+        assertThat(tokenRepository.isRevokedForUser(userId, revokedAt.plusSeconds(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should index sessions per user and revoke them in bulk")
+    void shouldIndexAndRevokeSessions() {
+        var userId = UserId.generate();
+        var otherUser = UserId.generate();
+        var a = RefreshTokenId.newFamily();
+        var a2 = a.next();
+        var b = RefreshTokenId.newFamily().toString();
+        var c = RefreshTokenId.newFamily().toString();
+        var other = RefreshTokenId.newFamily().toString();
+        tokenRepository.saveRefreshToken(a.toString(), userId);
+        tokenRepository.saveRefreshToken(b, userId);
+        tokenRepository.saveRefreshToken(c, userId);
+        tokenRepository.saveRefreshToken(other, otherUser);
+        tokenRepository.rotateRefreshToken(a.toString(), a2.toString(), userId);
+        tokenRepository.deleteRefreshToken(b, userId);
+
+        assertThat(tokenRepository.findSessions(userId))
+                .extracting("tokenId")
+                .containsExactlyInAnyOrder(a2.toString(), c);
+
+        assertThat(tokenRepository.revokeSessions(userId, List.of(c, other))).isEqualTo(1);
+        assertThat(tokenRepository.existsRefreshToken(other, otherUser)).isTrue();
+
+        assertThat(tokenRepository.revokeSessions(userId, List.of())).isEqualTo(1);
+        assertThat(tokenRepository.findSessions(userId)).isEmpty();
+        assertThat(tokenRepository.existsRefreshToken(a2.toString(), userId)).isFalse();
+    }
 }
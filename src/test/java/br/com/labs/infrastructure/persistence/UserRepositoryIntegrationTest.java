@@ -1,5 +1,6 @@
 package br.com.labs.infrastructure.persistence;
 
+import br.com.labs.domain.exception.UserAlreadyExistsException;
 import br.com.labs.domain.user.Email;
 import br.com.labs.domain.user.Password;
 import br.com.labs.domain.user.User;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class UserRepositoryIntegrationTest extends IntegrationTestBase {
 
@@ -98,4 +100,44 @@ class UserRepositoryIntegrationTest extends IntegrationTestBase {
         assertThat(userRepository.existsByEmail(new Email("emailexists@test.com"))).isTrue();
         assertThat(userRepository.existsByEmail(new Email("notexists@test.com"))).isFalse();
     }
+
+    @Test
+    @DisplayName("Should reject a duplicate username through the unique constraint")
+    void shouldRejectDuplicateUsername() {
+        userRepository.save(User.create(
+                new Username("duplicate.name"),
+                new Email("first@test.com"),
+                new Password("hashed_password")
+        ));
+
+        var duplicate = User.create(
+                new Username("duplicate.name"),
+                new Email("second@test.com"),
+                new Password("hashed_password")
+        );
+
+        assertThatThrownBy(() -> userRepository.save(duplicate))
+                .isInstanceOf(UserAlreadyExistsException.class)
+                .hasMessageContaining("username");
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate email through the unique constraint")
+    void shouldRejectDuplicateEmail() {
+        userRepository.save(User.create(
+                new Username("first.owner"),
+                new Email("duplicate@test.com"),
+                new Password("hashed_password")
+        ));
+
+        var duplicate = User.create(
+                new Username("second.owner"),
+                new Email("duplicate@test.com"),
+                new Password("hashed_password")
+        );
+
+        assertThatThrownBy(() -> userRepository.save(duplicate))
+                .isInstanceOf(UserAlreadyExistsException.class)
+                .hasMessageContaining("email");
+    }
 }
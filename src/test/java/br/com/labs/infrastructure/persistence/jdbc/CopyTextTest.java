@@ -0,0 +1,24 @@
+package br.com.labs.infrastructure.persistence.jdbc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CopyTextTest {
+
+    @Test
+    @DisplayName("Should escape backslashes, tabs and line breaks for COPY text format")
+    void shouldEscapeSpecialCharacters() {
+        var rows = CopyText.appendField(new StringBuilder(), "a\\b\tc\nd\re");
+
+        assertThat(rows).hasToString("a\\\\b\\tc\\nd\\re");
+    }
+
+    @Test
+    @DisplayName("Should write null as \\N and keep plain text untouched")
+    void shouldWriteNullMarker() {
+        assertThat(CopyText.appendField(new StringBuilder(), null)).hasToString("\\N");
+        assertThat(CopyText.appendField(new StringBuilder(), "$2a$12$abc./")).hasToString("$2a$12$abc./");
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.labs.infrastructure.persistence.jpa;
+
+import br.com.labs.domain.user.Email;
+import br.com.labs.domain.user.Password;
+import br.com.labs.domain.user.User;
+import br.com.labs.domain.user.Username;
+import br.com.labs.infrastructure.persistence.user.KnownUserFilter;
+import br.com.labs.infrastructure.persistence.user.UserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserRepositoryAdapterTest {
+
+    @Mock
+    private UserJpaRepository jpaRepository;
+
+    @Mock
+    private KnownUserFilter knownUsers;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private UserRepositoryAdapter adapter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        var userCache = new UserCache(redisTemplate, listenerContainer, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(1));
+        adapter = new UserRepositoryAdapter(jpaRepository, knownUsers, userCache);
+        user = User.create(
+                new Username("john.doe"),
+                new Email("john@example.com"),
+                new Password("hashed_password")
+        );
+    }
+
+    @Test
+    @DisplayName("Should answer a definite filter miss without querying the database")
+    void shouldShortCircuitOnFilterMiss() {
+        when(knownUsers.mightContainUsername("ghost")).thenReturn(false);
+        when(knownUsers.mightContainEmail("ghost@example.com")).thenReturn(false);
+
+        assertThat(adapter.findByUsername(new Username("ghost"))).isEmpty();
+        assertThat(adapter.findByEmail(new Email("ghost@example.com"))).isEmpty();
+        assertThat(adapter.existsByUsername(new Username("ghost"))).isFalse();
+        assertThat(adapter.existsByEmail(new Email("ghost@example.com"))).isFalse();
+
+        verify(jpaRepository, never()).findByUsername(anyString());
+        verify(jpaRepository, never()).findByEmail(anyString());
+        verify(jpaRepository, never()).existsByUsername(anyString());
+        verify(jpaRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Should query the database when the filter might contain the user")
+    void shouldQueryOnFilterHit() {
+        when(knownUsers.mightContainUsername("john.doe")).thenReturn(true);
+        when(jpaRepository.findByUsername("john.doe")).thenReturn(Optional.of(UserJpaEntity.fromDomain(user)));
+
+        var found = adapter.findByUsername(user.getUsername());
+
+        assertThat(found).contains(user);
+        verify(jpaRepository).findByUsername("john.doe");
+    }
+
+    @Test
+    @DisplayName("Should add a saved user to the filter")
+    void shouldAddSavedUserToFilter() {
+        when(jpaRepository.saveAndFlush(org.mockito.ArgumentMatchers.any(UserJpaEntity.class)))
+                .thenReturn(UserJpaEntity.fromDomain(user));
+
+        adapter.save(user);
+
+        verify(knownUsers).add("john.doe", "john@example.com");
+    }
+}
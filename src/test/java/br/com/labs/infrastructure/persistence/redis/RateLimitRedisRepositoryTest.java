@@ -0,0 +1,39 @@
+package br.com.labs.infrastructure.persistence.redis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RateLimitRedisRepositoryTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    @Test
+    @DisplayName("Should pass the current and previous window keys under one hash tag")
+    void shouldDeclareBothWindowKeys() {
+        var clock = Clock.fixed(Instant.ofEpochMilli(1_700_000_001_500L), ZoneOffset.UTC);
+        var repository = new RateLimitRedisRepository(redisTemplate, clock);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(
+                "ratelimit:{login:ip:203.0.113.7}:28333333",
+                "ratelimit:{login:ip:203.0.113.7}:28333332"
+        )), eq("5"), eq("20"), eq("60000"), eq("21500"))).thenReturn("3:0");
+
+        var lease = repository.lease("login:ip:203.0.113.7", 5, 20, Duration.ofMinutes(1));
+
+        assertThat(lease.granted()).isEqualTo(3);
+        assertThat(lease.retryAfterSeconds()).isZero();
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.labs.infrastructure.persistence.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevokedTokenNearCacheTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+    private final List<String> blacklist = new CopyOnWriteArrayList<>();
+
+    private RevokedTokenNearCache nearCache;
+    private MessageListener listener;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> cursor(List.copyOf(blacklist)));
+
+        nearCache = new RevokedTokenNearCache(redisTemplate, listenerContainer, 900_000, 4, 1000, 0.001);
+
+        var captor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(captor.capture(), any(ChannelTopic.class));
+        listener = captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should send every check to Redis until the snapshot is loaded")
+    void shouldAnswerMaybeBeforeLoading() {
+        assertThat(nearCache.mightBeRevoked("any-jti")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should answer from the filter once the snapshot is loaded")
+    void shouldAnswerFromFilterAfterLoading() {
+        blacklist.add("blacklist:revoked-jti");
+
+        nearCache.loadSnapshot();
+
+        assertThat(nearCache.mightBeRevoked("revoked-jti")).isTrue();
+        assertThat(nearCache.mightBeRevoked("valid-jti")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should add revocations announced by other nodes")
+    void shouldAddPublishedRevocations() {
+        nearCache.loadSnapshot();
+
+        listener.onMessage(new DefaultMessage(channel(), "remote-jti".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(nearCache.mightBeRevoked("remote-jti")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fall back to Redis and reload the snapshot when the channel is subscribed again")
+    void shouldReloadOnResubscription() {
+        nearCache.loadSnapshot();
+        blacklist.add("blacklist:missed-jti");
+        var release = new CountDownLatch(1);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> {
+            release.await();
+            return cursor(List.copyOf(blacklist));
+        });
+
+        ((SubscriptionListener) listener).onChannelSubscribed(channel(), 1);
+
+        assertThat(nearCache.mightBeRevoked("valid-jti")).isTrue();
+        release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> !nearCache.mightBeRevoked("valid-jti"));
+        assertThat(nearCache.mightBeRevoked("missed-jti")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not reload on the first subscription, before the initial snapshot")
+    void shouldIgnoreFirstSubscription() {
+        ((SubscriptionListener) listener).onChannelSubscribed(channel(), 1);
+
+        verify(redisTemplate, never()).scan(any(ScanOptions.class));
+    }
+
+    private static byte[] channel() {
+        return RevokedTokenNearCache.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(List<String> keys) {
+        Iterator<String> iterator = keys.iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.labs.infrastructure.persistence.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserRevocationEpochCacheTest {
+
+    private static final String USER_ID = "01a1485d-1789-7c83-8938-0b1fa4586816";
+    private static final Instant REVOKED_AT = Instant.ofEpochMilli(1_700_000_000_500L);
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+
+    private UserRevocationEpochCache epochs;
+    private MessageListener listener;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        epochs = new UserRevocationEpochCache(redisTemplate, listenerContainer, new SimpleMeterRegistry(),
+                604_800_000, 100, Duration.ofMinutes(1));
+
+        var captor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(captor.capture(), any(ChannelTopic.class));
+        listener = captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should revoke tokens whose issue second starts up to the revocation instant")
+    void shouldRevokeTokensIssuedInTheSameSecond() {
+        epochs.revoke(USER_ID, REVOKED_AT);
+
+        assertThat(epochs.isRevoked(USER_ID, Instant.ofEpochSecond(1_699_999_940))).isTrue();
+        assertThat(epochs.isRevoked(USER_ID, Instant.ofEpochSecond(1_700_000_000))).isTrue();
+        assertThat(epochs.isRevoked(USER_ID, Instant.ofEpochSecond(1_700_000_001))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should accept a token issued later within the revocation second")
+    void shouldAcceptTokenIssuedAfterRevocationInTheSameSecond() {
+        epochs.revoke(USER_ID, REVOKED_AT);
+
+        assertThat(epochs.isRevoked(USER_ID, REVOKED_AT)).isTrue();
+        assertThat(epochs.isRevoked(USER_ID, REVOKED_AT.plusMillis(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should apply revocations announced by other nodes")
+    void shouldApplyPublishedRevocation() {
+        when(valueOperations.get(anyString())).thenReturn(null);
+        assertThat(epochs.isRevoked(USER_ID, Instant.ofEpochSecond(1_700_000_000))).isFalse();
+
+        listener.onMessage(new DefaultMessage(channel(), bytes(USER_ID + ":" + REVOKED_AT.toEpochMilli())), null);
+
+        assertThat(epochs.isRevoked(USER_ID, Instant.ofEpochSecond(1_700_000_000))).isTrue();
+        assertThat(epochs.isRevoked(USER_ID, Instant.ofEpochSecond(1_700_000_001))).isFalse();
+    }
+
+    private static byte[] channel() {
+        return bytes(UserRevocationEpochCache.REVOCATION_CHANNEL);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.labs.infrastructure.persistence.user;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class KnownUserFilterTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+    private final DataSource dataSource = mock(DataSource.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<String[]> table = new CopyOnWriteArrayList<>();
+
+    private KnownUserFilter filter;
+    private MessageListener listener;
+    private Runnable duringSnapshot = () -> { };
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        var connection = mock(Connection.class);
+        var statement = mock(Statement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenAnswer(invocation -> resultSet(List.copyOf(table)));
+
+        filter = new KnownUserFilter(redisTemplate, listenerContainer, dataSource, transactionManager,
+                true, 1000, 0.001, Duration.ZERO);
+
+        var captor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(captor.capture(), any(ChannelTopic.class));
+        listener = captor.getValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer maybe for everything until the table is loaded")
+    void shouldAnswerMaybeBeforeLoading() {
+        assertThat(filter.mightContainUsername("anyone")).isTrue();
+        assertThat(filter.mightContainEmail("anyone@example.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown users once the table is loaded")
+    void shouldRejectUnknownUsersAfterLoading() {
+        table.add(new String[] {"alice", "alice@example.com"});
+
+        filter.rebuild();
+
+        assertThat(filter.mightContainUsername("alice")).isTrue();
+        assertThat(filter.mightContainEmail("alice@example.com")).isTrue();
+        assertThat(filter.mightContainUsername("mallory")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should add and announce a registration only after the transaction commits")
+    void shouldAnnounceAfterCommit() {
+        filter.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+
+        filter.add("bob", "bob@example.com");
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+        assertThat(filter.mightContainUsername("bob")).isFalse();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(redisTemplate).convertAndSend(KnownUserFilter.USER_CHANNEL, "bob bob@example.com");
+        assertThat(filter.mightContainUsername("bob")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep registrations announced while the table is being read")
+    void shouldKeepRegistrationsSeenDuringRebuild() {
+        table.add(new String[] {"alice", "alice@example.com"});
+        duringSnapshot = () -> publish("carol carol@example.com");
+
+        filter.rebuild();
+
+        assertThat(filter.mightContainUsername("alice")).isTrue();
+        assertThat(filter.mightContainUsername("carol")).isTrue();
+        assertThat(filter.mightContainEmail("carol@example.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reload the table when the channel is subscribed again")
+    void shouldRebuildOnResubscription() {
+        filter.rebuild();
+        table.add(new String[] {"dave", "dave@example.com"});
+
+        ((SubscriptionListener) listener).onChannelSubscribed(channel(), 1);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> filter.mightContainUsername("dave"));
+    }
+
+    @Test
+    @DisplayName("Should not reload on the first subscription, before the initial load")
+    void shouldIgnoreFirstSubscription() {
+        ((SubscriptionListener) listener).onChannelSubscribed(channel(), 1);
+
+        verifyNoInteractions(dataSource);
+    }
+
+    private void publish(String payload) {
+        listener.onMessage(new DefaultMessage(channel(), payload.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private static byte[] channel() {
+        return KnownUserFilter.USER_CHANNEL.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private ResultSet resultSet(List<String[]> rows) throws SQLException {
+        var resultSet = mock(ResultSet.class);
+        int[] index = {-1};
+        when(resultSet.next()).thenAnswer(invocation -> {
+            if (index[0] == -1) {
+                duringSnapshot.run();
+            }
+            return ++index[0] < rows.size();
+        });
+        when(resultSet.getString(1)).thenAnswer(invocation -> rows.get(index[0])[0]);
+        when(resultSet.getString(2)).thenAnswer(invocation -> rows.get(index[0])[1]);
+        return resultSet;
+    }
+}
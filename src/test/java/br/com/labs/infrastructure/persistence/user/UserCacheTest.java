@@ -0,0 +1,124 @@
+package br.com.labs.infrastructure.persistence.user;
+
+import br.com.labs.domain.user.Email;
+import br.com.labs.domain.user.Password;
+import br.com.labs.domain.user.User;
+import br.com.labs.domain.user.Username;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private UserCache cache;
+    private User user;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserCache(redisTemplate, listenerContainer, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        user = User.create(
+                new Username("john.doe"),
+                new Email("john@example.com"),
+                new Password("hashed_password")
+        );
+    }
+
+    @Test
+    @DisplayName("Should load once and serve later lookups by id and username from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        cache.findByUsername(user.getUsername(), this::load);
+        var byUsername = cache.findByUsername(user.getUsername(), this::load);
+        var byId = cache.findById(user.getId(), this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(byUsername).contains(user);
+        assertThat(byId).contains(user);
+    }
+
+    @Test
+    @DisplayName("Should hand out copies so callers cannot change the cached user")
+    void shouldReturnCopies() {
+        var first = cache.findById(user.getId(), this::load).orElseThrow();
+        first.changePassword(new Password("changed_hash"));
+
+        var second = cache.findById(user.getId(), this::load).orElseThrow();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getPassword().hashedValue()).isEqualTo("hashed_password");
+    }
+
+    @Test
+    @DisplayName("Should reload after invalidation and notify other nodes")
+    void shouldReloadAfterInvalidation() {
+        cache.findById(user.getId(), this::load);
+
+        cache.invalidate(user.getId());
+        cache.findByUsername(user.getUsername(), this::load);
+
+        assertThat(loads).hasValue(2);
+        verify(redisTemplate).convertAndSend(UserCache.INVALIDATION_CHANNEL, user.getId().toString());
+    }
+
+    @Test
+    @DisplayName("Should not cache missing users")
+    void shouldNotCacheMisses() {
+        cache.findById(user.getId(), () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        cache.findById(user.getId(), this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache a user loaded before a concurrent invalidation")
+    void shouldNotCacheLoadRacingInvalidation() {
+        var stale = cache.findById(user.getId(), () -> {
+            var readBeforeCommit = load();
+            cache.invalidate(user.getId());
+            return readBeforeCommit;
+        });
+        cache.findById(user.getId(), this::load);
+
+        assertThat(stale).contains(user);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should cache again once loads start after the invalidation")
+    void shouldCacheLoadsAfterInvalidation() {
+        cache.invalidate(user.getId());
+
+        cache.findById(user.getId(), this::load);
+        cache.findById(user.getId(), this::load);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    private Optional<User> load() {
+        loads.incrementAndGet();
+        return Optional.of(user);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.labs.infrastructure.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminApiTokenFilterTest {
+
+    private static final String ADMIN_PATH = "/api/v1/admin/users/import";
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should grant ROLE_ADMIN for the configured token")
+    void shouldAuthenticateWithValidToken() throws Exception {
+        var chain = filter(new AdminApiTokenFilter("s3cret"), ADMIN_PATH, "s3cret");
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a wrong or missing token")
+    void shouldIgnoreWrongToken() throws Exception {
+        filter(new AdminApiTokenFilter("s3cret"), ADMIN_PATH, "guess");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+
+        var chain = filter(new AdminApiTokenFilter("s3cret"), ADMIN_PATH, null);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep admin routes closed when no token is configured")
+    void shouldStayClosedWithoutConfiguredToken() throws Exception {
+        filter(new AdminApiTokenFilter(""), ADMIN_PATH, "");
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not look at the header outside the admin routes")
+    void shouldSkipOtherRoutes() throws Exception {
+        filter(new AdminApiTokenFilter("s3cret"), "/api/v1/auth/login", "s3cret");
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private static MockFilterChain filter(AdminApiTokenFilter filter, String path, String token) throws Exception {
+        var request = new MockHttpServletRequest("POST", path);
+        if (token != null) {
+            request.addHeader(AdminApiTokenFilter.ADMIN_TOKEN_HEADER, token);
+        }
+        var chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain;
+    }
+}
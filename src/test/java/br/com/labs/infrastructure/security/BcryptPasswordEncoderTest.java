@@ -0,0 +1,88 @@
+package br.com.labs.infrastructure.security;
+
+import br.com.labs.domain.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class BcryptPasswordEncoderTest {
+
+    private final BcryptPasswordEncoder encoder = new BcryptPasswordEncoder(10, 1, 1, 1, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should accept bcrypt hashes up to the configured cost")
+    void shouldAcceptHashesUpToConfiguredCost() {
+        String hash = BCrypt.hashpw("Password123", BCrypt.gensalt(4));
+
+        assertThat(encoder.isEncoded(hash)).isTrue();
+        assertThat(encoder.isEncoded(withCost(hash, "10"))).isTrue();
+        assertThat(encoder.isEncoded(hash.replace("$2a$", "$2b$"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject imported hashes above the configured cost")
+    void shouldRejectHashesAboveConfiguredCost() {
+        String hash = BCrypt.hashpw("Password123", BCrypt.gensalt(4));
+
+        assertThat(encoder.isEncoded(withCost(hash, "11"))).isFalse();
+        assertThat(encoder.isEncoded(withCost(hash, "31"))).isFalse();
+        assertThat(encoder.isEncoded(withCost(hash, "03"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject values that are not bcrypt hashes")
+    void shouldRejectNonHashes() {
+        assertThat(encoder.isEncoded(null)).isFalse();
+        assertThat(encoder.isEncoded("Password123")).isFalse();
+        assertThat(encoder.isEncoded("$2a$10$tooshort")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should hash on the bounded pool and verify the result")
+    void shouldHashOnPool() {
+        String hash = encoder.encode("Password123");
+
+        assertThat(encoder.isEncoded(hash)).isTrue();
+        assertThat(encoder.matches("Password123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject with ServiceOverloadedException when the queue is full")
+    void shouldRejectWhenQueueFull() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var slow = new BcryptPasswordEncoder(14, 1, 1, 7, meterRegistry);
+        try {
+            Thread.ofVirtual().start(() -> slow.encode("running"));
+            await().atMost(Duration.ofSeconds(5))
+                    .until(() -> meterRegistry.get("bcrypt.active").gauge().value() == 1);
+            Thread.ofVirtual().start(() -> slow.encode("queued"));
+            await().atMost(Duration.ofSeconds(5))
+                    .until(() -> meterRegistry.get("bcrypt.queue.depth").gauge().value() == 1);
+
+            assertThatThrownBy(() -> slow.encode("rejected"))
+                    .isInstanceOf(ServiceOverloadedException.class)
+                    .satisfies(e -> assertThat(((ServiceOverloadedException) e).getRetryAfterSeconds()).isEqualTo(7));
+            assertThat(meterRegistry.get("bcrypt.rejected").counter().count()).isEqualTo(1);
+        } finally {
+            slow.shutdown();
+        }
+    }
+
+    private static String withCost(String hash, String cost) {
+        return hash.substring(0, 4) + cost + hash.substring(6);
+    }
+}
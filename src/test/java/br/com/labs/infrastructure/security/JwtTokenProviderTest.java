@@ -0,0 +1,68 @@
+package br.com.labs.infrastructure.security;
+
+import br.com.labs.domain.auth.RefreshTokenId;
+import br.com.labs.domain.exception.InvalidTokenException;
+import br.com.labs.domain.user.UserId;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "chave-de-teste-com-pelo-menos-trinta-e-dois-bytes";
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 900_000, 604_800_000, 300_000);
+
+    @Test
+    @DisplayName("Should expose the refresh token ID carried in the generated token")
+    void shouldExposeRefreshTokenId() {
+        var userId = UserId.generate();
+
+        var pair = provider.generateTokenPair(userId);
+
+        assertThat(pair.refreshTokenId()).isEqualTo(provider.extractRefreshTokenId(pair.refreshToken()));
+        assertThat(provider.extractJti(pair.accessToken())).isNotEqualTo(pair.refreshTokenId());
+        assertThat(provider.validateRefreshToken(pair.refreshToken())).isEqualTo(userId);
+    }
+
+    @Test
+    @DisplayName("Should keep the refresh token family on rotation and open one for legacy ids")
+    void shouldKeepFamilyOnRotation() {
+        var userId = UserId.generate();
+        var current = provider.generateTokenPair(userId).refreshTokenId();
+
+        var rotated = provider.rotateTokenPair(userId, current);
+        var fromLegacy = provider.rotateTokenPair(userId, UUID.randomUUID().toString());
+
+        assertThat(RefreshTokenId.parse(rotated.refreshTokenId()).orElseThrow().family())
+                .isEqualTo(RefreshTokenId.parse(current).orElseThrow().family());
+        assertThat(rotated.refreshTokenId()).isEqualTo(provider.extractRefreshTokenId(rotated.refreshToken()));
+        assertThat(RefreshTokenId.parse(fromLegacy.refreshTokenId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should reject a signed token without issued-at as invalid")
+    void shouldRejectTokenWithoutIssuedAt() {
+        var token = Jwts.builder()
+                .id("jti")
+                .subject(UserId.generate().toString())
+                .claim("type", "access")
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThatThrownBy(() -> provider.parse(token))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> provider.validateAccessToken(token))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.labs.infrastructure.web.controller;
+
+import br.com.labs.application.usecase.ImportUsersUseCase.Rejection;
+import br.com.labs.application.usecase.ImportUsersUseCase.Row;
+import br.com.labs.infrastructure.web.controller.UserImportReader.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Rejection> rejections = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should read CSV columns in any order and skip blank lines")
+    void shouldReadCsvColumnsInAnyOrder() {
+        var rows = read(Format.CSV, """
+                email,password,username
+                
+                john@example.com,Password123,john.doe
+                """);
+
+        assertThat(rows).containsExactly(new Row(3, "john.doe", "john@example.com", "Password123", null));
+    }
+
+    @Test
+    @DisplayName("Should unquote CSV fields with commas and doubled quotes")
+    void shouldUnquoteCsvFields() {
+        var rows = read(Format.CSV, """
+                username,email,password
+                "jane.doe","jane@example.com","Pa,ss""word1"\r
+                """);
+
+        assertThat(rows).containsExactly(new Row(2, "jane.doe", "jane@example.com", "Pa,ss\"word1", null));
+    }
+
+    @Test
+    @DisplayName("Should treat empty CSV fields as missing")
+    void shouldTreatEmptyFieldsAsMissing() {
+        var rows = read(Format.CSV, """
+                username,email,password,password_hash
+                john.doe,john@example.com,,$2a$12$hash
+                """);
+
+        assertThat(rows).containsExactly(new Row(2, "john.doe", "john@example.com", null, "$2a$12$hash"));
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV line with an unterminated quote and keep reading")
+    void shouldRejectUnterminatedQuote() {
+        var reader = open(Format.CSV, """
+                username,email,password
+                "john.doe,john@example.com,Password123
+                jane.doe,jane@example.com,Password123
+                """);
+
+        List<Row> rows = drain(reader);
+
+        assertThat(rows).extracting(Row::username).containsExactly("jane.doe");
+        assertThat(rejections).containsExactly(new Rejection(2, "Malformed CSV line"));
+        assertThat(reader.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse a CSV header without the required columns")
+    void shouldRefuseIncompleteHeader() {
+        assertThatThrownBy(() -> open(Format.CSV, "username,password\njohn.doe,Password123\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CSV header");
+        assertThatThrownBy(() -> open(Format.CSV, ""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should read NDJSON and reject malformed lines")
+    void shouldReadNdjson() {
+        var rows = read(Format.NDJSON, """
+                {"username":"john.doe","email":"john@example.com","password":"Password123"}
+                {not json}
+                """);
+
+        assertThat(rows).containsExactly(new Row(1, "john.doe", "john@example.com", "Password123", null));
+        assertThat(rejections).containsExactly(new Rejection(2, "Malformed JSON line"));
+    }
+
+    private List<Row> read(Format format, String body) {
+        return drain(open(format, body));
+    }
+
+    private UserImportReader open(Format format, String body) {
+        return UserImportReader.open(new BufferedReader(new StringReader(body)), format, objectMapper, rejections::add);
+    }
+
+    private static List<Row> drain(UserImportReader reader) {
+        List<Row> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+}
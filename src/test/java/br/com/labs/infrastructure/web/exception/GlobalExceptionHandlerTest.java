@@ -0,0 +1,63 @@
+package br.com.labs.infrastructure.web.exception;
+
+import br.com.labs.domain.exception.DomainException;
+import br.com.labs.domain.exception.InvalidCredentialsException;
+import br.com.labs.domain.exception.InvalidTokenException;
+import br.com.labs.domain.exception.MfaBlockedException;
+import br.com.labs.domain.exception.MfaCodeExpiredException;
+import br.com.labs.domain.exception.MfaCodeInvalidException;
+import br.com.labs.domain.exception.RateLimitExceededException;
+import br.com.labs.domain.exception.ServiceOverloadedException;
+import br.com.labs.domain.exception.UserAlreadyExistsException;
+import br.com.labs.domain.exception.UserNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+
+    @Test
+    @DisplayName("Should render the code of the exception in every pre-serialized problem")
+    void shouldRenderExceptionCode() throws Exception {
+        Map<DomainException, Function<DomainException, ResponseEntity<byte[]>>> cases = Map.of(
+                new InvalidCredentialsException(),
+                ex -> handler.handleInvalidCredentials((InvalidCredentialsException) ex, request),
+                new UserAlreadyExistsException("email"),
+                ex -> handler.handleUserAlreadyExists((UserAlreadyExistsException) ex, request),
+                new UserNotFoundException(),
+                ex -> handler.handleUserNotFound((UserNotFoundException) ex, request),
+                new MfaCodeExpiredException(),
+                ex -> handler.handleMfaCodeExpired((MfaCodeExpiredException) ex, request),
+                new MfaCodeInvalidException(2),
+                ex -> handler.handleMfaCodeInvalid((MfaCodeInvalidException) ex, request),
+                new MfaBlockedException(900),
+                ex -> handler.handleMfaBlocked((MfaBlockedException) ex, request),
+                new InvalidTokenException(),
+                ex -> handler.handleInvalidToken((InvalidTokenException) ex, request),
+                new ServiceOverloadedException(5),
+                ex -> handler.handleServiceOverloaded((ServiceOverloadedException) ex, request),
+                new RateLimitExceededException(60),
+                ex -> handler.handleRateLimitExceeded((RateLimitExceededException) ex, request)
+        );
+
+        for (var entry : cases.entrySet()) {
+            var exception = entry.getKey();
+            var json = objectMapper.readTree(entry.getValue().apply(exception).getBody());
+
+            assertThat(json.get("code").asText()).as(exception.getClass().getSimpleName())
+                    .isEqualTo(exception.getCode());
+            assertThat(json.get("detail").asText()).isEqualTo(exception.getMessage());
+        }
+    }
+}
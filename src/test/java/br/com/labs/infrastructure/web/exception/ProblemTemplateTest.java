@@ -0,0 +1,68 @@
+package br.com.labs.infrastructure.web.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProblemTemplateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should render a valid problem+json body")
+    void shouldRenderProblemJson() throws Exception {
+        var template = ProblemTemplate.of(
+                HttpStatus.UNAUTHORIZED, "https://api.loginmfa.com/errors/invalid-credentials",
+                "Invalid Credentials", "AUTH_001");
+
+        var response = template.render("Invalid username or password", "/api/v1/auth/login");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+
+        var json = objectMapper.readTree(response.getBody());
+        assertThat(json.get("type").asText()).isEqualTo("https://api.loginmfa.com/errors/invalid-credentials");
+        assertThat(json.get("title").asText()).isEqualTo("Invalid Credentials");
+        assertThat(json.get("status").asInt()).isEqualTo(401);
+        assertThat(json.get("detail").asText()).isEqualTo("Invalid username or password");
+        assertThat(json.get("instance").asText()).isEqualTo("/api/v1/auth/login");
+        assertThat(json.get("code").asText()).isEqualTo("AUTH_001");
+    }
+
+    @Test
+    @DisplayName("Should inject numeric property and Retry-After header")
+    void shouldInjectNumericProperty() throws Exception {
+        var template = ProblemTemplate.of(
+                HttpStatus.TOO_MANY_REQUESTS, "https://api.loginmfa.com/errors/mfa-blocked",
+                "Too Many Attempts", "MFA_003")
+                .withProperty("retryAfterSeconds");
+
+        var response = template.renderWithRetryAfter("Blocked", "/api/v1/auth/verify", 897);
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("897");
+        var json = objectMapper.readTree(response.getBody());
+        assertThat(json.get("retryAfterSeconds").asLong()).isEqualTo(897);
+        assertThat(json.get("code").asText()).isEqualTo("MFA_003");
+    }
+
+    @Test
+    @DisplayName("Should escape dynamic strings")
+    void shouldEscapeDynamicStrings() throws Exception {
+        var template = ProblemTemplate.of(
+                HttpStatus.UNAUTHORIZED, "https://api.loginmfa.com/errors/invalid-token",
+                "Invalid Token", "TOKEN_001")
+                .withProperty("value");
+
+        String detail = "Invalid token: \"quoted\" \\ line\nbreak – ação 🔒";
+        var json = objectMapper.readTree(template.body(detail, null, -42));
+
+        assertThat(json.get("detail").asText()).isEqualTo(detail);
+        assertThat(json.has("instance")).isFalse();
+        assertThat(json.get("value").asLong()).isEqualTo(-42);
+    }
+}